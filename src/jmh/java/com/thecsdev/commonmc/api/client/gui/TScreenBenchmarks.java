@@ -0,0 +1,145 @@
+package com.thecsdev.commonmc.api.client.gui;
+
+import com.thecsdev.commonmc.api.client.gui.panel.TPanelElement;
+import com.thecsdev.commonmc.api.client.gui.render.TGuiGraphics;
+import com.thecsdev.commonmc.api.client.gui.render.TGuiGraphicsRecorder;
+import com.thecsdev.commonmc.api.client.gui.screen.TScreen;
+import com.thecsdev.commonmc.api.client.gui.util.TInputContext;
+import com.thecsdev.commonmc.api.client.gui.widget.TClickableWidget;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static org.lwjgl.glfw.GLFW.GLFW_KEY_F13;
+
+/**
+ * Headless JMH benchmarks for the hot paths of {@link TScreen}s with large
+ * {@link TElement} trees. Rendering goes through a {@link TGuiGraphicsRecorder},
+ * so no window, GPU, or running game client is needed.
+ *
+ * @apiNote Mixins are not applied when running outside the game, which is why inputs
+ * that would change the hovered/focused element (and therefore invoke mixin-accessed
+ * callbacks) are avoided here. For the same reason, labels are represented by a
+ * stand-in element, as {@code TLabelElement} needs the game client's {@code Font}.
+ */
+@State(Scope.Benchmark)
+public class TScreenBenchmarks
+{
+	// ==================================================
+	private static final int SCREEN_W = 480, SCREEN_H = 270;
+	private static final int HIT_POINTS = 64;
+	// --------------------------------------------------
+	/**
+	 * An input that no element handles, so it makes it through every input phase.
+	 */
+	private static final TInputContext UNHANDLED_KEY = TInputContext.ofKeyPress(GLFW_KEY_F13, 0, 0);
+	// ==================================================
+	@Param({"1000", "10000", "50000"})
+	public int elementCount;
+	// --------------------------------------------------
+	private BenchmarkScreen      screen;
+	private TGuiGraphicsRecorder recorder;
+	private final int[]          hitPoints = new int[HIT_POINTS * 2];
+	// ==================================================
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		//setting the bounds of a screen is what (re/)initializes it
+		this.screen = new BenchmarkScreen(this.elementCount);
+		this.screen.setBounds(0, 0, SCREEN_W, SCREEN_H);
+		this.recorder = new TGuiGraphicsRecorder(SCREEN_W, SCREEN_H, SCREEN_W / 2, SCREEN_H / 2, 0);
+
+		//hit-testing points, evenly spread out across the screen
+		for(int i = 0; i < HIT_POINTS; i++) {
+			this.hitPoints[i * 2]     = ((i % 8) * SCREEN_W) / 8 + 3;
+			this.hitPoints[i * 2 + 1] = ((i / 8) * SCREEN_H) / 8 + 3;
+		}
+	}
+	// ==================================================
+	@Benchmark
+	public int renderTraversal()
+	{
+		this.recorder.clear();
+		this.recorder.renderTScreen(this.screen);
+		return this.recorder.size();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(HIT_POINTS)
+	public void hitTesting(@NotNull Blackhole blackhole)
+	{
+		for(int i = 0; i < HIT_POINTS; i++)
+			blackhole.consume(this.screen.findElementAt(this.hitPoints[i * 2], this.hitPoints[i * 2 + 1]));
+	}
+
+	@Benchmark
+	public boolean inputDispatch() { return this.screen.sendInput(UNHANDLED_KEY); }
+
+	@Benchmark
+	public int clearAndInit()
+	{
+		this.screen.clearAndInit();
+		return this.screen.size();
+	}
+	// ==================================================
+	/**
+	 * A synthetic {@link TScreen} made out of a grid of panels, each containing
+	 * labels and buttons. Most of the panels end up being off-screen, much like
+	 * they would in a long scrollable list.
+	 */
+	static final class BenchmarkScreen extends TScreen
+	{
+		//each panel contributes itself, along with its labels and buttons
+		private static final int ROWS_PER_PANEL = 4, ELEMENTS_PER_PANEL = 1 + ROWS_PER_PANEL * 2;
+		private final int elementCount;
+
+		BenchmarkScreen(int elementCount) { this.elementCount = elementCount; }
+
+		protected final @Override void initCallback()
+		{
+			final int panels = Math.max(1, this.elementCount / ELEMENTS_PER_PANEL);
+			for(int i = 0; i < panels; i++)
+			{
+				final int x = (i % 4) * 120, y = (i / 4) * 70;
+				final var panel = new TPanelElement.Paintable();
+				panel.setBounds(x, y, 115, 65);
+				add(panel);
+
+				for(int row = 0; row < ROWS_PER_PANEL; row++)
+				{
+					final int rowY = y + 3 + (row * 15);
+					final var label = new LabelStandIn();
+					label.setBounds(x + 3, rowY + 3, 60, 9);
+					panel.add(label);
+
+					final var button = new ButtonStandIn();
+					button.setBounds(x + 66, rowY, 46, 14);
+					panel.add(button);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Stands in for a label, by drawing one command where the text would be.
+	 */
+	static final class LabelStandIn extends TElement
+	{
+		public final @Override void renderCallback(@NotNull TGuiGraphics pencil) {
+			final var bb = getBounds();
+			pencil.fillColor(bb.x, bb.y, bb.width, bb.height, 0xFFFFFFFF);
+		}
+	}
+
+	/**
+	 * A {@link TClickableWidget} that draws itself the way buttons do.
+	 */
+	static final class ButtonStandIn extends TClickableWidget
+	{
+		public final @Override void renderCallback(@NotNull TGuiGraphics pencil) {
+			final var bb = getBounds();
+			pencil.drawButton(bb.x, bb.y, bb.width, bb.height, -1, isFocusable(), isHovered());
+		}
+	}
+	// ==================================================
+}
@@ -119,6 +119,22 @@ public abstract class Node<N extends Node<N>> implements INode<N>
 	@Deprecated
 	@SuppressWarnings({"unused", "DeprecatedIsStillUsed"})
 	protected @Virtual void childRemovedCallback(@NotNull N pastChild) {}
+
+	/**
+	 * Callback function that is invoked before a child {@link Node} is added to,
+	 * removed from, or moved within this {@link Node}'s children. Throwing an
+	 * exception prevents the modification from taking place.
+	 * @param child The child that is about to be added, removed, or moved.
+	 */
+	protected @Virtual void childChangingCallback(@NotNull N child) {}
+
+	/**
+	 * Callback function that is invoked after a child {@link Node} is moved
+	 * to the end of this {@link Node}'s children.
+	 * @param child The moved child.
+	 * @see #moveToEnd(Node)
+	 */
+	protected @Virtual void childMovedCallback(@NotNull N child) {}
 	// ==================================================
 	/**
 	 * Convenience function that returns the value {@link #parentProperty()}.
@@ -247,6 +263,21 @@ public abstract class Node<N extends Node<N>> implements INode<N>
 		for(final var child : this) { if(child == o) return index; else index++; }
 		return -1;
 	}
+
+	/**
+	 * Moves a child {@link Node} to the end of this {@link Node}'s children, without
+	 * removing it from this {@link Node}. Its {@link #parentProperty()} does not change.
+	 * @param child The child {@link Node} to move.
+	 * @return {@code true} if the {@link Node} is a child of this {@link Node}.
+	 */
+	protected final boolean moveToEnd(@Nullable N child) {
+		if(child == null || !contains(child)) return false;
+		childChangingCallback(child);
+		this.children.remove(child);
+		this.children.add(child);
+		childMovedCallback(child);
+		return true;
+	}
 	// ================================================== ==================================================
 	//                                         Collection IMPLEMENTATION
 	// ================================================== ==================================================
@@ -315,6 +346,7 @@ public abstract class Node<N extends Node<N>> implements INode<N>
 		//FIXME - Implement anti-closed-loop of parents
 		else if(child == this /*|| child is a grandChild*/)
 			throw new IllegalArgumentException("Scene graph violation. Child cannot be 'this' or a grandchild.");
+		childChangingCallback(child);
 
 		//remove the child from the last parent, if one is present
 		//a node can only have one parent at a time
@@ -358,9 +390,11 @@ public abstract class Node<N extends Node<N>> implements INode<N>
 	 */
 	public final boolean remove(N child)
 	{
-		//remove the child, return and do nothing else if nothing changed
-		if(!this.children.remove(child) || child == null) //null check is 2nd - intentional
-			return false;
+		//return and do nothing if there is nothing to remove
+		if(child == null || !contains(child)) return false;
+		childChangingCallback(child);
+		//remove the child
+		this.children.remove(child);
 		this.childrenSet.remove(child);
 
 		//handle successful removal
@@ -0,0 +1,240 @@
+package com.thecsdev.common.util;
+
+import com.thecsdev.common.event.Event;
+import com.thecsdev.common.event.Events;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static com.thecsdev.commonmc.TCDCommons.LOGGER;
+import static java.lang.System.nanoTime;
+
+/**
+ * Runs cooperative tasks a slice at a time, within a time budget per frame.
+ * <p>
+ * Each task is made of {@link Step}s, each of which is to do a small amount of work. Every
+ * time {@link #runFrame()} is called, steps of the scheduled tasks are run in a round-robin
+ * fashion, until either the time budget runs out, or all tasks are done. At least one step
+ * of a ready task runs per {@link #runFrame()} call, so tasks always make progress.
+ * <p>
+ * This allows heavy work that has to happen on one specific thread, such as building big
+ * element trees, to be spread across multiple frames, instead of dropping frames.
+ *
+ * @apiNote Not thread-safe. Meant to be used on one thread, which calls {@link #runFrame()}.
+ */
+public final class FrameBudgetScheduler
+{
+	// ================================================== ==================================================
+	//                               FrameBudgetScheduler IMPLEMENTATION
+	// ================================================== ==================================================
+	/**
+	 * The default time budget per frame, in nanoseconds. {@code 4} milliseconds.
+	 */
+	public static final long DEFAULT_BUDGET = 4_000_000L;
+	// ==================================================
+	private final ArrayDeque<Task> tasks   = new ArrayDeque<>();
+	private final ArrayDeque<Task> waiting = new ArrayDeque<>(); //tasks set aside for the rest of the current frame
+	private       long             budget  = DEFAULT_BUDGET;
+	// ==================================================
+	/**
+	 * Returns the time budget per frame, in nanoseconds.
+	 */
+	public final long getBudget() { return this.budget; }
+
+	/**
+	 * Sets the time budget per frame, in nanoseconds.
+	 * @param budget The new time budget. Values below {@code 0} are treated as {@code 0}.
+	 */
+	public final void setBudget(long budget) { this.budget = Math.max(budget, 0); }
+
+	/**
+	 * Returns {@code true} if there are no scheduled tasks left.
+	 */
+	public final boolean isIdle() { return this.tasks.isEmpty(); }
+	// --------------------------------------------------
+	/**
+	 * Schedules a task that is made of a repeatedly invoked {@link Step}.
+	 * @param step The {@link Step} that is invoked until it reports a progress of {@code 1}.
+	 * @return The scheduled {@link Task}.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 */
+	public final @NotNull Task submit(@NotNull Step step) throws NullPointerException {
+		final var task = new Task(Objects.requireNonNull(step), null);
+		this.tasks.addLast(task);
+		return task;
+	}
+
+	/**
+	 * Schedules a task that is made of a repeatedly invoked {@link Step}, whose steps
+	 * only run once a condition is met, such as when data it depends on is available.
+	 * <p>
+	 * Unlike a {@link Step} that reports no progress while waiting, a task that is not
+	 * ready does not use up the time budget, as it is only checked once per frame.
+	 * @param ready Whether the task is ready to run. Checked before each {@link Step}.
+	 * @param step The {@link Step} that is invoked until it reports a progress of {@code 1}.
+	 * @return The scheduled {@link Task}.
+	 * @throws NullPointerException If an argument is {@code null}.
+	 */
+	public final @NotNull Task submitWhen(@NotNull BooleanSupplier ready, @NotNull Step step) throws NullPointerException {
+		final var task = new Task(Objects.requireNonNull(step), Objects.requireNonNull(ready));
+		this.tasks.addLast(task);
+		return task;
+	}
+
+	/**
+	 * Schedules a task that performs an action for each item in a {@link List},
+	 * one item per {@link Step}.
+	 * @param items The items. Must not be modified while the task is running.
+	 * @param action The action to perform for each item.
+	 * @return The scheduled {@link Task}.
+	 * @throws NullPointerException If an argument is {@code null}.
+	 */
+	public final <T> @NotNull Task submitEach(@NotNull List<T> items, @NotNull Consumer<? super T> action)
+			throws NullPointerException
+	{
+		Objects.requireNonNull(items);
+		Objects.requireNonNull(action);
+		final int[] index = { 0 };
+		return submit(() -> {
+			if(index[0] < items.size()) action.accept(items.get(index[0]++));
+			return items.isEmpty() ? 1 : (double) index[0] / items.size();
+		});
+	}
+
+	/**
+	 * Cancels all scheduled tasks.
+	 */
+	public final void cancelAll() {
+		for(final var task : this.tasks.toArray(Task[]::new)) task.cancel();
+		for(final var task : this.waiting.toArray(Task[]::new)) task.cancel();
+		this.tasks.clear();
+		this.waiting.clear();
+	}
+	// --------------------------------------------------
+	/**
+	 * Runs steps of the scheduled tasks, until either the time budget
+	 * runs out, or there are no tasks left.
+	 * @apiNote If a {@link Step} or its readiness check throws, the exception is logged,
+	 * and only that {@link Task} is cancelled. The other {@link Task}s keep running, and
+	 * the exception is not propagated to the caller, which is usually the render loop.
+	 */
+	public final void runFrame()
+	{
+		if(this.tasks.isEmpty()) return;
+		final long deadline = nanoTime() + this.budget;
+		try
+		{
+			do
+			{
+				//tasks take turns, one step at a time
+				final var task = this.tasks.pollFirst();
+				if(task == null) break;
+				else if(task.cancelled) continue;
+				try {
+					if(task.ready != null && !task.ready.getAsBoolean()) { this.waiting.addLast(task); continue; }
+					if(!task.step()) this.tasks.addLast(task);
+				} catch(RuntimeException e) {
+					//a failing task must not take the frame, or the other tasks, down with it
+					LOGGER.error("Cancelled a frame budget task, as one of its steps failed", e);
+					task.cancel();
+				}
+			}
+			while(!this.tasks.isEmpty() && nanoTime() < deadline);
+		}
+		finally {
+			//tasks that were not ready get checked again next frame, in their original order
+			while(!this.waiting.isEmpty()) this.tasks.addFirst(this.waiting.pollLast());
+		}
+	}
+	// ================================================== ==================================================
+	//                                               Step IMPLEMENTATION
+	// ================================================== ==================================================
+	/**
+	 * A small amount of work that makes up a {@link Task}.
+	 */
+	@FunctionalInterface
+	public static interface Step
+	{
+		/**
+		 * Does a small amount of work.
+		 * @return The progress of the {@link Task} after this step, ranging {@code 0 to 1}.
+		 * A value of {@code 1} or more means the {@link Task} is done.
+		 */
+		public double run();
+	}
+	// ================================================== ==================================================
+	//                                               Task IMPLEMENTATION
+	// ================================================== ==================================================
+	/**
+	 * A task that was scheduled on a {@link FrameBudgetScheduler}.
+	 */
+	public static final class Task
+	{
+		// ==================================================
+		private final Step            step;
+		private final BooleanSupplier ready; //null = always ready
+		private       double          progress  = 0;
+		private       boolean         done      = false;
+		private       boolean         cancelled = false;
+		// --------------------------------------------------
+		/**
+		 * An event that is invoked after each {@link Step} of this {@link Task} runs.
+		 * <p>
+		 * The {@link Consumer} provides an instance of {@code this} for convenience.
+		 */
+		public final Event<Consumer<Task>> eProgressed = Events.createLoop();
+
+		/**
+		 * An event that is invoked once this {@link Task} is done.
+		 * Not invoked for cancelled {@link Task}s.
+		 * <p>
+		 * The {@link Consumer} provides an instance of {@code this} for convenience.
+		 */
+		public final Event<Consumer<Task>> eCompleted = Events.createLoop();
+		// ==================================================
+		private Task(@NotNull Step step, @Nullable BooleanSupplier ready) { this.step = step; this.ready = ready; }
+		// ==================================================
+		/**
+		 * Returns the progress of this {@link Task}, ranging {@code 0 to 1}.
+		 */
+		public final double getProgress() { return this.progress; }
+
+		/**
+		 * Returns {@code true} if this {@link Task} is done.
+		 */
+		public final boolean isDone() { return this.done; }
+
+		/**
+		 * Returns {@code true} if this {@link Task} was cancelled.
+		 */
+		public final boolean isCancelled() { return this.cancelled; }
+
+		/**
+		 * Cancels this {@link Task}, so none of its remaining {@link Step}s run.
+		 * Does nothing if this {@link Task} is already done.
+		 */
+		public final void cancel() { if(!this.done) this.cancelled = true; }
+		// --------------------------------------------------
+		/**
+		 * Runs a single {@link Step}.
+		 * @return {@code true} if this {@link Task} is done afterwards.
+		 */
+		private final boolean step()
+		{
+			final double progress = this.step.run();
+			this.progress = Math.clamp(progress, 0, 1);
+			this.eProgressed.invoker().accept(this);
+			if(progress < 1 || this.cancelled) return this.cancelled;
+			this.done = true;
+			this.eCompleted.invoker().accept(this);
+			return true;
+		}
+		// ==================================================
+	}
+	// ================================================== ==================================================
+}
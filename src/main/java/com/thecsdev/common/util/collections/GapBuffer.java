@@ -0,0 +1,135 @@
+package com.thecsdev.common.util.collections;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * A mutable sequence of characters, stored with a gap at the position of the most
+ * recent edit.
+ * <p>
+ * Edits move the gap to where they take place, after which inserting and deleting
+ * characters there only grows or shrinks the gap. Edits made close to one another,
+ * such as the ones made by a user typing text, therefore only ever move a handful
+ * of characters, regardless of how long the text is.
+ *
+ * @apiNote Not thread-safe.
+ */
+public final class GapBuffer implements CharSequence
+{
+	// ==================================================
+	private static final int MIN_GAP = 16;
+	// ==================================================
+	private char[] buffer;
+	private int    gapStart, gapEnd; //the gap spans [gapStart, gapEnd)
+	// ==================================================
+	public GapBuffer() { this(""); }
+	public GapBuffer(@NotNull CharSequence text) throws NullPointerException
+	{
+		final int length = text.length();
+		this.buffer   = new char[length + MIN_GAP];
+		this.gapStart = length;
+		this.gapEnd   = this.buffer.length;
+		for(int i = 0; i < length; i++) this.buffer[i] = text.charAt(i);
+	}
+	// ==================================================
+	public final @Override int length() { return this.buffer.length - (this.gapEnd - this.gapStart); }
+
+	public final @Override char charAt(int index) throws IndexOutOfBoundsException {
+		Objects.checkIndex(index, length());
+		return this.buffer[(index < this.gapStart) ? index : index + (this.gapEnd - this.gapStart)];
+	}
+
+	public final @Override @NotNull CharSequence subSequence(int start, int end) throws IndexOutOfBoundsException {
+		return substring(start, end);
+	}
+
+	/**
+	 * Returns a {@link String} featuring the characters in a given range.
+	 * @param start The start index, inclusive.
+	 * @param end The end index, exclusive.
+	 * @throws IndexOutOfBoundsException If the range is out of bounds.
+	 */
+	public final @NotNull String substring(int start, int end) throws IndexOutOfBoundsException
+	{
+		Objects.checkFromToIndex(start, end, length());
+		final int gap = this.gapEnd - this.gapStart;
+		if(end <= this.gapStart) return new String(this.buffer, start, end - start);
+		else if(start >= this.gapStart) return new String(this.buffer, start + gap, end - start);
+		//the range spans across the gap
+		final var sb = new StringBuilder(end - start);
+		sb.append(this.buffer, start, this.gapStart - start);
+		sb.append(this.buffer, this.gapEnd, end - this.gapStart);
+		return sb.toString();
+	}
+
+	public final @Override @NotNull String toString() { return substring(0, length()); }
+	// --------------------------------------------------
+	/**
+	 * Inserts text at a given index.
+	 * @param index The index to insert the text at.
+	 * @param text The text to insert.
+	 * @throws NullPointerException If the text is {@code null}.
+	 * @throws IndexOutOfBoundsException If the index is out of bounds.
+	 */
+	public final void insert(int index, @NotNull CharSequence text)
+			throws NullPointerException, IndexOutOfBoundsException
+	{
+		Objects.checkIndex(index, length() + 1);
+		final int length = text.length();
+		if(length == 0) return;
+		moveGap(index);
+		ensureGap(length);
+		for(int i = 0; i < length; i++) this.buffer[this.gapStart++] = text.charAt(i);
+	}
+
+	/**
+	 * Deletes the characters in a given range.
+	 * @param start The start index, inclusive.
+	 * @param end The end index, exclusive.
+	 * @throws IndexOutOfBoundsException If the range is out of bounds.
+	 */
+	public final void delete(int start, int end) throws IndexOutOfBoundsException
+	{
+		Objects.checkFromToIndex(start, end, length());
+		if(start == end) return;
+		moveGap(start);
+		this.gapEnd += end - start;
+	}
+	// ==================================================
+	/**
+	 * Moves the gap, so that it starts at a given index.
+	 */
+	private final void moveGap(int index)
+	{
+		if(index < this.gapStart) {
+			final int count = this.gapStart - index;
+			System.arraycopy(this.buffer, index, this.buffer, this.gapEnd - count, count);
+			this.gapStart -= count;
+			this.gapEnd   -= count;
+		}
+		else if(index > this.gapStart) {
+			final int count = index - this.gapStart;
+			System.arraycopy(this.buffer, this.gapEnd, this.buffer, this.gapStart, count);
+			this.gapStart += count;
+			this.gapEnd   += count;
+		}
+	}
+
+	/**
+	 * Grows the buffer if the gap is too small for a given number of characters.
+	 */
+	private final void ensureGap(int required)
+	{
+		final int gap = this.gapEnd - this.gapStart;
+		if(gap >= required) return;
+		final int tail     = this.buffer.length - this.gapEnd;
+		final int capacity = Math.max(this.buffer.length * 2, length() + required + MIN_GAP);
+		final var buffer   = new char[capacity];
+		System.arraycopy(this.buffer, 0, buffer, 0, this.gapStart);
+		System.arraycopy(this.buffer, this.gapEnd, buffer, capacity - tail, tail);
+		this.buffer = buffer;
+		this.gapEnd = capacity - tail;
+	}
+	// ==================================================
+}
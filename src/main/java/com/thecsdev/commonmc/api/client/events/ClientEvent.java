@@ -40,6 +40,14 @@ public interface ClientEvent
 	 */
 	Event<LevelInit> LEVEL_INIT = Events.createLoop();
 	// --------------------------------------------------
+	/**
+	 * <b>Trigger:</b> Whenever the client finishes reloading its resources, such as
+	 * after the language or resource packs change.<br>
+	 * <b>Thread:</b> Main (client)
+	 * @see Minecraft#reloadResourcePacks()
+	 */
+	Event<ResourcesReload> RESOURCES_RELOAD = Events.createLoop();
+	// --------------------------------------------------
 	/**
 	 * <b>Trigger:</b> Whenever a {@link Screen} is initialized.<br>
 	 * <b>Thread:</b> Unknown
@@ -62,6 +70,11 @@ public interface ClientEvent
 	 */
 	interface LevelInit { void invoke(@NotNull ClientLevel clientLevel); }
 	// --------------------------------------------------
+	/**
+	 * {@link Event} handler type for {@link #RESOURCES_RELOAD}.
+	 */
+	interface ResourcesReload { void invoke(@NotNull Minecraft client); }
+	// --------------------------------------------------
 	/**
 	 * {@link Event} handler type for {@link #SCREEN_INIT}.
 	 */
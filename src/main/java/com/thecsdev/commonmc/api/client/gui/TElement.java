@@ -3,8 +3,10 @@ package com.thecsdev.commonmc.api.client.gui;
 import com.thecsdev.common.event.Event;
 import com.thecsdev.common.event.Events;
 import com.thecsdev.common.math.Bounds2i;
+import com.thecsdev.common.math.Point2d;
 import com.thecsdev.common.math.UDim;
 import com.thecsdev.common.math.UDim2;
+import com.thecsdev.common.math.Vector2i;
 import com.thecsdev.common.properties.BooleanProperty;
 import com.thecsdev.common.properties.NotNullProperty;
 import com.thecsdev.common.properties.ObjectProperty;
@@ -15,15 +17,20 @@ import com.thecsdev.common.util.annotations.Reflected;
 import com.thecsdev.common.util.annotations.Virtual;
 import com.thecsdev.commonmc.TCDCommons;
 import com.thecsdev.commonmc.api.client.gui.ctxmenu.TContextMenu;
+import com.thecsdev.commonmc.api.client.gui.layout.TLayout;
+import com.thecsdev.commonmc.api.client.gui.layout.TLayoutParams;
+import com.thecsdev.commonmc.api.client.gui.panel.TPanelElement;
 import com.thecsdev.commonmc.api.client.gui.render.TGuiGraphics;
 import com.thecsdev.commonmc.api.client.gui.screen.TScreen;
+import com.thecsdev.commonmc.api.client.gui.tooltip.TAsyncTooltip;
 import com.thecsdev.commonmc.api.client.gui.util.CursorType;
 import com.thecsdev.commonmc.api.client.gui.util.SceneGraphPath;
+import com.thecsdev.commonmc.api.client.gui.util.TAsyncSubtree;
+import com.thecsdev.commonmc.api.client.gui.util.TGuiProfiler;
 import com.thecsdev.commonmc.api.client.gui.util.TGuiUtils;
 import com.thecsdev.commonmc.api.client.gui.util.TInputContext;
+import com.thecsdev.commonmc.api.client.gui.util.TInputSubscription;
 import com.thecsdev.commonmc.client.mixin.hooks.AccessorTElement;
-import it.unimi.dsi.fastutil.objects.Object2BooleanMap;
-import it.unimi.dsi.fastutil.objects.Object2BooleanOpenHashMap;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.client.Minecraft;
@@ -32,12 +39,18 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static com.thecsdev.common.util.ReflectionUtils.isMethodOverridden;
+import static com.thecsdev.commonmc.TCDCommonsConfig.FLAG_DEV_ENV;
 import static com.thecsdev.commonmc.api.client.gui.TElement.TElementPropertyAccessor.setScreenValue;
+import static java.lang.System.nanoTime;
 
 /**
  * Represents a GUI element in {@link TCDCommons}'s GUI system.
@@ -51,6 +64,7 @@ public @Virtual class TElement extends Node<TElement> implements INodeBounded<TE
 	// ================================================== ==================================================
 	private final NotNullProperty<Bounds2i> bounds           = new NotNullProperty<>(Bounds2i.ZERO);
 	private final ObjectProperty<TScreen>   screen           = new ObjectProperty<>(null);
+	private final ObjectProperty<Object>    key              = new ObjectProperty<>(null);
 	// --------------------------------------------------
 	private final BooleanProperty           visible          = new BooleanProperty(true);
 	private final BooleanProperty           clipsDescendants = new BooleanProperty(true);
@@ -60,8 +74,19 @@ public @Virtual class TElement extends Node<TElement> implements INodeBounded<TE
 	private final ObjectProperty<Function<TElement, TElement>>     tooltip     = new ObjectProperty<>(null);
 	private final ObjectProperty<Function<TElement, TContextMenu>> contextMenu = new ObjectProperty<>(null);
 	// --------------------------------------------------
+	private final ObjectProperty<TLayout>        layout       = new ObjectProperty<>(null);
+	private final NotNullProperty<TLayoutParams> layoutParams = new NotNullProperty<>(TLayoutParams.DEFAULT);
+	private       boolean layoutDirty, layoutDirtyBelow, arranging; //see #performLayout()
+	private @Nullable Bounds2i measuredSize; //null = "dirty". see #measureLayout(int, int)
+	private           int      measuredForW, measuredForH;
+	// --------------------------------------------------
 	private @Nullable Bounds2i contentBounds  = null; //null = "dirty"
+	private           boolean  movingChildren = false; //see #moveChildren(int, int)
 	private @Nullable TElement currentTooltip = null; //null = "dirty"
+	private           int      inputSubscriptions = -1; //-1 = not yet known
+	private @Nullable Map<Object, TElement> reusableChildren = null; //see #keyedChild(Object, Class, Supplier)
+	private @Nullable Thread   confinedTo     = FLAG_DEV_ENV ? Thread.currentThread() : null; //see #assertThreadConfinement(TElement, TElement)
+	private           long     childOrder, nextChildOrder; //see #compareTreeOrder(TElement, TElement)
 	// ==================================================
 	/**
 	 * An event that is invoked whenever {@link #clearAndInit()} finishes executing.
@@ -69,6 +94,15 @@ public @Virtual class TElement extends Node<TElement> implements INodeBounded<TE
 	 * The {@link Consumer} provides an instance of {@code this} for convenience.
 	 */
 	public final Event<Consumer<TElement>> eInitialized = Events.createLoop();
+
+	/**
+	 * An event that is invoked whenever this {@link TElement}'s {@link #getContentBounds()}
+	 * changes, or may have changed, such as when children are added, removed, moved, or resized.
+	 * <p>
+	 * The {@link Consumer} provides an instance of {@code this} for convenience.
+	 * @apiNote Moving all children at once, such as by scrolling, invokes this event only once.
+	 */
+	public final Event<Consumer<TElement>> eContentBoundsChanged = Events.createLoop();
 	// ==================================================
 	public TElement()
 	{
@@ -78,17 +112,35 @@ public @Virtual class TElement extends Node<TElement> implements INodeBounded<TE
 
 		//handle changes
 		parentProperty().addChangeListener((_, o, n) -> {
+			//children are ordered the way they were added to their parent
+			if(n != null) this.childOrder = n.nextChildOrder++;
 			//update the screen property when the parent changes
 			setScreenValue(this, (TScreen) findParent(ps -> ps instanceof TScreen).orElse(null));
-			//invalidate content bounds of past and new parents
-			if(o != null) o.contentBounds = null;
-			if(n != null) n.contentBounds = null;
+			//update content bounds of past and new parents
+			if(o != null) o.childRemovedFromContent(this);
+			if(n != null) n.childAddedToContent(this);
+			//the past and new parents' children changed, and the new ones need to know of pending layouts
+			if(o != null) o.invalidateLayout();
+			if(n != null) { n.invalidateLayout(); if(this.layoutDirty || this.layoutDirtyBelow) markLayoutDirtyAbove(); }
+			//overlays stay on top of anything that is added to a screen after them
+			if(n instanceof TScreen ns) ns.keepOverlaysOnTop(this);
+			//moving within the same screen does not change the screen value
+			invalidateScreenHitTestIndex();
+			//take the new place in the screen's indexes. the past place was left before the parent changed
+			final @Nullable var screen = this.screen.get();
+			if(n != null && screen != null) trackOnScreen(screen, true);
 		});
 		this.screen.addChangeListener((_, o, n) -> {
+			//elements that join or leave a screen do so on the render thread, which they are confined to from now on
+			if(this.confinedTo != null) this.confinedTo = Thread.currentThread();
 			//update children's screen values
 			for(final var child : this) setScreenValue(child, n);
+			//the element left one screen's hit-test index, and joined another's
+			if(o != null) o.invalidateHitTestIndex();
+			if(n != null) n.invalidateHitTestIndex();
 			//remove focus/hover from old screen if left over
 			if(o != null) {
+				o.releaseTooltip(this);
 				//TODO - TElement has to lie here. Not ideal.
 				if(o.hoveredElementProperty().get() == this)
 					o.hoveredElementProperty().set(null, TScreen.class);
@@ -96,14 +148,44 @@ public @Virtual class TElement extends Node<TElement> implements INodeBounded<TE
 					o.focusedElementProperty().set(null, TScreen.class);
 			}
 		});
-		boundsProperty().addChangeListener((_, _, _) -> {
-			//invalidate this element's content bounds
-			this.contentBounds = null; //important too
-			//invalidate parent content bounds when this element's bounds change
+		boundsProperty().addChangeListener((_, o, n) -> {
+			//the content bounds of elements without children are based on their own position
+			if(isEmpty()) { this.contentBounds = null; this.eContentBoundsChanged.invoker().accept(this); }
+			//update parent content bounds when this element's bounds change
 			final @Nullable var pe = getParent();
-			if(pe != null) pe.contentBounds = null;
+			if(pe != null) pe.childChangedInContent(o, n);
+			invalidateScreenHitTestIndex();
+			//children are moved along with this element, so only resizing requires re-arranging them.
+			//measurements do not depend on an element's own size, unless it is measured by its size
+			if(!o.hasSameSize(n)) {
+				invalidateArrangement();
+				if(pe != null && this.layout.get() == null && pe.layout.get() != null && !pe.arranging)
+					pe.invalidateLayout();
+			}
+		});
+		this.visible.addChangeListener((_, _, _) -> {
+			invalidateScreenHitTestIndex();
+			//invisible elements take up no space in their parent's layout
+			final @Nullable var pe = getParent();
+			if(pe != null) pe.invalidateLayout();
+		});
+		this.layout.addChangeListener((_, _, _) -> invalidateLayout());
+		this.layoutParams.addChangeListener((_, _, _) -> {
+			final @Nullable var pe = getParent();
+			if(pe != null) pe.invalidateLayout();
+		});
+		this.clipsDescendants.addChangeListener((_, _, _) -> invalidateScreenHitTestIndex());
+		this.focusable.addChangeListener((_, _, _) -> {
+			final @Nullable var screen = this.screen.get();
+			if(screen != null) screen.trackFocusability(this);
 		});
 		this.tooltip.addChangeListener((_, _, _) -> invalidateTooltipCache());
+		this.key.addChangeListener((_, o, n) -> {
+			final @Nullable var screen = this.screen.get();
+			if(screen == null) return;
+			if(o != null) screen.unindexKey(o, this);
+			if(n != null) screen.indexKey(n, this);
+		});
 	}
 	// ==================================================
 	public final @NotNull @Override TElement getSelf() { return this; }
@@ -117,8 +199,56 @@ public @Virtual class TElement extends Node<TElement> implements INodeBounded<TE
 				super.toString(), bb.x, bb.y, bb.width, bb.height);
 	}
 	// --------------------------------------------------
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The bounds are in the coordinate space of this {@link TElement}'s parent's children,
+	 * which is the space the parent itself is in, translated by the parent's
+	 * {@link #getContentOffset()}. For elements that are not in a scrolled
+	 * {@link TPanelElement}, that is the screen space.
+	 * @see #getScreenBounds()
+	 */
 	public final @NotNull @Override Bounds2i getBounds() { return this.bounds.get(); }
 
+	/**
+	 * Returns where this {@link TElement}'s {@link #getBounds()} end up on the screen,
+	 * after the {@link #getContentOffset()}s of all of its (grand/)parents are applied.
+	 * To be used whenever the bounds are compared to things in screen space, such as the
+	 * mouse cursor position, or the bounds of elements from other branches of the tree.
+	 * @apiNote Takes {@code O(depth)} time.
+	 * @see #getScreenOffset()
+	 */
+	public final @NotNull Bounds2i getScreenBounds() {
+		final var bb  = getBounds();
+		final var off = getScreenOffset();
+		return (off.x == 0 && off.y == 0) ? bb : bb.add(off.x, off.y, 0, 0);
+	}
+
+	/**
+	 * Returns the translation from the coordinate space of this {@link TElement}'s
+	 * {@link #getBounds()} to the screen space, which is the sum of the
+	 * {@link #getContentOffset()}s of all of its (grand/)parents.
+	 * @apiNote Takes {@code O(depth)} time.
+	 */
+	public final @NotNull Vector2i getScreenOffset()
+	{
+		int x = 0, y = 0;
+		for(@Nullable var parent = getParent(); parent != null; parent = parent.getParent()) {
+			final var off = parent.getContentOffset();
+			x += off.x; y += off.y;
+		}
+		return (x == 0 && y == 0) ? Vector2i.ZERO : new Vector2i(x, y);
+	}
+
+	/**
+	 * Returns the translation that is applied to this {@link TElement}'s children when
+	 * they are rendered, hit-tested, and handed inputs. This is how {@link TPanelElement}s
+	 * scroll their content, without having to move every single descendant.
+	 * @apiNote Defaults to {@link Vector2i#ZERO}.
+	 * @see #getScreenBounds()
+	 */
+	public @Virtual @NotNull Vector2i getContentOffset() { return Vector2i.ZERO; }
+
 	/**
 	 * Returns the {@link Bounds2i} that encapsulates all child bounding boxes
 	 * as one. The returned bounding box shall represent the exact space all
@@ -128,6 +258,11 @@ public @Virtual class TElement extends Node<TElement> implements INodeBounded<TE
 	 * Does <b>NOT</b> return {@code null}. If there are no children, returns
 	 * a {@link Bounds2i} instance that has this {@link TElement}'s position
 	 * but zero size (aka width and height of 0).
+	 * <p>
+	 * The value is cached, and kept up to date as children are added, moved, and resized.
+	 * Children are only re-scanned after a child that defined an edge moves away from it,
+	 * or is removed.
+	 * @see #eContentBoundsChanged
 	 */
 	public final @NotNull Bounds2i getContentBounds()
 	{
@@ -161,6 +296,62 @@ public @Virtual class TElement extends Node<TElement> implements INodeBounded<TE
 		//return the calculated value
 		return cb;
 	}
+
+	/**
+	 * Updates the cached {@link #getContentBounds()} after a child was added.
+	 * Content bounds can only grow as a result, so no recalculation is needed.
+	 */
+	private final void childAddedToContent(@NotNull TElement child)
+	{
+		final @Nullable var cb = this.contentBounds;
+		if(cb != null) {
+			//the first child defines the content bounds on its own, otherwise the child extends them
+			final var cbb = child.getBounds();
+			this.contentBounds = (getFirst() == child && getLast() == child) ? cbb : union(cb, cbb);
+		}
+		this.eContentBoundsChanged.invoker().accept(this);
+	}
+
+	/**
+	 * Updates the cached {@link #getContentBounds()} after a child was removed.
+	 * Only removing a child that defines an edge of the content bounds requires recalculating them.
+	 */
+	private final void childRemovedFromContent(@NotNull TElement child)
+	{
+		final @Nullable var cb = this.contentBounds;
+		if(cb != null && (isEmpty() || touchesEdge(cb, child.getBounds())))
+			this.contentBounds = null;
+		this.eContentBoundsChanged.invoker().accept(this);
+	}
+
+	/**
+	 * Updates the cached {@link #getContentBounds()} after a child's bounds changed.
+	 * Content bounds only need recalculating when a child that defined an edge moved
+	 * away from it, as another child may now be defining that edge instead.
+	 */
+	private final void childChangedInContent(@NotNull Bounds2i o, @NotNull Bounds2i n)
+	{
+		//moveChildren(int, int) handles the content bounds on its own
+		if(this.movingChildren) return;
+		final @Nullable var cb = this.contentBounds;
+		if(cb != null) {
+			if((o.x == cb.x && n.x > cb.x) || (o.y == cb.y && n.y > cb.y) ||
+					(o.endX == cb.endX && n.endX < cb.endX) || (o.endY == cb.endY && n.endY < cb.endY))
+				this.contentBounds = null;
+			else this.contentBounds = union(cb, n);
+		}
+		this.eContentBoundsChanged.invoker().accept(this);
+	}
+
+	private static final boolean touchesEdge(@NotNull Bounds2i cb, @NotNull Bounds2i bb) {
+		return bb.x == cb.x || bb.y == cb.y || bb.endX == cb.endX || bb.endY == cb.endY;
+	}
+
+	private static final @NotNull Bounds2i union(@NotNull Bounds2i a, @NotNull Bounds2i b) {
+		if(a.contains(b)) return a;
+		final int x = Math.min(a.x, b.x), y = Math.min(a.y, b.y);
+		return new Bounds2i(x, y, Math.max(a.endX, b.endX) - x, Math.max(a.endY, b.endY) - y);
+	}
 	// --------------------------------------------------
 	/**
 	 * Returns the {@link Minecraft} client instance that last opened
@@ -182,6 +373,17 @@ public @Virtual class TElement extends Node<TElement> implements INodeBounded<TE
 	 * @apiNote Read only. Owned by {@link TElementPropertyAccessor}.
 	 */
 	public final ObjectProperty<TScreen> screenProperty() { return this.screen; }
+
+	/**
+	 * Returns the {@link ObjectProperty} for this {@link TElement}'s key, which identifies
+	 * it among its siblings, across re-initializations. {@code null} means no key.
+	 * <p>
+	 * Keyed children are kept when their parent re-initializes, for as long as the parent's
+	 * {@link #initCallback()} asks for them using {@link #keyedChild(Object, Class, Supplier)}.
+	 * @apiNote Keys should be unique among siblings, and should implement
+	 * {@link Object#equals(Object)} and {@link Object#hashCode()}.
+	 */
+	public final ObjectProperty<Object> keyProperty() { return this.key; }
 	// --------------------------------------------------
 	/**
 	 * Returns the {@link BooleanProperty} that controls the visibility
@@ -249,6 +451,22 @@ public @Virtual class TElement extends Node<TElement> implements INodeBounded<TE
 	 * may also be {@code null}.
 	 */
 	public final ObjectProperty<Function<@NotNull TElement, @Nullable TContextMenu>> contextMenuProperty() { return this.contextMenu; }
+	// --------------------------------------------------
+	/**
+	 * The {@link ObjectProperty} holding the {@link TLayout} that sizes and positions
+	 * this {@link TElement}'s children. When {@code null}, children are not laid out,
+	 * and are instead expected to be positioned manually.
+	 * @see #performLayout()
+	 */
+	public final ObjectProperty<TLayout> layoutProperty() { return this.layout; }
+
+	/**
+	 * The {@link NotNullProperty} holding the {@link TLayoutParams} that tell this
+	 * {@link TElement}'s parent's {@link TLayout} how to size and position this {@link TElement}.
+	 * Has no effect if the parent has no {@link TLayout}.
+	 * @see #layoutProperty()
+	 */
+	public final NotNullProperty<TLayoutParams> layoutParamsProperty() { return this.layoutParams; }
 	// ==================================================
 	/**
 	 * Returns {@code true} if this {@link TElement} is fully visible and is not
@@ -308,23 +526,40 @@ public @Virtual class TElement extends Node<TElement> implements INodeBounded<TE
 	 * {@link TElement} is hovered.<br>
 	 * If {@link #tooltipProperty()}'s value is {@code null}, a tooltip element
 	 * is sought in this element's (grand/)parents.
+	 * <p>
+	 * Built tooltips are kept until {@link #invalidateTooltipCache()} is called, or until
+	 * the {@link TScreen} this {@link TElement} is on needs room for more recently used ones.
+	 * @apiNote {@link TAsyncTooltip}s are checked for their data model each time this is called.
 	 */
 	public final @Nullable TElement getTooltip()
 	{
-		//if a tooltip was already computed earlier, return that
-		if(this.currentTooltip != null) return this.currentTooltip;
-		//otherwise try to compute the tooltip using the tooltip supplier
-		@Nullable var tts = this.tooltip.get();
-		if(tts == null) {
-			//if there's no supplier, there's no tooltip here. try looking in parents
-			final @Nullable var parent = getParent();
-			return (parent != null) ? parent.getTooltip() : null;
+		//if a tooltip was not computed earlier, try to compute it using the tooltip supplier
+		if(this.currentTooltip == null)
+		{
+			@Nullable var tts = this.tooltip.get();
+			if(tts == null) {
+				//if there's no supplier, there's no tooltip here. try looking in parents
+				final @Nullable var parent = getParent();
+				return (parent != null) ? parent.getTooltip() : null;
+			}
+			this.currentTooltip = Objects.requireNonNull(tts.apply(this), "Tooltip supplier returned null");
+			this.currentTooltip.initCallback(); //initialize newly created tooltips
 		}
-		this.currentTooltip = Objects.requireNonNull(tts.apply(this), "Tooltip supplier returned null");
-		this.currentTooltip.initCallback(); //initialize newly created tooltips
+
+		//keep track of the tooltip's use, and build asynchronous tooltips once they're ready
+		final @Nullable var screen = this.screen.get();
+		if(screen != null) screen.retainTooltip(this);
+		if(this.currentTooltip instanceof TAsyncTooltip<?> att) att.poll();
 		return this.currentTooltip;
 	}
 
+	/**
+	 * Starts building this {@link TElement}'s tooltip ahead of it being rendered, so
+	 * that {@link TAsyncTooltip}s can compute their data model in the meantime.
+	 * @apiNote Called automatically when this {@link TElement} gains hover or focus.
+	 */
+	public final void prefetchTooltip() { getTooltip(); }
+
 	/**
 	 * Invalidates the cached {@link #currentTooltip} value. This cached value is supplied
 	 * by the {@link #tooltipProperty()}, and is held for optimization purposes.
@@ -352,7 +587,14 @@ public @Virtual class TElement extends Node<TElement> implements INodeBounded<TE
 	 */
 	public final void moveChildren(int dX, int dY) {
 		if(dX == 0 && dY == 0) return; //can happen, so, optimization
-		for(var child : this) child.move(dX, dY);
+		//moving all children by the same amount moves their content bounds by that amount,
+		//so there is no need to recalculate it, even though moving the children invalidated it
+		final @Nullable var cb = this.contentBounds;
+		this.movingChildren = true;
+		try { for(var child : this) child.move(dX, dY); }
+		finally { this.movingChildren = false; }
+		if(cb != null) this.contentBounds = cb.add(dX, dY, 0, 0);
+		this.eContentBoundsChanged.invoker().accept(this);
 	}
 
 	/**
@@ -415,6 +657,8 @@ public @Virtual class TElement extends Node<TElement> implements INodeBounded<TE
 	 * @param screenY Screen-space Y position.
 	 * @apiNote Usually used internally for {@link TScreen#hoveredElementProperty()} value calculation.
 	 *          This method assumes {@code this} {@link TElement} does <b>not</b> clip descendants.
+	 *          The position is in the coordinate space of this element's children, which is the
+	 *          screen space when called on a {@link TScreen}.
 	 */
 	public final @Nullable TElement findElementAt(int screenX, int screenY)
 	{
@@ -426,24 +670,252 @@ public @Virtual class TElement extends Node<TElement> implements INodeBounded<TE
 			if(!child.visible.get()) continue;
 
 			@Nullable TElement candidate = null;
+			//the child's children are offset by its content offset, such as when it scrolls
+			final var off = child.getContentOffset();
 			//1. if the child's bounds contain the point go into it.
 			if(child.getBounds().contains(screenX, screenY))
 			{
 				//first check if a descendant is a candidate.
-				@Nullable TElement descendantCandidate = child.findElementAt(screenX, screenY);
+				@Nullable TElement descendantCandidate = child.findElementAt(screenX - off.x, screenY - off.y);
 				//the candidate then becomes either a descendant or this child if hoverable
 				candidate = (descendantCandidate != null) ?
 						descendantCandidate : (child.isHoverable() ? child : null);
 			}
 			//2. otherwise, if the child does not clip descendants, check them even if the child’s bounds don't contain the point.
 			else if(!child.clipsDescendants.get())
-				candidate = child.findElementAt(screenX, screenY);
+				candidate = child.findElementAt(screenX - off.x, screenY - off.y);
 
 			//if we found a candidate, that's the best one we got
 			if(candidate != null) bestCandidate = candidate;
 		}
 		return bestCandidate;
 	}
+
+	/**
+	 * Marks this {@link TElement}'s {@link TLayout} as outdated, so that its children get
+	 * re-measured and re-arranged during the next {@link #performLayout()}. Parents that
+	 * measure this {@link TElement} re-measure it as well.
+	 * @apiNote Called automatically whenever this {@link TElement} is resized, or its children,
+	 * their visibility, or their {@link TLayoutParams} change.
+	 */
+	public final void invalidateLayout()
+	{
+		//what the children need may have changed, and with it, what this element measures
+		forgetMeasuredSize();
+		invalidateArrangement();
+	}
+
+	/**
+	 * Marks this {@link TElement}'s {@link TLayout} as outdated, without its measured size
+	 * having changed, such as when it is only resized.
+	 */
+	private final void invalidateArrangement()
+	{
+		//elements being arranged are about to be up to date anyway
+		if(this.layout.get() == null || this.arranging) return;
+		this.layoutDirty = true;
+		markLayoutDirtyAbove();
+		//a parent that measures this element using this element's layout has to re-arrange it
+		final @Nullable var parent = getParent();
+		final var params = this.layoutParams.get();
+		if(parent != null && (params.width == null || params.height == null))
+			parent.invalidateArrangement();
+	}
+
+	/**
+	 * Forgets the cached result of {@link #measureLayout(int, int)} for this {@link TElement},
+	 * and for the (grand/)parents whose measurements depend on it.
+	 */
+	private final void forgetMeasuredSize() {
+		for(@Nullable var e = this; e != null; e = e.getParent()) {
+			e.measuredSize = null;
+			final var params = e.layoutParams.get();
+			if(params.width != null && params.height != null) break; //parent does not measure it
+		}
+	}
+
+	/**
+	 * Measures the size this {@link TElement}'s children need when laid out by its
+	 * {@link #layoutProperty()}, as per {@link TLayout#measure(TElement, int, int)}.
+	 * <p>
+	 * The result is cached, and reused for as long as the available size is the same and
+	 * nothing that affects it changed, so measuring nested layouts only ever re-measures
+	 * the branches that changed since.
+	 * @param availableWidth The width that is available to this {@link TElement}.
+	 * @param availableHeight The height that is available to this {@link TElement}.
+	 * @return The measured size, or {@code null} if there is no {@link TLayout}.
+	 * @see TLayout#measureChild(TElement, int, int)
+	 */
+	public final @Nullable Bounds2i measureLayout(int availableWidth, int availableHeight)
+	{
+		final @Nullable var layout = this.layout.get();
+		if(layout == null) return null;
+		final @Nullable var cached = this.measuredSize;
+		if(cached != null && this.measuredForW == availableWidth && this.measuredForH == availableHeight)
+			return cached;
+		final var measured = Objects.requireNonNull(layout.measure(this, availableWidth, availableHeight));
+		this.measuredForW = availableWidth;
+		this.measuredForH = availableHeight;
+		return (this.measuredSize = measured);
+	}
+
+	/**
+	 * Lets all (grand/)parents know that a descendant has an outdated {@link TLayout}.
+	 */
+	private final void markLayoutDirtyAbove() {
+		for(@Nullable var p = getParent(); p != null && !p.layoutDirtyBelow; p = p.getParent())
+			p.layoutDirtyBelow = true;
+	}
+
+	/**
+	 * Re-arranges the children of this {@link TElement} and its (grand/)children, but only
+	 * for those whose {@link TLayout} was invalidated. Branches without any outdated layouts
+	 * are skipped entirely, so this is cheap to call when nothing changed.
+	 * @apiNote Automatically called by {@link #clearAndInit()}, as well as by {@link TScreen}s
+	 * before rendering and handling inputs. Call it manually to apply layouts right away.
+	 * @see #invalidateLayout()
+	 */
+	public final void performLayout()
+	{
+		//arrange this element's children first, as doing so may invalidate their own layouts
+		if(this.layoutDirty)
+		{
+			this.layoutDirty = false;
+			final @Nullable var layout = this.layout.get();
+			if(layout != null) {
+				this.arranging = true;
+				try { layout.arrange(this, getBounds()); }
+				finally { this.arranging = false; }
+				layoutCallback();
+			}
+		}
+		//then go into the branches that have outdated layouts
+		if(!this.layoutDirtyBelow) return;
+		this.layoutDirtyBelow = false;
+		for(final var child : this) child.performLayout();
+	}
+
+	/**
+	 * Callback method that is invoked after this {@link TElement}'s {@link TLayout}
+	 * arranges its children.
+	 * @see #performLayout()
+	 */
+	protected @Virtual void layoutCallback() {}
+
+	/**
+	 * Invalidates the hit-test index of the {@link TScreen} this {@link TElement}
+	 * belongs to, or of {@code this} {@link TScreen} if this is a {@link TScreen}.
+	 * @see TScreen#invalidateHitTestIndex()
+	 */
+	private final void invalidateScreenHitTestIndex() {
+		final @Nullable TScreen screen = (this instanceof TScreen s) ? s : this.screen.get();
+		if(screen != null) screen.invalidateHitTestIndex();
+	}
+
+	/**
+	 * Invalidates everything that depends on the order of this {@link TElement}'s children,
+	 * such as its layout, and its {@link TScreen}'s hit-test index. To be called after
+	 * reordering children via {@link #moveToEnd(Node)}.
+	 */
+	protected final void invalidateChildOrder() {
+		invalidateLayout();
+		invalidateScreenHitTestIndex();
+	}
+
+	protected final @Override void childChangingCallback(@NotNull TElement child)
+	{
+		//in development environments, catch element trees being modified from the wrong thread,
+		//before they are modified. the child is either joining this element, or leaving/moving within it
+		if(child.confinedTo != null) child.assertThreadConfinement(child.getParent(), this);
+		//a child that leaves or moves within this element leaves its place in the screen's indexes,
+		//while its place in the element tree is still known. see #compareTreeOrder(TElement, TElement)
+		final @Nullable var screen = child.screen.get();
+		if(screen != null && child.getParent() == this) child.trackOnScreen(screen, false);
+	}
+
+	protected final @Override void childMovedCallback(@NotNull TElement child)
+	{
+		//the child was moved to the end, so it comes after all of its siblings now
+		child.childOrder = this.nextChildOrder++;
+		final @Nullable var screen = child.screen.get();
+		if(screen != null) child.trackOnScreen(screen, true);
+	}
+
+	/**
+	 * Adds this {@link TElement} and its (grand/)children to, or removes them from, the
+	 * indexes a given {@link TScreen} keeps in element tree order.
+	 * @see TScreen#trackElement(TElement)
+	 * @see TScreen#untrackElement(TElement)
+	 */
+	private final void trackOnScreen(@NotNull TScreen screen, boolean track) {
+		if(track) screen.trackElement(this); else screen.untrackElement(this);
+		for(final var child : this) child.trackOnScreen(screen, track);
+	}
+
+	/**
+	 * Compares two {@link TElement}s by the order in which they appear in their element tree.
+	 * Parents come before their (grand/)children, and siblings come in the order they are in
+	 * their parent, which is the order they were added or moved to the end in.
+	 * @param a The first {@link TElement}.
+	 * @param b The second {@link TElement}.
+	 * @return A negative number, zero, or a positive number, if the first {@link TElement}
+	 * comes before, is the same as, or comes after the second one.
+	 * @apiNote Takes {@code O(depth)} time. Only meaningful for {@link TElement}s in the same tree.
+	 */
+	@ApiStatus.Internal
+	public static final int compareTreeOrder(@NotNull TElement a, @NotNull TElement b)
+	{
+		if(a == b) return 0;
+
+		//bring both elements to the same depth. if one ends up being the other, it is an ancestor
+		int depthA = 0, depthB = 0;
+		for(var el = a.getParent(); el != null; el = el.getParent()) depthA++;
+		for(var el = b.getParent(); el != null; el = el.getParent()) depthB++;
+		TElement x = a, y = b;
+		for(; depthA > depthB; depthA--) x = Objects.requireNonNull(x.getParent());
+		for(; depthB > depthA; depthB--) y = Objects.requireNonNull(y.getParent());
+		if(x == y) return (x == a) ? -1 : 1;
+
+		//then climb up to the siblings under the common ancestor, and compare those
+		for(var px = x.getParent(), py = y.getParent(); px != py; px = x.getParent(), py = y.getParent()) {
+			x = Objects.requireNonNull(px);
+			y = Objects.requireNonNull(py);
+		}
+		return Long.compare(x.childOrder, y.childOrder);
+	}
+
+	/**
+	 * Ensures this {@link TElement} is being moved from one parent to another on the thread
+	 * it is confined to. Elements on a {@link TScreen} are confined to the render thread, and
+	 * detached ones are confined to the thread that created them, or that last detached them.
+	 * @param oldParent The past parent.
+	 * @param newParent The new parent.
+	 * @throws IllegalStateException If the current thread is the wrong one.
+	 * @apiNote Only takes place in development environments, as it is a debugging aid. Invoked
+	 * via {@link #childChangingCallback(TElement)}, before any element tree is modified.
+	 * @see TAsyncSubtree
+	 */
+	private final void assertThreadConfinement(@Nullable TElement oldParent, @Nullable TElement newParent)
+			throws IllegalStateException
+	{
+		final boolean live = isOnScreen(oldParent) || isOnScreen(newParent);
+		if(live) {
+			final @Nullable var client = Minecraft.getInstance();
+			if(client == null || client.isSameThread()) return;
+			throw new IllegalStateException(
+					"Attempt to modify a screen's element tree off of the render thread, from thread '" +
+					Thread.currentThread().getName() + "'. Element: " + getClass());
+		}
+		else if(Thread.currentThread() != this.confinedTo)
+			throw new IllegalStateException(
+					"Attempt to modify a detached element tree from thread '" + Thread.currentThread().getName() +
+					"', while it is confined to thread '" + Objects.requireNonNull(this.confinedTo).getName() +
+					"'. Element: " + getClass());
+	}
+
+	private static final boolean isOnScreen(@Nullable TElement element) {
+		return element != null && (element instanceof TScreen || element.screen.get() != null);
+	}
 	// --------------------------------------------------
 	/**
 	 * Calls {@link Consumer#accept(Object)} for each child {@link TElement} whose
@@ -486,6 +958,9 @@ public @Virtual class TElement extends Node<TElement> implements INodeBounded<TE
 	 * <p>
 	 * Once initialized, recursively calls this method for each child, and then
 	 * invokes {@link #eInitialized}.
+	 * <p>
+	 * Focus and hover are restored afterwards, preferably to the {@link TElement}s with the
+	 * same {@link #keyProperty()} values, as are the scroll amounts of keyed {@link TPanelElement}s.
 	 *
 	 * @apiNote Automatically called by an initializing {@link TScreen}.
 	 */
@@ -494,21 +969,40 @@ public @Virtual class TElement extends Node<TElement> implements INodeBounded<TE
 		//obtain the screen instance, so we can keep track of focused element
 		final @Nullable TScreen screen = (this instanceof TScreen s) ? s : screenProperty().get();
 		//if there's no screen present, we only reinitialize and do nothing else
-		if(screen == null) { _clearAndInit(); return; }
+		if(screen == null) { _clearAndInit(); performLayout(); return; }
 
-		//however if a screen is present, we keep track of its focused element's position
-		//in the scene graph, and then refocus after reinitialization if possible.
-		//the reinitialized elements will obviously not be the same objects by reference,
-		//hence why we track based on "position in the scene graph". it's heuristics.
+		//however if a screen is present, we keep track of its focused and hovered elements,
+		//and then restore them after reinitialization if possible. the reinitialized elements
+		//will obviously not be the same objects by reference, hence why we track them by key,
+		//which holds up even if children are re-ordered. otherwise we track based on
+		//"position in the scene graph", which is heuristics.
+		final @Nullable var focused    = screen.focusedElementProperty().get();
+		final @Nullable var hovered    = screen.hoveredElementProperty().get();
+		final @Nullable var key_focus  = (focused != null) ? focused.key.get() : null;
+		final @Nullable var key_hover  = (hovered != null) ? hovered.key.get() : null;
+		final @Nullable var path_focus = SceneGraphPath.of(this, focused);
+		//keyed panels also have their scroll amounts restored
+		final var scrollAmounts = new HashMap<Object, Point2d>();
+		screen.forEachKeyedElement(this, (key, el) -> {
+			if(el instanceof TPanelElement panel) scrollAmounts.put(key, panel.scrollAmountProperty().get());
+		});
 
-		//obtain the path to the currently focused element
-		final @Nullable var path_focus = SceneGraphPath.of(this, screen.focusedElementProperty().get());
-		//reinitialize
+		//reinitialize, and lay out the newly created elements
 		_clearAndInit();
+		performLayout();
+
+		//restore the scroll amounts of keyed panels that were re-created
+		for(final var entry : scrollAmounts.entrySet())
+			if(screen.findElementByKey(entry.getKey(), this) instanceof TPanelElement panel)
+				panel.scrollAmountProperty().set(entry.getValue(), TElement.class);
+		//restore hover if reinitialization cleared it
+		if(key_hover != null && screen.hoveredElementProperty().get() == null)
+			screen.hoveredElementProperty().set(screen.findElementByKey(key_hover, this), TScreen.class);
 		//and if reinitialization ended up clearing the focused element...
-		if(path_focus != null) {
+		if(focused != null && screen.focusedElementProperty().get() == null) {
 			//...attempt to restore focus
-			@Nullable TElement finding = path_focus.resolve(this);
+			@Nullable TElement finding = (key_focus != null) ? screen.findElementByKey(key_focus, this) : null;
+			if(finding == null && path_focus != null) finding = path_focus.resolve(this);
 			screen.focusedElementProperty().set(finding, TElement.class);
 			if(finding != null) TGuiUtils.scrollToElement(finding);
 		}
@@ -526,25 +1020,92 @@ public @Virtual class TElement extends Node<TElement> implements INodeBounded<TE
 	private final @ApiStatus.Internal void _clearAndInit()
 	{
 		//only clear and (re/)initialize if this method overrides the init callback method
-		if(overridesInitCallback()) { clear(); initCallback(); }
+		if(overridesInitCallback())
+		{
+			//keyed children are kept aside, so the init callback can reuse them
+			final @Nullable var reusable = clearUnkeyed();
+			this.reusableChildren = reusable;
+			try { initCallback(); } finally { this.reusableChildren = null; }
+			//and the ones it did not ask for are removed after all
+			if(reusable != null) for(final var child : reusable.values()) remove(child);
+		}
 		//after that, initialize children
 		for(var c : this) c._clearAndInit();
 		//and only after everything is done, invoke the event
 		this.eInitialized.invoker().accept(this);
 	}
 
+	/**
+	 * Removes all children that do not have a {@link #keyProperty()} value.
+	 * @return The remaining children by their keys, or {@code null} if there are none.
+	 */
+	private final @Nullable Map<Object, TElement> clearUnkeyed()
+	{
+		@Nullable HashMap<Object, TElement> keyed = null;
+		for(final var child : this)
+		{
+			final @Nullable var key = child.key.get();
+			if(key == null || (keyed != null && keyed.containsKey(key))) { remove(child); continue; }
+			if(keyed == null) keyed = new HashMap<>();
+			keyed.put(key, child);
+		}
+		return keyed;
+	}
+
+	/**
+	 * For use in {@link #initCallback()}. Returns the child with a given key that this
+	 * {@link TElement} had before re-initializing, or creates a new one if there was none.
+	 * <p>
+	 * Reused children stay attached, keeping their state, hover, and focus, and are moved
+	 * after the children that were reused or added before them. Newly created children have
+	 * their {@link #keyProperty()} set, and are to be {@link #add(TElement)}ed as usual.
+	 * Keyed children that are not asked for are removed once {@link #initCallback()} returns.
+	 * <p>
+	 * Either way, the returned {@link TElement} is then re-initialized, and any properties
+	 * the {@link #initCallback()} sets on it are updated in place.
+	 * @param key The child's key. See {@link #keyProperty()}.
+	 * @param type The child's type. Existing children of a different type are not reused.
+	 * @param factory Creates the child if it cannot be reused.
+	 * @throws NullPointerException If an argument is {@code null}, or if the factory returns {@code null}.
+	 */
+	protected final <T extends TElement> @NotNull T keyedChild(
+			@NotNull Object key, @NotNull Class<T> type, @NotNull Supplier<T> factory)
+			throws NullPointerException
+	{
+		Objects.requireNonNull(key);
+		Objects.requireNonNull(type);
+		Objects.requireNonNull(factory);
+
+		//reuse the existing child if there is one, moving it to where it'd otherwise be added
+		final @Nullable var reusable = this.reusableChildren;
+		final @Nullable var existing = (reusable != null) ? reusable.get(key) : null;
+		if(type.isInstance(existing))
+		{
+			reusable.remove(key);
+			if(moveToEnd(existing)) invalidateChildOrder();
+			return type.cast(existing);
+		}
+
+		//otherwise create a new one
+		final var created = Objects.requireNonNull(factory.get(), "Keyed child factory returned null");
+		created.key.set(key, TElement.class);
+		return created;
+	}
+
 	/**
 	 * Callback method that is invoked when this {@link TElement} is initializing.
 	 * You may override this method to create and add child {@link TElement}s.
 	 * @apiNote Automatically called by an initializing {@link TScreen}.
 	 * @see #clearAndInit()
+	 * @see #keyedChild(Object, Class, Supplier)
 	 */
 	protected @Reflected @Virtual void initCallback() {}
 	// --------------------------------------------------
 	/**
 	 * A callback method that is invoked when the user makes an input.
 	 * @param phase The input discovery phase.
-	 * @param context Information about the user's input.
+	 * @param context Information about the user's input. Reused for subsequent inputs, so it
+	 * must not outlive this call. Use {@link TInputContext#copy()} to hold on to it.
 	 * @return {@code true} if this {@link TElement} handled the input.
 	 * @throws NullPointerException If an argument is {@code null}.
 	 */
@@ -553,34 +1114,69 @@ public @Virtual class TElement extends Node<TElement> implements INodeBounded<TE
 			@NotNull TInputContext context) throws NullPointerException {
 		return false;
 	}
+
+	/**
+	 * Returns {@code true} if this {@link TElement}'s {@link #inputCallback(TInputContext.InputDiscoveryPhase, TInputContext)}
+	 * handles a given {@link TInputContext.InputType} during a given {@link TInputContext.InputDiscoveryPhase}.
+	 * Inputs are only ever dispatched to elements that are subscribed to them.
+	 * @param phase The input discovery phase.
+	 * @param type The input type.
+	 * @throws NullPointerException If an argument is {@code null}.
+	 * @see TInputSubscription
+	 */
+	public final boolean subscribesToInput(
+			@NotNull TInputContext.InputDiscoveryPhase phase,
+			@NotNull TInputContext.InputType type) throws NullPointerException {
+		return (inputSubscriptions() & inputSubscriptionBit(phase, type)) != 0;
+	}
+
+	/**
+	 * Returns {@code true} if this {@link TElement} is subscribed to any
+	 * {@link TInputContext.InputType} during a given {@link TInputContext.InputDiscoveryPhase}.
+	 * @param phase The input discovery phase.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 * @see #subscribesToInput(TInputContext.InputDiscoveryPhase, TInputContext.InputType)
+	 */
+	public final boolean subscribesToInput(@NotNull TInputContext.InputDiscoveryPhase phase) throws NullPointerException {
+		final int bits = (1 << INPUT_TYPES.length) - 1;
+		return (inputSubscriptions() & (bits << (phase.ordinal() * INPUT_TYPES.length))) != 0;
+	}
 	// --------------------------------------------------
 	/**
-	 * Ticks this {@link TElement} and its (grand/)children.
+	 * Ticks this {@link TElement}.
 	 * @apiNote This is {@link ApiStatus.Internal}! <b>DO NOT CALL THIS YOURSELF!</b>
 	 * @see #tickCallback()
 	 */
 	@ApiStatus.Internal
 	private final @Reflected void tick() {
-		//tick this element
-		tickCallback();
-		//tick only children that are in-bounds
-		final var bb = getBounds();
-		for(final var child : this)
-			if(child.getBounds().intersects(bb)) child.tick();
+		if(TGuiProfiler.isEnabled()) {
+			final long start = nanoTime();
+			tickCallback();
+			TGuiProfiler.record(TGuiProfiler.Metric.TICK, this, start);
+		}
+		else tickCallback();
 	}
 
+	/**
+	 * Returns {@code true} if this {@link TElement} subclass overrides {@link #tickCallback()}.
+	 * Only such {@link TElement}s are ticked by their {@link TScreen}.
+	 */
+	public final boolean subscribesToTick() { return overridesTickCallback(getClass()); }
+
 	/**
 	 * Callback method that is invoked automatically every GUI tick,
-	 * if and after {@link #getParent()} ticks.
+	 * while this {@link TElement} is on a {@link TScreen}.
 	 * <p>
-	 * For performance optimization reasons, this is invoked if this
-	 * element is contained within its parent's {@link #getBounds()}.
+	 * The {@link TScreen} ticks its ticking {@link TElement}s one after another,
+	 * in the order they appear in the element tree, so this is invoked after
+	 * {@link #getParent()} ticks, if it does.
 	 * <p>
-	 * Note that this is regardless of what {@link #isVisible()} returns.
-	 * The only requirements are the element being "within parent bounds"
-	 * and the parent having ticked.
+	 * Note that this is regardless of what {@link #isVisible()} returns,
+	 * and regardless of whether this element is within its parent's bounds.
+	 * @apiNote {@link TElement}s that do not override this are never visited
+	 * during ticks, so overriding it comes at a small cost per GUI tick.
 	 */
-	protected @Virtual void tickCallback() {}
+	protected @Reflected @Virtual void tickCallback() {}
 	// --------------------------------------------------
 	/**
 	 * A callback method that is invoked whenever this {@link TElement}
@@ -654,8 +1250,20 @@ public @Virtual class TElement extends Node<TElement> implements INodeBounded<TE
 	// ================================================== ==================================================
 	//                                           TElement UTILS
 	// ================================================== ==================================================
+	//class values, as subtrees may be built and initialized on multiple threads at once. see TAsyncSubtree
 	/** @see #overridesInitCallback(Class) */
-	private static final @ApiStatus.Internal Object2BooleanMap<Class<?>> OVERRIDES_INIT = new Object2BooleanOpenHashMap<>();
+	private static final @ApiStatus.Internal ClassValue<Boolean> OVERRIDES_INIT = new ClassValue<>() {
+		protected final @Override Boolean computeValue(Class<?> type) { return isMethodOverridden(type, "initCallback", void.class); }
+	};
+	/** @see #overridesTickCallback(Class) */
+	private static final @ApiStatus.Internal ClassValue<Boolean> OVERRIDES_TICK = new ClassValue<>() {
+		protected final @Override Boolean computeValue(Class<?> type) { return isMethodOverridden(type, "tickCallback", void.class); }
+	};
+	/** @see #inputSubscriptions(Class) */
+	private static final @ApiStatus.Internal ClassValue<Integer> INPUT_SUBSCRIPTIONS = new ClassValue<>() {
+		protected final @Override Integer computeValue(Class<?> type) { return computeInputSubscriptions(type); }
+	};
+	private static final TInputContext.InputType[] INPUT_TYPES = TInputContext.InputType.values();
 	// ==================================================
 	/**
 	 * Returns {@code true} if this {@link TElement} subclass overrides the
@@ -669,8 +1277,70 @@ public @Virtual class TElement extends Node<TElement> implements INodeBounded<TE
 	 * to determine if a {@link TElement}'s {@link #clearAndInit()} should be used.
 	 */
 	private static final boolean overridesInitCallback(final Class<? extends TElement> clazz) {
-		//for optimization, results are cached in a map
-		return OVERRIDES_INIT.computeIfAbsent(clazz, _ -> isMethodOverridden(clazz, "initCallback", void.class));
+		//for optimization, results are cached per class
+		return OVERRIDES_INIT.get(clazz);
+	}
+
+	/**
+	 * Returns {@code true} if a given {@link TElement} subclass overrides the
+	 * {@link #tickCallback()} function at least once. This information is used
+	 * to determine if a {@link TElement} is to be ticked at all.
+	 */
+	private static final boolean overridesTickCallback(final Class<? extends TElement> clazz) {
+		//for optimization, results are cached per class
+		return OVERRIDES_TICK.get(clazz);
+	}
+	// --------------------------------------------------
+	/**
+	 * Returns the bit-mask of inputs this {@link TElement} subclass is subscribed to.
+	 * @see #inputSubscriptions(Class)
+	 */
+	private final int inputSubscriptions() {
+		//cached per instance too, as this is queried for each input dispatch
+		final int cached = this.inputSubscriptions;
+		return (cached != -1) ? cached : (this.inputSubscriptions = inputSubscriptions(getClass()));
+	}
+
+	/**
+	 * Returns the bit-mask of inputs a given {@link TElement} subclass is subscribed to, based
+	 * on its {@link #inputCallback(TInputContext.InputDiscoveryPhase, TInputContext)} override,
+	 * and the {@link TInputSubscription} on said override.
+	 */
+	private static final int inputSubscriptions(final Class<? extends TElement> clazz) {
+		//for optimization, results are cached per class
+		return INPUT_SUBSCRIPTIONS.get(clazz);
+	}
+
+	/**
+	 * Computes the value of {@link #inputSubscriptions(Class)} for a given class.
+	 */
+	private static final int computeInputSubscriptions(final Class<?> clazz)
+	{
+		//obtain the most derived override. not overriding means not handling any inputs
+		final Method method;
+		try { method = clazz.getMethod("inputCallback", TInputContext.InputDiscoveryPhase.class, TInputContext.class); }
+		catch(NoSuchMethodException e) { throw new IncompatibleClassChangeError(e.getMessage()); }
+		if(method.getDeclaringClass() == TElement.class) return 0;
+
+		//overrides without a declaration are subscribed to everything
+		final @Nullable var subscription = method.getAnnotation(TInputSubscription.class);
+		final var types = (subscription == null || subscription.types().length == 0) ? INPUT_TYPES : subscription.types();
+		final var phases = (subscription == null) ? TInputContext.InputDiscoveryPhase.values() : subscription.phases();
+		int mask = 0;
+		for(final var phase : phases)
+			for(final var type : types)
+				mask |= inputSubscriptionBit(phase, type);
+		return mask;
+	}
+
+	/**
+	 * Returns the bit that represents a given {@link TInputContext.InputType} during a
+	 * given {@link TInputContext.InputDiscoveryPhase}, in input subscription bit-masks.
+	 */
+	private static final int inputSubscriptionBit(
+			@NotNull TInputContext.InputDiscoveryPhase phase,
+			@NotNull TInputContext.InputType type) {
+		return 1 << ((phase.ordinal() * INPUT_TYPES.length) + type.ordinal());
 	}
 	// ==================================================
 	/**
@@ -692,7 +1362,7 @@ public @Virtual class TElement extends Node<TElement> implements INodeBounded<TE
 		//create the context menu and add it to the screen
 		final @Nullable var menu = supplier.apply(this);
 		if(menu == null) return null;
-		screen.add(menu); //<-- this changes the focus state
+		screen.openOverlay(menu, true); //<-- this changes the focus state
 
 		//position the context menu based on hover status
 		if(moveToCursor) {
@@ -706,7 +1376,7 @@ public @Virtual class TElement extends Node<TElement> implements INodeBounded<TE
 		}
 		else {
 			//when not hovered or when focused, the context menu targets element position
-			final var bb  = getBounds();
+			final var bb  = getScreenBounds();
 			final var mbb = menu.getBounds();
 			final var sbb = screen.getBounds();
 			menu.moveTo(bb.x, (bb.endY + mbb.height > sbb.endY) ? (bb.y - mbb.height) : bb.endY);
@@ -13,6 +13,7 @@ import com.thecsdev.commonmc.api.client.gui.render.TGuiGraphics;
 import com.thecsdev.commonmc.api.client.gui.screen.TScreen;
 import com.thecsdev.commonmc.api.client.gui.util.TGuiUtils;
 import com.thecsdev.commonmc.api.client.gui.util.TInputContext;
+import com.thecsdev.commonmc.api.client.gui.util.TInputSubscription;
 import com.thecsdev.commonmc.api.client.gui.widget.TButtonWidget;
 import com.thecsdev.commonmc.api.client.gui.widget.TClickableWidget;
 import com.thecsdev.commonmc.resource.TSprites;
@@ -35,7 +36,9 @@ import static com.thecsdev.commonmc.api.client.gui.util.TGuiUtils.calcMaxWidth;
 import static com.thecsdev.commonmc.api.client.gui.util.TGuiUtils.isAncestor;
 import static com.thecsdev.commonmc.api.client.gui.util.TInputContext.InputDiscoveryPhase.MAIN;
 import static com.thecsdev.commonmc.api.client.gui.util.TInputContext.InputDiscoveryPhase.PREEMPT;
+import static com.thecsdev.commonmc.api.client.gui.util.TInputContext.InputType.KEY_PRESS;
 import static com.thecsdev.commonmc.api.client.gui.util.TInputContext.InputType.MOUSE_PRESS;
+import static com.thecsdev.commonmc.api.client.gui.util.TInputContext.InputType.MOUSE_SCROLL;
 import static java.lang.Math.max;
 import static java.lang.Math.min;
 import static org.lwjgl.glfw.GLFW.GLFW_KEY_ESCAPE;
@@ -69,14 +72,13 @@ public @Virtual class TContextMenu extends TElement
 		screenProperty().addChangeListener((p, o, n) -> {
 			//ignore removals from screens (aka screen becoming null)
 			if(n == null) return;
-			//remove other dropdown elements "branches". there cannot be more than one
-			n.forEach(el -> {
-				//1. element must be a context menu
-				//2. element must not be 'this'
-				//3. element must not be a (grand/)child or a (grand/)parent
-				if(el instanceof TContextMenu && el != this && !isAncestor(el, this) && !isAncestor(this, el))
-					el.remove(); //remove elements matching such criteria
-			}, true);
+			//remove other dropdown elements "branches". there cannot be more than one.
+			//root context menus are overlays, and opening one as such closes the others
+			if(getParent() == n) { if(!n.isOverlay(this)) n.openOverlay(this, true); }
+			//child context menus close their sibling branches, all the way up to the root
+			else for(TElement branch = this, parent = getParent(); parent instanceof TContextMenu; branch = parent, parent = parent.getParent())
+				for(final var sibling : parent)
+					if(sibling instanceof TContextMenu && sibling != branch) sibling.remove();
 			//focus onto this element once added to a screen
 			n.focusedElementProperty().set(this, TContextMenu.class);
 		});
@@ -116,6 +118,7 @@ public @Virtual class TContextMenu extends TElement
 	 */
 	public final NotNullProperty<TContextMenu> rootContextMenuProperty() { return this.rootContextMenu; }
 	// ==================================================
+	@TInputSubscription(phases = { PREEMPT, MAIN }, types = { MOUSE_SCROLL, MOUSE_PRESS, KEY_PRESS })
 	@SuppressWarnings("DataFlowIssue")
 	public final @Override boolean inputCallback(TInputContext.@NotNull InputDiscoveryPhase phase, @NotNull TInputContext context)
 	{
@@ -139,7 +142,7 @@ public @Virtual class TContextMenu extends TElement
 				//close this dropdown if a key press happens without focus
 				//to this dropdown or one of its (grand/)children
 				case KEY_PRESS: {
-					if(!isFocusAncestor() || context.getKeyCode() == GLFW_KEY_ESCAPE)
+					if(!isFocusAncestor() || context.getKeyCodeI() == GLFW_KEY_ESCAPE)
 						return remove();
 					else break;
 				}
@@ -325,7 +328,7 @@ public @Virtual class TContextMenu extends TElement
 				btn.getParentMenu().add(menu);
 				//move the menu to the correct position
 				final var pbb = btn.getParentMenu().getBounds();
-				final var bbb = btn.getBounds();
+				final var bbb = btn.getScreenBounds(); //the button is in a scrolling panel
 				menu.moveTo(pbb.endX, bbb.y);
 				menu.snapToParent();
 			});
@@ -6,17 +6,15 @@ import com.thecsdev.common.util.annotations.Virtual;
 import com.thecsdev.common.util.enumerations.CompassDirection;
 import com.thecsdev.commonmc.api.client.gui.TElement;
 import com.thecsdev.commonmc.api.client.gui.render.TGuiGraphics;
+import com.thecsdev.commonmc.api.client.gui.util.TTextLayoutCache;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.Font;
 import net.minecraft.network.chat.Component;
-import net.minecraft.util.FormattedCharSequence;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.List;
-
 /**
  * A {@link TElement} that draws text on the screen.
  */
@@ -33,9 +31,9 @@ public final class TLabelElement extends TElement
 	private final DoubleProperty                    textScale     = new DoubleProperty(1d);
 	private final BooleanProperty                   dropShadow    = new BooleanProperty(true);
 	// --------------------------------------------------
-	private boolean                     isDirty = true;
-	private List<FormattedCharSequence> lines;
-	private int                         textWidth, textHeight; //scaled
+	private boolean                 isDirty = true;
+	private TTextLayoutCache.Layout layout;
+	private int                     textWidth, textHeight; //scaled
 	// ==================================================
 	public TLabelElement(@NotNull Component text) { this(); setText(text); }
 	public @SuppressWarnings("unchecked") TLabelElement()
@@ -104,13 +102,14 @@ public final class TLabelElement extends TElement
 		//if dirty, refresh this label
 		if(this.isDirty) refresh();
 		//do not waste resources rendering if there's no lines to render
-		else if(this.lines.isEmpty()) return;
+		if(this.layout == null) return;
 
 		//prepare
 		final var bb          = getBounds();
 		final var font        = this.font.get();
+		final var layout      = this.layout;
 		final var textScale   = this.textScale.getF();
-		final int lineSpacing = (lines.size() < 2 ? 0 : this.lineSpacing.getI());
+		final int lineSpacing = (layout.getLineCount() < 2 ? 0 : this.lineSpacing.getI());
 		final int totalLineH  = font.lineHeight + lineSpacing;
 		final int textHeight  = (int) ((float) getTextHeight() / textScale); //unscaled total text height
 		final int color       = this.textColor.getI();
@@ -131,12 +130,8 @@ public final class TLabelElement extends TElement
 			totalTranslateY = bb.endY - textHeightScaled;
 
 
-		//we also need to calculate the *maximum unscaled width* of the text block
-		int maxUnscaledWidth = 0;
-		for(final var line : lines) {
-			final int lineWidth = font.width(line);
-			if(lineWidth > maxUnscaledWidth) maxUnscaledWidth = lineWidth;
-		}
+		//we also need the *maximum unscaled width* of the text block (precomputed by the layout)
+		final int maxUnscaledWidth = layout.getMaxLineWidth();
 		final float textWidthScaled = (float) maxUnscaledWidth * textScale;
 
 		//2. calculate the final x position where the left of the scaled text block should start
@@ -150,43 +145,33 @@ public final class TLabelElement extends TElement
 			totalTranslateX = bb.endX - textWidthScaled;
 
 
-		//3. apply transformations: translate to the final top-left of the scaled text block, then scale
-		pencil.pushScissors(bb.x, bb.y, bb.width, bb.height);
-		final var matrix = pencil.getNativeMatrices();
-		matrix.pushMatrix();
-		matrix.scale(textScale, textScale);
-		matrix.translate(totalTranslateX / textScale, totalTranslateY / textScale);
-
-		try
+		//3. queue the lines as text runs, translated to the final top-left of the scaled text block.
+		//   the runs are batched with other labels', and clipped to this label's bounds only if needed
+		final float translateX = totalTranslateX / textScale, translateY = totalTranslateY / textScale;
+		final var   lines      = layout.getLines();
+		int offsetY = 0; //vertical anchor is always 0, as the translation handles it
+		for(int i = 0; i < lines.size(); i++)
 		{
-			//vertical anchor is now always 0, as the initial translation handled it
-			final int startY = 0;
+			final var line      = lines.get(i);
+			final int lineWidth = layout.getLineWidth(i);
 
-			int offsetY = 0;
-			for(final var line : lines)
-			{
-				final int lineWidth = font.width(line);
+			//horizontal anchor (nearest-pixel centering). Calculations use unscaled width
+			//NOTE: we now align within the *unscaled* text width (maxUnscaledWidth) and not bb.width
+			final int drawX;
+			if(align.isLeft())
+				drawX = 0;
+			else if(align.isCenterX())
+				//center the line within the max text width
+				drawX = Math.round((maxUnscaledWidth - lineWidth) / 2.0f);
+			else //isRight() - right-align the line within the max text width
+				drawX = maxUnscaledWidth - lineWidth;
 
-				//horizontal anchor (nearest-pixel centering). Calculations use unscaled width
-				//NOTE: we now align within the *unscaled* text width (maxUnscaledWidth) and not bb.width
-				final int drawX;
-				if(align.isLeft())
-					drawX = 0;
-				else if(align.isCenterX())
-					//center the line within the max text width
-					drawX = Math.round((maxUnscaledWidth - lineWidth) / 2.0f);
-				else //isRight() - right-align the line within the max text width
-					drawX = maxUnscaledWidth - lineWidth;
-
-				final int drawY = startY + offsetY;
-				pencil.getNative().text(font, line, drawX, drawY, color, dropShadow);
-
-				offsetY += totalLineH;
-			}
-		}
-		finally {
-			matrix.popMatrix();
-			pencil.popScissors();
+			pencil.drawTextRun(
+					font, line, lineWidth,
+					translateX, translateY, textScale,
+					drawX, offsetY, color, dropShadow,
+					bb.x, bb.y, bb.width, bb.height);
+			offsetY += totalLineH;
 		}
 	}
 
@@ -211,22 +196,23 @@ public final class TLabelElement extends TElement
 		final var    text      = this.text.get();
 		final double textScale = this.textScale.getD(); //can't divide by 0
 		if(StringUtils.isEmpty(text.getString()) || textScale < 0.01) {
-			this.lines      = List.of();
+			this.layout     = null;
+			this.textWidth  = 0;
 			this.textHeight = 0;
 			return;
 		}
 
-		//wrap text
-		final var font  = this.font.get();
-		final var lines = this.lines = font.split(text, this.wrapText.getZ() ?
+		//wrap text (the text scale is accounted for in the wrap width)
+		final var font   = this.font.get();
+		final var layout = this.layout = TTextLayoutCache.get(text, font, this.wrapText.getZ() ?
 				(int) ((double) getBounds().width / textScale) :
 				Integer.MAX_VALUE);
 
 		//calculate text height
-		final double lineSpacing = (lines.size() < 2 ? 0 : this.lineSpacing.getD());
+		final double lineSpacing = (layout.getLineCount() < 2 ? 0 : this.lineSpacing.getD());
 		final double totalLineH  = ((double) font.lineHeight + lineSpacing) * textScale;
-		this.textWidth           = (int) Math.ceil(((double) lines.stream().map(font::width).max(Integer::compare).orElse(0) * textScale));
-		this.textHeight          = (int) Math.ceil((lines.size() * totalLineH) - (lineSpacing * textScale));
+		this.textWidth           = (int) Math.ceil((double) layout.getMaxLineWidth() * textScale);
+		this.textHeight          = (int) Math.ceil((layout.getLineCount() * totalLineH) - (lineSpacing * textScale));
 	}
 	// --------------------------------------------------
 	/**
@@ -84,7 +84,7 @@ public final class TStretchedTextElement extends TElement
 		mat.scale((float) (((double) bb.width / (double) textW) * scale.x),
 				(float) (((double) bb.height / (double) textH) * scale.y));
 		//then render the text
-		pencil.getNative().text(font, text, 0, 0, this.textColor.getI(), this.dropShadow.getZ());
+		pencil.drawText(font, text, 0, 0, this.textColor.getI(), this.dropShadow.getZ());
 		//and then pop the matrix stack
 		mat.popMatrix();
 	}
@@ -0,0 +1,54 @@
+package com.thecsdev.commonmc.api.client.gui.layout;
+
+import com.thecsdev.common.math.Bounds2i;
+import com.thecsdev.commonmc.api.client.gui.TElement;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * A {@link TLayout} that positions each child independently, relative to the parent,
+ * using each child's {@link TLayoutParams#position} and anchor point.
+ * <p>
+ * This is the declarative equivalent of {@link TElement#setBounds(com.thecsdev.common.math.UDim2, com.thecsdev.common.math.UDim2)},
+ * that keeps up with the parent's size. For example, a position of {@code (0.5, 0.5)} with
+ * an anchor point of {@code (0.5, 0.5)} keeps a child centered.
+ */
+@Environment(EnvType.CLIENT)
+public final class TAnchorLayout extends TLayout
+{
+	// ==================================================
+	public TAnchorLayout(int padding) { super(padding); }
+	// ==================================================
+	public final @Override int hashCode() { return Objects.hash(TAnchorLayout.class, this.padding); }
+	public final @Override boolean equals(Object obj)
+	{
+		if(obj == this) return true;
+		else if(obj instanceof TAnchorLayout other)
+			return this.padding == other.padding;
+		return false;
+	}
+	// ==================================================
+	public final @NotNull @Override Bounds2i measure(@NotNull TElement parent, int availableWidth, int availableHeight) {
+		//anchored children are positioned relative to the parent, so they do not add up to any size
+		return new Bounds2i(0, 0, availableWidth, availableHeight);
+	}
+
+	public final @Override void arrange(@NotNull TElement parent, @NotNull Bounds2i area)
+	{
+		final int p      = this.padding;
+		final int innerW = Math.max(area.width - (p * 2), 0), innerH = Math.max(area.height - (p * 2), 0);
+		for(final var child : parent)
+		{
+			if(!isLaidOut(child)) continue;
+			final var params = child.layoutParamsProperty().get();
+			final var size   = measureChild(child, innerW, innerH);
+			final int x      = area.x + p + params.position.x.computeI(innerW) - (int) Math.round(size.width * params.anchorX);
+			final int y      = area.y + p + params.position.y.computeI(innerH) - (int) Math.round(size.height * params.anchorY);
+			place(child, x, y, size.width, size.height);
+		}
+	}
+	// ==================================================
+}
@@ -0,0 +1,105 @@
+package com.thecsdev.commonmc.api.client.gui.layout;
+
+import com.thecsdev.common.math.Bounds2i;
+import com.thecsdev.commonmc.api.client.gui.TElement;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * A {@link TLayout} that lines children up along an {@link Axis} like a {@link TStackLayout},
+ * and then distributes the leftover space on the main axis among the children, based on
+ * each child's {@link TLayoutParams#grow}.
+ * <p>
+ * When the children do not fit, the missing space is instead taken away from growing
+ * children, in the same proportions. Children that do not grow keep their size either way.
+ */
+@Environment(EnvType.CLIENT)
+public final class TFlexLayout extends TLayout
+{
+	// ==================================================
+	private static final TElement[] EMPTY = new TElement[0];
+	// ==================================================
+	private final Axis axis;
+	private final int  gap;
+	// ==================================================
+	public TFlexLayout(@NotNull Axis axis, int gap, int padding) throws NullPointerException {
+		super(padding);
+		this.axis = Objects.requireNonNull(axis);
+		this.gap  = gap;
+	}
+	// ==================================================
+	public final @Override int hashCode() { return Objects.hash(this.axis, this.gap, this.padding); }
+	public final @Override boolean equals(Object obj)
+	{
+		if(obj == this) return true;
+		else if(obj instanceof TFlexLayout other)
+			return this.axis == other.axis && this.gap == other.gap && this.padding == other.padding;
+		return false;
+	}
+	// ==================================================
+	/**
+	 * Returns the {@link Axis} along which children are lined up.
+	 */
+	public final @NotNull Axis getAxis() { return this.axis; }
+
+	/**
+	 * Returns the gap between each child.
+	 */
+	public final int getGap() { return this.gap; }
+	// ==================================================
+	public final @NotNull @Override Bounds2i measure(@NotNull TElement parent, int availableWidth, int availableHeight) {
+		//growing does not change how much space the children need, so this measures like a stack
+		return measureLine(parent, this.axis, this.gap, availableWidth, availableHeight);
+	}
+
+	public final @Override void arrange(@NotNull TElement parent, @NotNull Bounds2i area)
+	{
+		final int p      = this.padding;
+		final int innerW = Math.max(area.width - (p * 2), 0), innerH = Math.max(area.height - (p * 2), 0);
+		final boolean h  = (this.axis == Axis.HORIZONTAL);
+
+		//first pass measures the children, and how much space is left over
+		final var children = parent.toArray(EMPTY);
+		final var sizes    = new Bounds2i[children.length];
+		int    used = 0, count = 0;
+		double totalGrow = 0;
+		for(int i = 0; i < children.length; i++)
+		{
+			if(!isLaidOut(children[i])) continue;
+			final var size = sizes[i] = measureChild(children[i], innerW, innerH);
+			used += h ? size.width : size.height;
+			totalGrow += children[i].layoutParamsProperty().get().grow;
+			count++;
+		}
+		if(count > 1) used += this.gap * (count - 1);
+		final int leftover = (h ? innerW : innerH) - used;
+
+		//second pass places them, handing out the leftover space to growing children.
+		//rounding errors go to the last growing child, so the children end up filling the area
+		int cursor = h ? (area.x + p) : (area.y + p), handedOut = 0;
+		double grownSoFar = 0;
+		for(int i = 0; i < children.length; i++)
+		{
+			final var size = sizes[i];
+			if(size == null) continue;
+			final var child = children[i];
+			final double grow = child.layoutParamsProperty().get().grow;
+
+			int main = h ? size.width : size.height;
+			if(grow > 0 && totalGrow > 0) {
+				grownSoFar += grow;
+				final int share = (int) Math.round(leftover * (grownSoFar / totalGrow)) - handedOut;
+				handedOut += share;
+				main = Math.max(main + share, 0);
+			}
+
+			if(h) place(child, cursor, area.y + p, main, size.height);
+			else  place(child, area.x + p, cursor, size.width, main);
+			cursor += main + this.gap;
+		}
+	}
+	// ==================================================
+}
@@ -0,0 +1,100 @@
+package com.thecsdev.commonmc.api.client.gui.layout;
+
+import com.thecsdev.common.math.Bounds2i;
+import com.thecsdev.commonmc.api.client.gui.TElement;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * A {@link TLayout} that places children into a grid with a fixed number of equally
+ * wide columns, going from left to right, and then from top to bottom.
+ * <p>
+ * Each child is stretched to the width of its column. Each row is as tall as its tallest
+ * child, and each child is stretched to the height of its row. Children's heights are
+ * measured using {@link TLayoutParams#height}, relative to the column width and the
+ * parent's height.
+ */
+@Environment(EnvType.CLIENT)
+public final class TGridLayout extends TLayout
+{
+	// ==================================================
+	private final int columns;
+	private final int gap;
+	// ==================================================
+	public TGridLayout(int columns, int gap, int padding) {
+		super(padding);
+		this.columns = Math.max(columns, 1);
+		this.gap     = gap;
+	}
+	// ==================================================
+	public final @Override int hashCode() { return Objects.hash(this.columns, this.gap, this.padding); }
+	public final @Override boolean equals(Object obj)
+	{
+		if(obj == this) return true;
+		else if(obj instanceof TGridLayout other)
+			return this.columns == other.columns && this.gap == other.gap && this.padding == other.padding;
+		return false;
+	}
+	// ==================================================
+	/**
+	 * Returns the number of columns.
+	 */
+	public final int getColumns() { return this.columns; }
+
+	/**
+	 * Returns the gap between columns and rows.
+	 */
+	public final int getGap() { return this.gap; }
+	// ==================================================
+	public final @NotNull @Override Bounds2i measure(@NotNull TElement parent, int availableWidth, int availableHeight) {
+		//the grid always spans the available width, and only its height depends on the children
+		return new Bounds2i(0, 0, Math.max(availableWidth, 0), layoutRows(parent, 0, 0, availableWidth, availableHeight, false));
+	}
+
+	public final @Override void arrange(@NotNull TElement parent, @NotNull Bounds2i area) {
+		layoutRows(parent, area.x, area.y, area.width, area.height, true);
+	}
+	// --------------------------------------------------
+	/**
+	 * Goes through the children row by row, optionally placing them.
+	 * @return The total height of the grid, including padding.
+	 */
+	private final int layoutRows(@NotNull TElement parent, int x, int y, int width, int height, boolean place)
+	{
+		final int p       = this.padding;
+		final int innerW  = Math.max(width - (p * 2), 0), innerH = Math.max(height - (p * 2), 0);
+		final int columnW = Math.max((innerW - (this.gap * (this.columns - 1))) / this.columns, 0);
+
+		//rows are collected before being placed, as their height is only known once complete
+		final var row     = new TElement[this.columns];
+		int       column  = 0, rowY = y + p, total = 0;
+		int       rowH    = 0;
+		for(final var child : parent)
+		{
+			if(!isLaidOut(child)) continue;
+			row[column++] = child;
+			rowH = Math.max(rowH, measureChild(child, columnW, innerH).height);
+			if(column < this.columns) continue;
+			if(place) placeRow(row, column, x + p, rowY, columnW, rowH);
+			rowY  += rowH + this.gap;
+			total += rowH + this.gap;
+			column = rowH = 0;
+		}
+		if(column > 0) {
+			if(place) placeRow(row, column, x + p, rowY, columnW, rowH);
+			total += rowH + this.gap;
+		}
+		return Math.max(total - this.gap, 0) + (p * 2);
+	}
+
+	private final void placeRow(@NotNull TElement[] row, int count, int x, int y, int columnW, int rowH) {
+		for(int i = 0; i < count; i++) {
+			place(row[i], x + (i * (columnW + this.gap)), y, columnW, rowH);
+			row[i] = null;
+		}
+	}
+	// ==================================================
+}
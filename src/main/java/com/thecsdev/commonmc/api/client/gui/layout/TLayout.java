@@ -0,0 +1,156 @@
+package com.thecsdev.commonmc.api.client.gui.layout;
+
+import com.thecsdev.common.math.Bounds2i;
+import com.thecsdev.commonmc.api.client.gui.TElement;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Declaratively sizes and positions the children of a {@link TElement}, based on
+ * the {@link TLayoutParams} of each child.
+ * <p>
+ * Layouts work in two passes. The measure pass figures out how much space an element's
+ * children need, and the arrange pass assigns bounds to said children. Both passes are
+ * driven by {@link TElement#performLayout()}, which only re-runs them for elements whose
+ * layout was invalidated, such as by being resized, or by having their children or the
+ * children's {@link TLayoutParams} change. Measurements of nested layouts are cached
+ * per element, as per {@link TElement#measureLayout(int, int)}.
+ * <p>
+ * Implementations are immutable. Changing how an element is laid out is done by assigning
+ * a different {@link TLayout} to its {@link TElement#layoutProperty()}.
+ *
+ * @apiNote Invisible children are not laid out, and take up no space.
+ * @see TStackLayout
+ * @see TFlexLayout
+ * @see TGridLayout
+ * @see TAnchorLayout
+ */
+@Environment(EnvType.CLIENT)
+public abstract class TLayout
+{
+	// ================================================== ==================================================
+	//                                            TLayout IMPLEMENTATION
+	// ================================================== ==================================================
+	/**
+	 * The space between the edges of the laid out element and its children.
+	 */
+	protected final int padding;
+	// ==================================================
+	protected TLayout(int padding) { this.padding = Math.max(padding, 0); }
+	// ==================================================
+	/**
+	 * Returns the space between the edges of the laid out element and its children.
+	 */
+	public final int getPadding() { return this.padding; }
+	// ==================================================
+	/**
+	 * Measures the size a {@link TElement}'s children need when laid out by this {@link TLayout}.
+	 * @param parent The {@link TElement} whose children are to be measured.
+	 * @param availableWidth The width that is available to the parent.
+	 * @param availableHeight The height that is available to the parent.
+	 * @return A {@link Bounds2i} at {@code (0, 0)}, whose size is the measured size, including padding.
+	 * @throws NullPointerException If an argument is {@code null}.
+	 * @apiNote Results are cached by {@link TElement#measureLayout(int, int)}. Implementations
+	 * whose results depend on anything other than the children and their {@link TLayoutParams}
+	 * must have the parent's {@link TElement#invalidateLayout()} called when that changes.
+	 */
+	public abstract @NotNull Bounds2i measure(@NotNull TElement parent, int availableWidth, int availableHeight)
+			throws NullPointerException;
+
+	/**
+	 * Sizes and positions a {@link TElement}'s children within a given area.
+	 * @param parent The {@link TElement} whose children are to be arranged.
+	 * @param area The area to arrange the children in, including padding.
+	 * @throws NullPointerException If an argument is {@code null}.
+	 */
+	public abstract void arrange(@NotNull TElement parent, @NotNull Bounds2i area) throws NullPointerException;
+	// ==================================================
+	/**
+	 * Returns {@code true} if a child {@link TElement} is to be laid out.
+	 */
+	protected static final boolean isLaidOut(@NotNull TElement child) { return child.visibleProperty().getZ(); }
+
+	/**
+	 * Measures a {@link TElement}'s children as a line along a given {@link Axis}. The main
+	 * axis sums up the children and the gaps between them, and the cross axis takes the
+	 * largest child.
+	 * @param parent The {@link TElement} whose children are to be measured.
+	 * @param axis The {@link Axis} along which the children are lined up.
+	 * @param gap The gap between each child.
+	 * @param availableWidth The width that is available to the parent.
+	 * @param availableHeight The height that is available to the parent.
+	 * @return A {@link Bounds2i} at {@code (0, 0)}, whose size is the measured size, including padding.
+	 * @throws NullPointerException If an argument is {@code null}.
+	 */
+	protected final @NotNull Bounds2i measureLine(
+			@NotNull TElement parent, @NotNull Axis axis, int gap, int availableWidth, int availableHeight)
+			throws NullPointerException
+	{
+		final int p      = this.padding;
+		final int innerW = Math.max(availableWidth - (p * 2), 0), innerH = Math.max(availableHeight - (p * 2), 0);
+		final boolean h  = (axis == Axis.HORIZONTAL);
+
+		int main = 0, cross = 0, count = 0;
+		for(final var child : parent)
+		{
+			if(!isLaidOut(child)) continue;
+			final var size = measureChild(child, innerW, innerH);
+			main += h ? size.width : size.height;
+			cross = Math.max(cross, h ? size.height : size.width);
+			count++;
+		}
+		if(count > 1) main += gap * (count - 1);
+		return h ? new Bounds2i(0, 0, main + (p * 2), cross + (p * 2)) : new Bounds2i(0, 0, cross + (p * 2), main + (p * 2));
+	}
+
+	/**
+	 * Measures the size of a child {@link TElement}, using its {@link TLayoutParams}.
+	 * Sizes that are not specified by the {@link TLayoutParams} are measured using the
+	 * child's own {@link TLayout}, and if it has none, the child's current size is used.
+	 * @param child The child {@link TElement}.
+	 * @param referenceWidth The width the child's {@link TLayoutParams#width} is relative to.
+	 * @param referenceHeight The height the child's {@link TLayoutParams#height} is relative to.
+	 * @return A {@link Bounds2i} at {@code (0, 0)}, whose size is the measured size.
+	 * @throws NullPointerException If the child is {@code null}.
+	 */
+	public static final @NotNull Bounds2i measureChild(@NotNull TElement child, int referenceWidth, int referenceHeight)
+			throws NullPointerException
+	{
+		final var     params = child.layoutParamsProperty().get();
+		final boolean hasW   = (params.width != null), hasH = (params.height != null);
+		final int     width  = hasW ? Math.max(params.width.computeI(referenceWidth), 0) : 0;
+		final int     height = hasH ? Math.max(params.height.computeI(referenceHeight), 0) : 0;
+		if(hasW && hasH) return new Bounds2i(0, 0, width, height);
+
+		//fall back to the child's own (cached) layout measurement, or its current size when it has none
+		final @Nullable var layoutSize = child.measureLayout(hasW ? width : referenceWidth, hasH ? height : referenceHeight);
+		final var measured = (layoutSize != null) ? layoutSize : child.getBounds();
+		return new Bounds2i(0, 0, hasW ? width : measured.width, hasH ? height : measured.height);
+	}
+
+	/**
+	 * Assigns new bounds to a child {@link TElement}. Its (grand/)children are moved along
+	 * with it, so that elements that do not use a {@link TLayout} keep their relative positions.
+	 * @param child The child {@link TElement}.
+	 * @param x The new X position.
+	 * @param y The new Y position.
+	 * @param width The new width.
+	 * @param height The new height.
+	 * @throws NullPointerException If the child is {@code null}.
+	 */
+	protected static final void place(@NotNull TElement child, int x, int y, int width, int height)
+			throws NullPointerException {
+		child.moveTo(x, y);
+		child.setBounds(x, y, width, height);
+	}
+	// ================================================== ==================================================
+	//                                               Axis IMPLEMENTATION
+	// ================================================== ==================================================
+	/**
+	 * The axis along which a {@link TLayout} lines up children.
+	 */
+	public static enum Axis { HORIZONTAL, VERTICAL }
+	// ================================================== ==================================================
+}
@@ -0,0 +1,138 @@
+package com.thecsdev.commonmc.api.client.gui.layout;
+
+import com.thecsdev.common.math.UDim;
+import com.thecsdev.common.math.UDim2;
+import com.thecsdev.commonmc.api.client.gui.TElement;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * Immutable set of constraints that tell a parent {@link TElement}'s {@link TLayout}
+ * how to size and position a child {@link TElement}.
+ * <p>
+ * All {@link UDim}s are relative to the parent's layout area, excluding the layout's padding.
+ * Not every {@link TLayout} uses every constraint. See each {@link TLayout} implementation
+ * for which constraints it uses.
+ *
+ * @see TElement#layoutParamsProperty()
+ */
+@Environment(EnvType.CLIENT)
+public final class TLayoutParams
+{
+	// ==================================================
+	/**
+	 * The default {@link TLayoutParams}, that keeps the child's current size,
+	 * places it at the top-left corner, and has it not grow.
+	 */
+	public static final TLayoutParams DEFAULT = new TLayoutParams(null, null, UDim2.ZERO, 0, 0, 0);
+	// ==================================================
+	/**
+	 * The child's width, or {@code null} to use the child's measured width.
+	 * @see TLayout#measureChild(TElement, int, int)
+	 */
+	public final @Nullable UDim width;
+
+	/**
+	 * The child's height, or {@code null} to use the child's measured height.
+	 * @see TLayout#measureChild(TElement, int, int)
+	 */
+	public final @Nullable UDim height;
+
+	/**
+	 * The child's position. Used by {@link TAnchorLayout}.
+	 */
+	public final UDim2 position;
+
+	/**
+	 * The point of the child that is placed at the {@link #position}, as fractions of
+	 * the child's size. {@code 0} is the top-left corner, and {@code 1} is the bottom-right
+	 * corner. Used by {@link TAnchorLayout}.
+	 */
+	public final double anchorX, anchorY;
+
+	/**
+	 * The share of the leftover space the child takes up, relative to its siblings.
+	 * {@code 0} means the child does not grow. Used by {@link TFlexLayout}.
+	 */
+	public final double grow;
+	// ==================================================
+	public TLayoutParams(
+			@Nullable UDim width, @Nullable UDim height, @NotNull UDim2 position,
+			double anchorX, double anchorY, double grow) throws NullPointerException
+	{
+		this.width    = width;
+		this.height   = height;
+		this.position = Objects.requireNonNull(position);
+		this.anchorX  = anchorX;
+		this.anchorY  = anchorY;
+		this.grow     = Math.max(grow, 0);
+	}
+
+	/**
+	 * Creates {@link TLayoutParams} with a given size, and default values for everything else.
+	 * @param width The width, or {@code null} to use the child's measured width.
+	 * @param height The height, or {@code null} to use the child's measured height.
+	 */
+	public static final TLayoutParams ofSize(@Nullable UDim width, @Nullable UDim height) {
+		return new TLayoutParams(width, height, UDim2.ZERO, 0, 0, 0);
+	}
+	// ==================================================
+	public final @Override int hashCode() {
+		return Objects.hash(this.width, this.height, this.position, this.anchorX, this.anchorY, this.grow);
+	}
+	public final @Override boolean equals(Object obj)
+	{
+		if(obj == this) return true;
+		else if(obj instanceof TLayoutParams other)
+			return Objects.equals(this.width, other.width) && Objects.equals(this.height, other.height) &&
+					this.position.equals(other.position) &&
+					this.anchorX == other.anchorX && this.anchorY == other.anchorY &&
+					this.grow == other.grow;
+		return false;
+	}
+	// --------------------------------------------------
+	public final @Override String toString()
+	{
+		return getClass().getName() +
+				"[width=" + this.width + ",height=" + this.height + ",position=" + this.position +
+				",anchorX=" + this.anchorX + ",anchorY=" + this.anchorY + ",grow=" + this.grow + "]";
+	}
+	// ==================================================
+	/**
+	 * Returns a copy of these {@link TLayoutParams} with a different size.
+	 * @param width The width, or {@code null} to use the child's measured width.
+	 * @param height The height, or {@code null} to use the child's measured height.
+	 */
+	public final TLayoutParams withSize(@Nullable UDim width, @Nullable UDim height) {
+		return new TLayoutParams(width, height, this.position, this.anchorX, this.anchorY, this.grow);
+	}
+
+	/**
+	 * Returns a copy of these {@link TLayoutParams} with a different {@link #position}.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 */
+	public final TLayoutParams withPosition(@NotNull UDim2 position) throws NullPointerException {
+		return new TLayoutParams(this.width, this.height, position, this.anchorX, this.anchorY, this.grow);
+	}
+
+	/**
+	 * Returns a copy of these {@link TLayoutParams} with a different anchor point.
+	 * @see #anchorX
+	 * @see #anchorY
+	 */
+	public final TLayoutParams withAnchor(double anchorX, double anchorY) {
+		return new TLayoutParams(this.width, this.height, this.position, anchorX, anchorY, this.grow);
+	}
+
+	/**
+	 * Returns a copy of these {@link TLayoutParams} with a different {@link #grow} value.
+	 */
+	public final TLayoutParams withGrow(double grow) {
+		return new TLayoutParams(this.width, this.height, this.position, this.anchorX, this.anchorY, grow);
+	}
+	// ==================================================
+}
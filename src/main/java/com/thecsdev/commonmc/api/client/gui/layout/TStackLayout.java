@@ -0,0 +1,70 @@
+package com.thecsdev.commonmc.api.client.gui.layout;
+
+import com.thecsdev.common.math.Bounds2i;
+import com.thecsdev.commonmc.api.client.gui.TElement;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * A {@link TLayout} that lines children up one after another along an {@link Axis},
+ * with a gap between each child.
+ * <p>
+ * Children are sized using {@link TLayoutParams#width} and {@link TLayoutParams#height}.
+ * Use a scale of {@code 1} on the cross axis to have children stretch across the parent.
+ */
+@Environment(EnvType.CLIENT)
+public final class TStackLayout extends TLayout
+{
+	// ==================================================
+	private final Axis axis;
+	private final int  gap;
+	// ==================================================
+	public TStackLayout(@NotNull Axis axis, int gap, int padding) throws NullPointerException {
+		super(padding);
+		this.axis = Objects.requireNonNull(axis);
+		this.gap  = gap;
+	}
+	// ==================================================
+	public final @Override int hashCode() { return Objects.hash(this.axis, this.gap, this.padding); }
+	public final @Override boolean equals(Object obj)
+	{
+		if(obj == this) return true;
+		else if(obj instanceof TStackLayout other)
+			return this.axis == other.axis && this.gap == other.gap && this.padding == other.padding;
+		return false;
+	}
+	// ==================================================
+	/**
+	 * Returns the {@link Axis} along which children are lined up.
+	 */
+	public final @NotNull Axis getAxis() { return this.axis; }
+
+	/**
+	 * Returns the gap between each child.
+	 */
+	public final int getGap() { return this.gap; }
+	// ==================================================
+	public final @NotNull @Override Bounds2i measure(@NotNull TElement parent, int availableWidth, int availableHeight) {
+		return measureLine(parent, this.axis, this.gap, availableWidth, availableHeight);
+	}
+
+	public final @Override void arrange(@NotNull TElement parent, @NotNull Bounds2i area)
+	{
+		final int p      = this.padding;
+		final int innerW = Math.max(area.width - (p * 2), 0), innerH = Math.max(area.height - (p * 2), 0);
+		final boolean h  = (this.axis == Axis.HORIZONTAL);
+
+		int cursor = h ? (area.x + p) : (area.y + p);
+		for(final var child : parent)
+		{
+			if(!isLaidOut(child)) continue;
+			final var size = measureChild(child, innerW, innerH);
+			if(h) { place(child, cursor, area.y + p, size.width, size.height); cursor += size.width + this.gap; }
+			else  { place(child, area.x + p, cursor, size.width, size.height); cursor += size.height + this.gap; }
+		}
+	}
+	// ==================================================
+}
@@ -80,7 +80,7 @@ public @Virtual class TBlockStateElement extends TElement
 		if((this.renderItem.getZ() && !this._isItemAir) || this._isAirBlock) {
 			pencil.renderItem(this._asStack, bb.x, bb.y, bb.width, bb.height);
 		} else {
-			pencil.getNative().blitSprite(RenderPipelines.GUI_TEXTURED, this._sprite, bb.x, bb.y, bb.width, bb.height);
+			pencil.drawGuiSprite(RenderPipelines.GUI_TEXTURED, this._sprite, bb.x, bb.y, bb.width, bb.height, -1);
 		}
 	}
 	// ==================================================
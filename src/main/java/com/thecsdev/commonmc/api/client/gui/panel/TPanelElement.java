@@ -2,19 +2,29 @@ package com.thecsdev.commonmc.api.client.gui.panel;
 
 import com.thecsdev.common.math.Bounds2i;
 import com.thecsdev.common.math.Point2d;
+import com.thecsdev.common.math.Vector2i;
 import com.thecsdev.common.properties.IntegerProperty;
 import com.thecsdev.common.properties.NotNullProperty;
 import com.thecsdev.common.util.annotations.Virtual;
 import com.thecsdev.commonmc.api.client.gui.TElement;
 import com.thecsdev.commonmc.api.client.gui.render.TGuiGraphics;
 import com.thecsdev.commonmc.api.client.gui.util.TInputContext;
+import com.thecsdev.commonmc.api.client.gui.util.TInputSubscription;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.lwjgl.glfw.GLFW;
 
 /**
  * A panel element primarily featuring functionality like scrolling.
+ * <p>
+ * Scrolling does not move the child elements. Instead, the children stay where they
+ * were placed, as if this panel was not scrolled, and the scroll is applied as a
+ * {@link #getContentOffset()} when they are rendered, hit-tested, and handed inputs.
+ * Scrolling therefore takes the same amount of time regardless of how many (grand/)children
+ * this panel has. Use {@link #getScreenBounds()} to find out where a (grand/)child ends up
+ * on the screen.
  */
 @Environment(EnvType.CLIENT)
 public @Virtual class TPanelElement extends TElement
@@ -30,6 +40,9 @@ public @Virtual class TPanelElement extends TElement
 	private final NotNullProperty<Point2d> scrollAmount      = new NotNullProperty<>(Point2d.ZERO);
 	private final IntegerProperty          scrollPadding     = new IntegerProperty(0);
 	private final IntegerProperty          scrollSensitivity = new IntegerProperty(30);
+	// --------------------------------------------------
+	private Vector2i contentOffset = Vector2i.ZERO; //see #getContentOffset()
+	private boolean  scrolling     = false;         //true while #scroll(int, int) updates the scroll amount
 	// ==================================================
 	public TPanelElement()
 	{
@@ -39,9 +52,10 @@ public @Virtual class TPanelElement extends TElement
 		//clamp01 the scroll amount
 		this.scrollAmount.addFilter(Point2d::clamp01, TPanelElement.class);
 		this.scrollAmount.addChangeListener((p, o, n) -> {
-			final var ccb = getContentBounds();
+			if(this.scrolling) return; //the content was already moved
+			final var ccb = getScrollContentBounds();
 			final var ncb = computeContentBoundsFromScrollAmount();
-			moveChildren(ncb.x - ccb.x, ncb.y - ccb.y);
+			moveScrollContent(ncb.x - ccb.x, ncb.y - ccb.y);
 		});
 	}
 	// ==================================================
@@ -61,6 +75,52 @@ public @Virtual class TPanelElement extends TElement
 	 * of scrolling done by keyboard and mouse input.
 	 */
 	public final IntegerProperty scrollSensitivityProperty() { return this.scrollSensitivity; }
+	// --------------------------------------------------
+	/**
+	 * Returns the {@link Bounds2i} of the content this {@link TPanelElement} scrolls, where
+	 * it currently appears in this panel's own coordinate space. All scrolling logic,
+	 * including {@link #scrollAmountProperty()}, is relative to it.
+	 * @apiNote Defaults to {@link #getContentBounds()}, translated by {@link #getContentOffset()}.
+	 * Panels whose content is not entirely made up of child elements (such as virtualized
+	 * panels) override this.
+	 * @see #moveScrollContent(int, int)
+	 */
+	public @Virtual @NotNull Bounds2i getScrollContentBounds() {
+		final var cb  = getContentBounds();
+		final var off = this.contentOffset;
+		return cb.add(off.x, off.y, 0, 0);
+	}
+
+	/**
+	 * Moves the content this {@link TPanelElement} scrolls by a given amount.
+	 * @param dX The X delta, in in-game on-screen units.
+	 * @param dY The Y delta, in in-game on-screen units.
+	 * @apiNote Defaults to adjusting the {@link #getContentOffset()}, which leaves the
+	 * children's bounds as they are. Overrides are to move the {@link #getScrollContentBounds()}
+	 * by the exact same amount.
+	 * @see #getScrollContentBounds()
+	 */
+	protected @Virtual void moveScrollContent(int dX, int dY)
+	{
+		if(dX == 0 && dY == 0) return;
+		this.contentOffset = this.contentOffset.add(dX, dY);
+		//the hit-test index holds on to the positions of descendants that are not clipped by this panel
+		final @Nullable var screen = screenProperty().get();
+		if(screen != null && !clipsDescendantsProperty().getZ()) screen.invalidateHitTestIndex();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @apiNote For {@link TPanelElement}s, this is how far the content is scrolled.
+	 */
+	public final @NotNull @Override Vector2i getContentOffset() { return this.contentOffset; }
+	// --------------------------------------------------
+	protected @Virtual @Override void layoutCallback() {
+		//layouts may have resized the content, so the scroll amount is re-applied to it
+		final var ccb = getScrollContentBounds();
+		final var ncb = computeContentBoundsFromScrollAmount();
+		moveScrollContent(ncb.x - ccb.x, ncb.y - ccb.y);
+	}
 	// ==================================================
 	public @Virtual @Override void renderCallback(@NotNull TGuiGraphics pencil) {
 		final var bb = getBounds();
@@ -74,6 +134,7 @@ public @Virtual class TPanelElement extends TElement
 	}
 
 	private double mouseDragX = 0, mouseDragY = 0;
+	@TInputSubscription(phases = TInputContext.InputDiscoveryPhase.MAIN)
 	@SuppressWarnings("DataFlowIssue")
 	public @Virtual @Override boolean inputCallback(TInputContext.@NotNull InputDiscoveryPhase phase, @NotNull TInputContext context)
 	{
@@ -84,21 +145,18 @@ public @Virtual class TPanelElement extends TElement
 		switch(context.getInputType())
 		{
 			//mouse press should result in focus, so we return true here
-			case MOUSE_PRESS: return (context.getMouseButton() == 0 || context.getMouseButton() == 2) && isFocusable();
+			case MOUSE_PRESS: return (context.getMouseButtonI() == 0 || context.getMouseButtonI() == 2) && isFocusable();
 			//mouse scroll should result in scrolling
 			case MOUSE_SCROLL: {
-				final int ss    = this.scrollSensitivity.getI();
-				final var oldCb = getContentBounds(); //TODO - Make #scroll return a 'boolean' instead
-				scroll((int) (-context.getScrollX() * ss), (int) (context.getScrollY() * ss));
-				final var newCb = getContentBounds(); //TODO - Make #scroll return a 'boolean' instead
-				return !oldCb.equals(newCb);          //TODO - Make #scroll return a 'boolean' instead
+				final int ss = this.scrollSensitivity.getI();
+				return scroll((int) (-context.getScrollXD() * ss), (int) (context.getScrollYD() * ss));
 			}
 			//handle mouse dragging
 			case MOUSE_DRAG:
 			{
 				//keep track of mouse delta (in decimal)
-				this.mouseDragX += context.getMouseDeltaX();
-				this.mouseDragY += context.getMouseDeltaY();
+				this.mouseDragX += context.getMouseDeltaXD();
+				this.mouseDragY += context.getMouseDeltaYD();
 
 				//convert decimal to whole, and see if there's movement to be handled
 				int dX = (int) mouseDragX, dY = (int) mouseDragY; //int cast discards the decimal fragments
@@ -116,8 +174,7 @@ public @Virtual class TPanelElement extends TElement
 				if(!isFocused()) break;
 				final int s = this.scrollSensitivity.getI();
 				int dX = 0, dY = 0;
-				//noinspection DataFlowIssue
-				switch(context.getKeyCode()) {
+				switch(context.getKeyCodeI()) {
 					case GLFW.GLFW_KEY_UP:    dY += s; break;
 					case GLFW.GLFW_KEY_DOWN:  dY -= s; break;
 					case GLFW.GLFW_KEY_LEFT:  dX += s; break;
@@ -135,7 +192,7 @@ public @Virtual class TPanelElement extends TElement
 	}
 	// ==================================================
 	/**
-	 * Calculates the value that the {@link #getContentBounds()} should have given
+	 * Calculates the value that the {@link #getScrollContentBounds()} should have given
 	 * the value of {@link #scrollAmountProperty()}.
 	 * @author <a href="https://gemini.google.com/">Google Gemini</a>
 	 */
@@ -144,7 +201,7 @@ public @Virtual class TPanelElement extends TElement
 		//Point2d - constructor: new Point2d(double x, double y) - fields: .x .y (doubles)
 		//Bounds2i fields: .x .y .width .height .endX .endY (integers)
 		final Bounds2i bb  = getBounds(); //current rectangle of this element (viewport)
-		final Bounds2i cbb = getContentBounds(); //current rectangle encapsulating all children bounding boxes
+		final Bounds2i cbb = getScrollContentBounds(); //current rectangle encapsulating all children bounding boxes
 		final Point2d  sa  = this.scrollAmount.get();
 		final int      sp  = this.scrollPadding.getI(); // NEW: Scroll Padding
 
@@ -178,7 +235,7 @@ public @Virtual class TPanelElement extends TElement
 
 	/**
 	 * Calculates the value that {@link #scrollAmountProperty()} should have given
-	 * the value of {@link #getContentBounds()}.
+	 * the value of {@link #getScrollContentBounds()}.
 	 * @author <a href="https://gemini.google.com/">Google Gemini</a>
 	 */
 	private final Point2d computeScrollAmountFromContentBounds()
@@ -186,7 +243,7 @@ public @Virtual class TPanelElement extends TElement
 		//Point2d - constructor: new Point2d(double x, double y) - fields: .x .y (doubles)
 		//Bounds2i fields: .x .y .width .height .endX .endY (integers)
 		final Bounds2i bb  = getBounds(); //rectangle of this element (viewport)
-		final Bounds2i cbb = getContentBounds(); //rectangle encapsulating all children bounding boxes
+		final Bounds2i cbb = getScrollContentBounds(); //rectangle encapsulating all children bounding boxes
 		final int      sp  = this.scrollPadding.getI(); // NEW: Scroll Padding
 
 		// 1. Calculate the effective maximum scrollable distance (delta)
@@ -226,22 +283,33 @@ public @Virtual class TPanelElement extends TElement
 	}
 	// ==================================================
 	/**
-	 * Scrolls this {@link TPanelElement} by moving the children via
-	 * {@link #moveChildren(int, int)}.
+	 * Scrolls this {@link TPanelElement} by moving the content via
+	 * {@link #moveScrollContent(int, int)}.
 	 * @param deltaX The X scroll amount, in in-game on-screen units.
 	 * @param deltaY The Y scroll amount, in in-game on-screen units.
+	 * @return {@code true} if the content moved, or {@code false} if it already
+	 * was scrolled as far as it goes.
 	 * @apiNote  Note that this method differs from {@link #moveChildren(int, int)}
 	 * in that it also affects the value of {@link #scrollAmountProperty()}.
 	 */
-	public final void scroll(int deltaX, int deltaY) {
-		//move children and then a super lazy unoptimized way to correct overshot
-		//movements cuz i don't feel like doing actual maths here
-		moveChildren(deltaX, deltaY);
-		//TODO - A more optimized scroll(int, int) logic is needed
-		this.scrollAmount.set(computeScrollAmountFromContentBounds(), TPanelElement.class);
-		final var old_cbb = getContentBounds();
-		final var new_cbb = computeContentBoundsFromScrollAmount();
-		moveChildren(new_cbb.x - old_cbb.x, new_cbb.y - old_cbb.y);
+	public final boolean scroll(int deltaX, int deltaY)
+	{
+		//clamp the movement to the scrollable range up front, so the content is only moved once.
+		//see computeContentBoundsFromScrollAmount() for the math behind the range
+		final var bb  = getBounds();
+		final var cbb = getScrollContentBounds();
+		final int sp  = this.scrollPadding.getI();
+		final int startX = bb.x + sp, endX = startX - Math.max(0, cbb.width - (bb.width - 2 * sp));
+		final int startY = bb.y + sp, endY = startY - Math.max(0, cbb.height - (bb.height - 2 * sp));
+		final int dX = Math.max(endX, Math.min(startX, cbb.x + deltaX)) - cbb.x;
+		final int dY = Math.max(endY, Math.min(startY, cbb.y + deltaY)) - cbb.y;
+		moveScrollContent(dX, dY);
+
+		//then update the scroll amount, without having its change listener move the content again
+		this.scrolling = true;
+		try { this.scrollAmount.set(computeScrollAmountFromContentBounds(), TPanelElement.class); }
+		finally { this.scrolling = false; }
+		return dX != 0 || dY != 0;
 	}
 	// --------------------------------------------------
 	/**
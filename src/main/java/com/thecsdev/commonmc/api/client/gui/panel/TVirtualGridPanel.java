@@ -0,0 +1,298 @@
+package com.thecsdev.commonmc.api.client.gui.panel;
+
+import com.thecsdev.common.math.Bounds2i;
+import com.thecsdev.common.properties.IntegerProperty;
+import com.thecsdev.common.util.annotations.Virtual;
+import com.thecsdev.commonmc.api.client.gui.TElement;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+
+/**
+ * A {@link TPanelElement} that displays a large number of uniformly sized items in a grid,
+ * while only keeping the {@link TElement} "cells" for the items that are currently visible
+ * (plus a few rows of overscan) alive as child elements.
+ * <p>
+ * Cells are created and bound to items using a {@link CellFactory}. As the panel scrolls,
+ * cells whose items scroll out of view are recycled for the items that scroll into view.
+ * As such, memory usage and initialization time do not grow with the number of items.
+ * <p>
+ * Recycled cells stay attached to this panel. They are only re-bound and moved, while
+ * cells that are not needed are hidden, so scrolling never adds or removes children. The
+ * children are kept in the order of the items they are bound to, so anything that goes
+ * through them in order, such as focus navigation, sees them in item order.
+ * <p>
+ * Scrolling works exactly like it does for regular {@link TPanelElement}s, with the scrolled
+ * content being the entire virtual grid, rather than just the child elements that are present.
+ * Unlike regular {@link TPanelElement}s, the cells are positioned where they appear, and the
+ * {@link #getContentOffset()} stays zero, as there are only ever a few cells to position.
+ *
+ * @param <E> The type of the cell {@link TElement}s.
+ * @apiNote Cells are recycled, so they must not hold on to any per-item state outside of what
+ * {@link CellFactory#bindCell(TElement, int)} sets. Cells that are recycled also lose focus.
+ * Their bounds and visibility are controlled by this panel.
+ */
+@Environment(EnvType.CLIENT)
+public @Virtual class TVirtualGridPanel<E extends TElement> extends TPanelElement
+{
+	// ================================================== ==================================================
+	//                                  TVirtualGridPanel IMPLEMENTATION
+	// ================================================== ==================================================
+	private final IntegerProperty itemCount  = new IntegerProperty(0);
+	private final IntegerProperty cellWidth  = new IntegerProperty(20);
+	private final IntegerProperty cellHeight = new IntegerProperty(20);
+	private final IntegerProperty cellGap    = new IntegerProperty(0);
+	private final IntegerProperty overscan   = new IntegerProperty(2);
+	// --------------------------------------------------
+	private final CellFactory<E>       cellFactory;
+	private final Int2ObjectMap<E>     aliveCells = new Int2ObjectOpenHashMap<>(); //item index -> cell
+	private final Reference2IntMap<E>  cellItems  = new Reference2IntOpenHashMap<>(); //cell -> item index
+	private final ArrayDeque<E>        freeCells  = new ArrayDeque<>(); //attached, but hidden
+	private       int                  scrollX, scrollY; //how far the virtual content is scrolled
+	// ==================================================
+	public TVirtualGridPanel(@NotNull CellFactory<E> cellFactory) throws NullPointerException
+	{
+		this.cellFactory = Objects.requireNonNull(cellFactory);
+		this.cellItems.defaultReturnValue(-1);
+
+		//negative values make no sense here
+		this.itemCount.addFilter(n -> Math.max(n, 0), TVirtualGridPanel.class);
+		this.cellWidth.addFilter(n -> Math.max(n, 1), TVirtualGridPanel.class);
+		this.cellHeight.addFilter(n -> Math.max(n, 1), TVirtualGridPanel.class);
+		this.cellGap.addFilter(n -> Math.max(n, 0), TVirtualGridPanel.class);
+		this.overscan.addFilter(n -> Math.max(n, 0), TVirtualGridPanel.class);
+
+		//any change to the layout requires the cells to be refreshed
+		this.itemCount.addChangeListener((_, _, _) -> refresh());
+		this.cellWidth.addChangeListener((_, _, _) -> refresh());
+		this.cellHeight.addChangeListener((_, _, _) -> refresh());
+		this.cellGap.addChangeListener((_, _, _) -> refresh());
+		this.overscan.addChangeListener((_, _, _) -> refresh());
+		scrollPaddingProperty().addChangeListener((_, _, _) -> refresh());
+
+		//moving this panel moves the cells along with it. resizing it requires a refresh
+		boundsProperty().addChangeListener((_, o, n) -> { if(!o.hasSameSize(n)) refresh(); });
+	}
+	// ==================================================
+	/**
+	 * The {@link IntegerProperty} holding the number of items this panel displays.
+	 */
+	public final IntegerProperty itemCountProperty() { return this.itemCount; }
+
+	/**
+	 * The {@link IntegerProperty} holding the width of each cell.
+	 */
+	public final IntegerProperty cellWidthProperty() { return this.cellWidth; }
+
+	/**
+	 * The {@link IntegerProperty} holding the height of each cell.
+	 */
+	public final IntegerProperty cellHeightProperty() { return this.cellHeight; }
+
+	/**
+	 * The {@link IntegerProperty} holding the gap between cells, both horizontally and vertically.
+	 */
+	public final IntegerProperty cellGapProperty() { return this.cellGap; }
+
+	/**
+	 * The {@link IntegerProperty} holding the number of rows of cells that are kept alive
+	 * above and below the visible area, so that scrolling does not reveal missing cells.
+	 */
+	public final IntegerProperty overscanProperty() { return this.overscan; }
+	// --------------------------------------------------
+	/**
+	 * Returns the {@link CellFactory} used to create and bind cells.
+	 */
+	public final @NotNull CellFactory<E> getCellFactory() { return this.cellFactory; }
+	// ==================================================
+	/**
+	 * {@inheritDoc}
+	 * @apiNote Overrides must call {@code super.initCallback()}, as that is what
+	 * (re/)creates the cells.
+	 */
+	protected @Virtual @Override void initCallback() {
+		//children were cleared, and with them, all cells. the content starts off unscrolled,
+		//just like how it would for freshly added children of a regular panel
+		this.aliveCells.clear();
+		this.cellItems.clear();
+		this.freeCells.clear();
+		this.scrollX = this.scrollY = 0;
+		refresh();
+	}
+	// --------------------------------------------------
+	public final @NotNull @Override Bounds2i getScrollContentBounds()
+	{
+		final var bb      = getBounds();
+		final int sp      = scrollPaddingProperty().getI();
+		final int columns = computeColumnCount(), rows = computeRowCount(columns);
+		final int gap     = this.cellGap.getI();
+		return new Bounds2i(
+				bb.x + sp - this.scrollX, bb.y + sp - this.scrollY,
+				Math.max((columns * (computeCellWidth() + gap)) - gap, 0),
+				Math.max((rows * (this.cellHeight.getI() + gap)) - gap, 0));
+	}
+
+	protected final @Override void moveScrollContent(int dX, int dY) {
+		if(dX == 0 && dY == 0) return;
+		this.scrollX -= dX;
+		this.scrollY -= dY;
+		refreshCells();
+	}
+	// ==================================================
+	/**
+	 * Returns the number of cell columns. Defaults to as many columns as fit
+	 * within this panel's padded width, and at least {@code 1}.
+	 */
+	protected @Virtual int computeColumnCount() {
+		final int width = getBounds().width - (scrollPaddingProperty().getI() * 2);
+		final int gap   = this.cellGap.getI();
+		return Math.max((width + gap) / (computeCellWidth() + gap), 1);
+	}
+
+	/**
+	 * Returns the width of each cell. Defaults to the value of {@link #cellWidthProperty()}.
+	 */
+	protected @Virtual int computeCellWidth() { return this.cellWidth.getI(); }
+
+	private final int computeRowCount(int columns) { return (this.itemCount.getI() + columns - 1) / columns; }
+	// --------------------------------------------------
+	/**
+	 * Refreshes the cells, and corrects the scroll position in case the
+	 * virtual content's size changed.
+	 * @apiNote Does not re-bind cells whose items are still visible.
+	 * @see #rebindCells()
+	 */
+	public final void refresh()
+	{
+		refreshCells();
+		scroll(0, 0); //corrects the scroll position if it is out of bounds
+		//the virtual content's size may have changed, which the cells alone do not reflect
+		this.eContentBoundsChanged.invoker().accept(this);
+	}
+
+	/**
+	 * Re-binds all currently alive cells to their items. To be called whenever
+	 * the data the items represent changes, but the item count stays the same.
+	 */
+	public final void rebindCells() {
+		for(final var entry : this.aliveCells.int2ObjectEntrySet())
+			this.cellFactory.bindCell(entry.getValue(), entry.getIntKey());
+	}
+
+	/**
+	 * Creates, recycles, and positions cells based on the current scroll position.
+	 */
+	private final void refreshCells()
+	{
+		//obtain layout information
+		final var bb      = getBounds();
+		final int sp      = scrollPaddingProperty().getI();
+		final int columns = computeColumnCount(), rows = computeRowCount(columns);
+		final int cw      = computeCellWidth(), ch = this.cellHeight.getI();
+		final int gap     = this.cellGap.getI(), os = this.overscan.getI();
+		final int count   = this.itemCount.getI();
+
+		//calculate the range of item indices that are to have alive cells
+		final int viewTop  = this.scrollY - sp;
+		final int firstRow = Math.max(Math.floorDiv(viewTop, ch + gap) - os, 0);
+		final int lastRow  = Math.min(Math.floorDiv(viewTop + bb.height - 1, ch + gap) + os, rows - 1);
+		final int start    = firstRow * columns;
+		final int end      = Math.min((lastRow + 1) * columns, count);
+
+		//recycle cells whose items are out of range, and forget the ones removed from this panel externally
+		final var iterator = this.aliveCells.int2ObjectEntrySet().iterator();
+		while(iterator.hasNext())
+		{
+			final var entry = iterator.next();
+			final int index = entry.getIntKey();
+			final var cell  = entry.getValue();
+			if(index >= start && index < end && cell.getParent() == this) continue;
+			iterator.remove();
+			this.cellItems.removeInt(cell);
+			if(cell.getParent() == this) { hideCell(cell); this.freeCells.push(cell); }
+		}
+		this.freeCells.removeIf(cell -> cell.getParent() != this);
+
+		//create or reuse cells for items that are in range, and position all of them
+		final int originX = bb.x + sp - this.scrollX, originY = bb.y + sp - this.scrollY;
+		for(int index = start; index < end; index++)
+		{
+			E cell = this.aliveCells.get(index);
+			if(cell == null)
+			{
+				final boolean created = this.freeCells.isEmpty();
+				cell = created ? this.cellFactory.createCell() : this.freeCells.pop();
+				this.cellFactory.bindCell(cell, index);
+				this.aliveCells.put(index, cell);
+				this.cellItems.put(cell, index);
+				if(created) add(cell);
+				else cell.visibleProperty().set(true, TVirtualGridPanel.class);
+			}
+			final int column = index % columns, row = index / columns;
+			cell.setBounds(originX + (column * (cw + gap)), originY + (row * (ch + gap)), cw, ch);
+		}
+
+		//do not hold on to more free cells than could ever be needed at once
+		while(this.freeCells.size() > Math.max(end - start, 0)) remove(this.freeCells.pop());
+
+		//keep the children in item order. the cells that already are in order form a prefix
+		//of the item range, and only the ones after it have to be moved to the end
+		int inOrder = start;
+		for(final var child : this)
+			if(this.cellItems.getInt(child) == inOrder) inOrder++;
+		if(inOrder < end) {
+			for(int index = inOrder; index < end; index++) moveToEnd(this.aliveCells.get(index));
+			invalidateChildOrder();
+		}
+	}
+
+	/**
+	 * Hides a cell that is no longer bound to an item, taking away its focus and hover.
+	 */
+	private final void hideCell(@NotNull E cell)
+	{
+		cell.visibleProperty().set(false, TVirtualGridPanel.class);
+		final @Nullable var screen = cell.screenProperty().get();
+		if(screen == null) return;
+		if(isSelfOrDescendant(cell, screen.focusedElementProperty().get()))
+			screen.focusedElementProperty().set(null, TVirtualGridPanel.class);
+		if(isSelfOrDescendant(cell, screen.hoveredElementProperty().get()))
+			screen.hoveredElementProperty().set(null, TVirtualGridPanel.class);
+	}
+
+	private static final boolean isSelfOrDescendant(@NotNull TElement cell, @Nullable TElement element) {
+		return element != null && (element == cell || element.findParent(p -> p == cell).isPresent());
+	}
+	// ================================================== ==================================================
+	//                                        CellFactory IMPLEMENTATION
+	// ================================================== ==================================================
+	/**
+	 * Creates {@link TElement} cells for a {@link TVirtualGridPanel}, and binds them to items.
+	 * @param <E> The type of the cell {@link TElement}s.
+	 */
+	public static interface CellFactory<E extends TElement>
+	{
+		/**
+		 * Creates a new cell {@link TElement} that is not yet bound to any item.
+		 * @apiNote The cell's bounds are controlled by the {@link TVirtualGridPanel}.
+		 */
+		public @NotNull E createCell();
+
+		/**
+		 * Binds a cell {@link TElement} to an item, making it display said item.
+		 * Called for newly created cells, as well as recycled ones.
+		 * @param cell The cell to bind.
+		 * @param index The index of the item.
+		 */
+		public void bindCell(@NotNull E cell, int index);
+	}
+	// ================================================== ==================================================
+}
@@ -0,0 +1,30 @@
+package com.thecsdev.commonmc.api.client.gui.panel;
+
+import com.thecsdev.common.util.annotations.Virtual;
+import com.thecsdev.commonmc.api.client.gui.TElement;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A {@link TVirtualGridPanel} that displays its items in a single column, with each
+ * cell spanning this panel's entire (padded) width.
+ * <p>
+ * The cell height is controlled via {@link #cellHeightProperty()}, whereas
+ * {@link #cellWidthProperty()} has no effect.
+ *
+ * @param <E> The type of the cell {@link TElement}s.
+ * @see TVirtualGridPanel
+ */
+@Environment(EnvType.CLIENT)
+public @Virtual class TVirtualListPanel<E extends TElement> extends TVirtualGridPanel<E>
+{
+	// ==================================================
+	public TVirtualListPanel(@NotNull CellFactory<E> cellFactory) throws NullPointerException { super(cellFactory); }
+	// ==================================================
+	protected final @Override int computeColumnCount() { return 1; }
+	protected final @Override int computeCellWidth() {
+		return Math.max(getBounds().width - (scrollPaddingProperty().getI() * 2), 1);
+	}
+	// ==================================================
+}
@@ -14,6 +14,7 @@ import com.thecsdev.commonmc.api.client.gui.screen.TScreen;
 import com.thecsdev.commonmc.api.client.gui.util.CursorType;
 import com.thecsdev.commonmc.api.client.gui.util.TGuiUtils;
 import com.thecsdev.commonmc.api.client.gui.util.TInputContext;
+import com.thecsdev.commonmc.api.client.gui.util.TInputSubscription;
 import com.thecsdev.commonmc.api.client.gui.widget.TButtonWidget;
 import com.thecsdev.commonmc.resource.TComponent;
 import net.fabricmc.api.EnvType;
@@ -104,8 +105,8 @@ public abstract class TWindowElement extends TElement
 		//obtain bounding box for child bounds calculation
 		final var bb = getBounds();
 
-		//initialize title-bar
-		final var el_title = new TitlebarElement();
+		//initialize title-bar, reusing the existing one so its buttons keep their hover and focus
+		final var el_title = keyedChild(TitlebarElement.class, TitlebarElement.class, TitlebarElement::new);
 		el_title.setBounds(bb.height(15));
 		add(el_title);
 
@@ -127,6 +128,7 @@ public abstract class TWindowElement extends TElement
 	}
 	// --------------------------------------------------
 	private double dragDeltaX = 0, dragDeltaY = 0;
+	@TInputSubscription(phases = TInputContext.InputDiscoveryPhase.MAIN)
 	@SuppressWarnings("DataFlowIssue")
 	public final @Override boolean inputCallback(
 			@NotNull TInputContext.InputDiscoveryPhase phase,
@@ -140,11 +142,11 @@ public abstract class TWindowElement extends TElement
 		return switch(context.getInputType())
 		{
 			//LMB mouse press returns true, so drag input can be handled
-			case MOUSE_PRESS -> context.getMouseButton() == 0;
+			case MOUSE_PRESS -> context.getMouseButtonI() == 0;
 			//mouse release stops the drag, so clear the drag values
 			case MOUSE_RELEASE -> {
 				//FIXME - Releasing another button causes this to yield false. This is an issue in the input system.
-				if(context.getMouseButton() != 0) yield false;
+				if(context.getMouseButtonI() != 0) yield false;
 				this.dragDeltaX = this.dragDeltaY = 0;
 				TGuiUtils.keepElementWithinBounds(this, getParent().getBounds());
 				yield true;
@@ -153,8 +155,8 @@ public abstract class TWindowElement extends TElement
 			case MOUSE_DRAG ->
 			{
 				//keep track of mouse delta (in decimal)
-				this.dragDeltaX += context.getMouseDeltaX();
-				this.dragDeltaY += context.getMouseDeltaY();
+				this.dragDeltaX += context.getMouseDeltaXD();
+				this.dragDeltaY += context.getMouseDeltaYD();
 
 				//convert decimal to whole, and see if there's movement to be handled
 				final int dX = (int) this.dragDeltaX, dY = (int) this.dragDeltaY;
@@ -246,6 +248,9 @@ public abstract class TWindowElement extends TElement
 			this.btn_close.getLabel().textScaleProperty().set(0.8, TitlebarElement.class);
 			this.btn_maximize.getLabel().setText(Component.literal("■"));
 			this.btn_maximize.getLabel().textScaleProperty().set(0.8, TitlebarElement.class);
+			//the buttons are kept across re-initializations, so their listeners are only added once
+			this.btn_maximize.eClicked.addListener(__ -> TWindowElement.this.maximized.toggle());
+			this.btn_close.eClicked.addListener(__ -> TWindowElement.this.close());
 		}
 		// ==================================================
 		public @Virtual @Override @NotNull CursorType getCursor() { return CursorType.RESIZE_ALL; }
@@ -262,12 +267,10 @@ public abstract class TWindowElement extends TElement
 
 			//initialize maximize button
 			this.btn_maximize.setBounds(bb.width - 40, 0, 20, 15);
-			this.btn_maximize.eClicked.addListener(__ -> TWindowElement.this.maximized.toggle());
 			addRel(btn_maximize);
 
 			//initialize close button
 			this.btn_close.setBounds(bb.width - 20, 0, 20, 15);
-			this.btn_close.eClicked.addListener(__ -> TWindowElement.this.close());
 			addRel(this.btn_close);
 		}
 		// ==================================================
@@ -2,22 +2,27 @@ package com.thecsdev.commonmc.api.client.gui.render;
 
 import com.mojang.blaze3d.pipeline.RenderPipeline;
 import com.mojang.blaze3d.platform.Window;
-import com.mojang.blaze3d.platform.cursor.CursorType;
+import com.mojang.blaze3d.textures.AddressMode;
 import com.thecsdev.common.util.annotations.Virtual;
 import com.thecsdev.commonmc.api.client.gui.TElement;
 import com.thecsdev.commonmc.api.client.gui.screen.TScreen;
 import com.thecsdev.commonmc.api.client.gui.screen.TScreenWrapper;
+import com.thecsdev.commonmc.api.client.gui.util.CursorType;
+import com.thecsdev.commonmc.api.client.gui.util.TGuiProfiler;
 import com.thecsdev.commonmc.client.mixin.hooks.AccessorGuiGraphicsExtractor;
 import com.thecsdev.commonmc.resource.TSprites;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.Font;
 import net.minecraft.client.gui.GuiGraphicsExtractor;
 import net.minecraft.client.gui.render.GuiRenderer;
 import net.minecraft.client.gui.screens.inventory.InventoryScreen;
 import net.minecraft.client.renderer.texture.TextureManager;
 import net.minecraft.data.AtlasIds;
+import net.minecraft.network.chat.Component;
 import net.minecraft.resources.Identifier;
+import net.minecraft.util.FormattedCharSequence;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.item.ItemStack;
@@ -30,6 +35,7 @@ import org.joml.Vector3f;
 
 import java.util.Objects;
 
+import static java.lang.System.nanoTime;
 import static net.minecraft.client.renderer.RenderPipelines.GUI_TEXTURED;
 
 /**
@@ -56,15 +62,17 @@ public abstract class TGuiGraphics
 		return new TGuiGraphicsDefault(drawContext, mouseX, mouseY, deltaTicks);
 	}
 	// ==================================================
-	private final GuiGraphicsExtractor drawContext;
-	private final Minecraft            client;
-	private final Matrix3x2fStack      matrices;
+	private final @Nullable GuiGraphicsExtractor drawContext;
+	private final @Nullable Minecraft            client;
+	private final @NotNull  Matrix3x2fStack      matrices;
 	// --------------------------------------------------
 	private final int   mouseX, mouseY;
 	private final float deltaTicks;
 	private final int   screenW, screenH;
 	// --------------------------------------------------
 	private @Nullable TElement currentElement;
+	private int contentOffsetX, contentOffsetY; //sum of the content offsets of the elements being rendered
+	private final TTextRunBatch textRuns = new TTextRunBatch();
 	// ==================================================
 	protected TGuiGraphics(GuiGraphicsExtractor drawContext, int mouseX, int mouseY, float deltaTicks)
 	{
@@ -79,16 +87,42 @@ public abstract class TGuiGraphics
 		this.screenW           = window.getGuiScaledWidth();
 		this.screenH           = window.getGuiScaledHeight();
 	}
+
+	/**
+	 * Creates a "headless" {@link TGuiGraphics} that is not backed by the game's
+	 * native {@link GuiGraphicsExtractor}, and does not require a {@link Minecraft}
+	 * client instance or a window to exist.
+	 * @param screenWidth The (gui-scaled) width of the virtual screen.
+	 * @param screenHeight The (gui-scaled) height of the virtual screen.
+	 * @param mouseX The mouse X position. In-game coordinates.
+	 * @param mouseY The mouse Y position. In-game coordinates.
+	 * @param deltaTicks The rendering delta-time in game ticks.
+	 * @apiNote {@link #getNative()} and {@link #getNativeClient()} return {@code null}
+	 * for headless instances, so any draw calls that rely on them will not work.
+	 */
+	protected TGuiGraphics(int screenWidth, int screenHeight, int mouseX, int mouseY, float deltaTicks)
+	{
+		this.drawContext = null;
+		this.client      = null;
+		this.matrices    = new Matrix3x2fStack(16);
+		this.mouseX      = mouseX;
+		this.mouseY      = mouseY;
+		this.deltaTicks  = deltaTicks;
+		this.screenW     = screenWidth;
+		this.screenH     = screenHeight;
+	}
 	// ==================================================
 	/**
 	 * Returns the game's native {@link GuiGraphicsExtractor}.
 	 * @apiNote May be unsafe and unstable to make draw calls directly to the game.
+	 * @apiNote Is {@code null} for "headless" {@link TGuiGraphics} instances.
 	 */
 	@ApiStatus.Experimental
 	public final GuiGraphicsExtractor getNative() { return this.drawContext; }
 
 	/**
 	 * Returns the game's {@link Minecraft} instance.
+	 * @apiNote Is {@code null} for "headless" {@link TGuiGraphics} instances.
 	 */
 	@ApiStatus.Experimental
 	public final Minecraft getNativeClient() { return this.client; }
@@ -140,7 +174,10 @@ public abstract class TGuiGraphics
 	 * @see #popScissors()
 	 * @apiNote You <b>must</b> call {@link #popScissors()} once you're done!
 	 */
-	public final void pushScissors(int x, int y, int width, int height) { this.drawContext.enableScissor(x, y, x + width, y + height); }
+	public final void pushScissors(int x, int y, int width, int height) {
+		flushTextRuns(); //queued text must be drawn with the scissors it was queued under
+		enableScissors(x, y, width, height);
+	}
 
 	/**
 	 * Pops a "scissor" from the game's "scissor stack", effectively disabling
@@ -148,7 +185,27 @@ public abstract class TGuiGraphics
 	 * @throws IllegalStateException If the scissor stack is already empty.
 	 * @see #pushScissors(int, int, int, int)
 	 */
-	public final void popScissors() throws IllegalStateException { this.drawContext.disableScissor(); }
+	public final void popScissors() throws IllegalStateException {
+		flushTextRuns(); //queued text must be drawn with the scissors it was queued under
+		disableScissors();
+	}
+
+	/**
+	 * Backend implementation of {@link #pushScissors(int, int, int, int)}.
+	 */
+	protected abstract void enableScissors(int x, int y, int width, int height);
+
+	/**
+	 * Backend implementation of {@link #popScissors()}.
+	 * @throws IllegalStateException If the scissor stack is already empty.
+	 */
+	protected abstract void disableScissors() throws IllegalStateException;
+
+	/**
+	 * Requests the mouse cursor to take on a given {@link CursorType} for this frame.
+	 * @param cursor The requested {@link CursorType}.
+	 */
+	protected abstract void requestCursor(@NotNull CursorType cursor);
 	// ==================================================
 	/**
 	 * Draws the "missing texture" sprite that looks like a magenta-&amp;-black grid.
@@ -504,6 +561,14 @@ public abstract class TGuiGraphics
 			int textureWidth, int textureHeight,
 			int color)
 	{
+		//optimization - when possible, draw one single quad whose UVs wrap around the texture
+		if(width < 1 || height < 1) return;
+		else if(canWrapTextureUVs(renderPipeline, id, uvWidth, uvHeight, textureWidth, textureHeight)) {
+			drawTexture(renderPipeline, id, x, y, width, height, u, v, width, height, textureWidth, textureHeight, color);
+			return;
+		}
+
+		//otherwise fall back to drawing the texture tile by tile
 		int endX = x + width, endY = y + height;
 		for(int y1 = y; y1 < endY; y1 += uvHeight)
 			for(int x1 = x; x1 < endX; x1 += uvWidth)
@@ -515,6 +580,140 @@ public abstract class TGuiGraphics
 				drawTexture(renderPipeline, id, x1, y1, nextW, nextH, u, v, nextW, nextH, textureWidth, textureHeight, color);
 			}
 	}
+
+	/**
+	 * Returns {@code true} if {@link #drawRepeatingTexture(RenderPipeline, Identifier, int, int, int, int, float, float, int, int, int, int, int)}
+	 * is allowed to draw a single quad whose UV coordinates extend past the texture's edges and
+	 * wrap around, instead of drawing the texture tile by tile.
+	 * <p>
+	 * UV wrapping repeats whole textures and not sub-regions of them, so this is only possible
+	 * when a tile spans the entire texture. Sprites stitched onto atlases never qualify, as their
+	 * neighbouring sprites would bleed into the quad. Neither do textures that are not sampled
+	 * with repeating addressing, as they would be stretched instead of tiled.
+	 * @param renderPipeline The {@link RenderPipeline} that will be used.
+	 * @param id The texture's {@link Identifier}.
+	 * @param uvWidth Width of a single tile on the UV coordinates.
+	 * @param uvHeight Height of a single tile on the UV coordinates.
+	 * @param textureWidth Texture image width.
+	 * @param textureHeight Texture image height.
+	 */
+	protected @Virtual boolean canWrapTextureUVs(
+			@NotNull RenderPipeline renderPipeline, @NotNull Identifier id,
+			int uvWidth, int uvHeight, int textureWidth, int textureHeight)
+	{
+		//the tile must be the whole texture, and the texture must be a standalone image rather than an atlas sprite
+		if(renderPipeline != GUI_TEXTURED || uvWidth != textureWidth || uvHeight != textureHeight || !id.getPath().endsWith(".png"))
+			return false;
+		//and the texture's sampler must actually repeat, instead of clamping to the texture's edges
+		return isTextureRepeating(id);
+	}
+
+	/**
+	 * Returns {@code true} if the texture with a given {@link Identifier} is sampled using
+	 * {@link AddressMode#REPEAT} addressing on both axes, so UV coordinates that extend
+	 * past its edges wrap around instead of being clamped.
+	 * @param id The texture's {@link Identifier}.
+	 * @apiNote Headless instances have no {@link TextureManager} to ask, and return {@code false}.
+	 */
+	protected @Virtual boolean isTextureRepeating(@NotNull Identifier id)
+	{
+		if(this.client == null) return false;
+		final @Nullable var sampler = this.client.getTextureManager().getTexture(id).getSampler();
+		return sampler != null &&
+				sampler.getAddressModeU() == AddressMode.REPEAT &&
+				sampler.getAddressModeV() == AddressMode.REPEAT;
+	}
+	// ==================================================
+	/**
+	 * Draws a line of text.
+	 * @param font The {@link Font} to use.
+	 * @param text The text to draw.
+	 * @param x The text's X coordinate.
+	 * @param y The text's Y coordinate.
+	 * @param color The text's ARGB color.
+	 * @param dropShadow Whether the text has a drop shadow.
+	 */
+	public abstract void drawText(
+			@NotNull Font font, @NotNull FormattedCharSequence text,
+			int x, int y, int color, boolean dropShadow);
+
+	/**
+	 * Draws a line of text.
+	 * @param font The {@link Font} to use.
+	 * @param text The text to draw.
+	 * @param x The text's X coordinate.
+	 * @param y The text's Y coordinate.
+	 * @param color The text's ARGB color.
+	 * @param dropShadow Whether the text has a drop shadow.
+	 */
+	public final void drawText(
+			@NotNull Font font, @NotNull Component text,
+			int x, int y, int color, boolean dropShadow) {
+		drawText(font, text.getVisualOrderText(), x, y, color, dropShadow);
+	}
+
+	/**
+	 * Queues a run of text to be drawn later, alongside other queued runs. Runs are drawn
+	 * grouped by {@link Font} and clip rectangle, and runs that fit entirely within their
+	 * clip rectangle are drawn without scissors at all. This avoids the scissor and matrix
+	 * changes that would otherwise take place for every single piece of text.
+	 * <p>
+	 * The text is positioned as if the matrix stack was scaled by {@code scale}, then
+	 * translated by {@code translateX} and {@code translateY}, and then the text was drawn
+	 * at {@code x} and {@code y}.
+	 * @param font The {@link Font} to use.
+	 * @param text The text to draw.
+	 * @param textWidth The (unscaled) width of the text, as measured by the {@link Font}.
+	 * @param translateX The X translation, in scaled space.
+	 * @param translateY The Y translation, in scaled space.
+	 * @param scale The text scale.
+	 * @param x The text's X coordinate, in scaled space.
+	 * @param y The text's Y coordinate, in scaled space.
+	 * @param color The text's ARGB color.
+	 * @param dropShadow Whether the text has a drop shadow.
+	 * @param clipX The clip rectangle's X coordinate. Text outside of it gets cut off.
+	 * @param clipY The clip rectangle's Y coordinate.
+	 * @param clipWidth The clip rectangle's width.
+	 * @param clipHeight The clip rectangle's height.
+	 * @apiNote Queued runs are drawn whenever scissors are pushed or popped, and once the
+	 * rendering of a {@link TScreen} is done. Within a clipped region, text therefore ends up
+	 * drawn after the other draw calls, which matches how the game layers text anyway.
+	 * Queued runs are always drawn with the {@link #getNativeMatrices()} transformation
+	 * that was current when they were queued.
+	 * @see #flushTextRuns()
+	 */
+	public final void drawTextRun(
+			@NotNull Font font, @NotNull FormattedCharSequence text, int textWidth,
+			float translateX, float translateY, float scale,
+			int x, int y, int color, boolean dropShadow,
+			int clipX, int clipY, int clipWidth, int clipHeight)
+	{
+		this.textRuns.add(this,
+				Objects.requireNonNull(font), Objects.requireNonNull(text), textWidth,
+				translateX, translateY, scale, x, y, color, dropShadow,
+				clipX, clipY, clipWidth, clipHeight);
+	}
+
+	/**
+	 * Draws all text runs that were queued via {@link #drawTextRun}.
+	 * @apiNote Called automatically. Only needed when drawing something by means other
+	 * than this {@link TGuiGraphics}, that queued text should not end up drawn over.
+	 */
+	public final void flushTextRuns() { if(!this.textRuns.isEmpty()) this.textRuns.flush(this); }
+
+	/**
+	 * Draws all text runs that were queued via {@link #drawTextRun}, if any of them
+	 * overlap a given rectangle. Backends are to call this before drawing anything
+	 * that is not text, so queued text never ends up drawn over things that were
+	 * drawn after it.
+	 * @param x The rectangle's X coordinate.
+	 * @param y The rectangle's Y coordinate.
+	 * @param width The rectangle's width.
+	 * @param height The rectangle's height.
+	 */
+	protected final void flushTextRunsOverlapping(int x, int y, int width, int height) {
+		if(this.textRuns.overlaps(this.matrices, x, y, width, height)) this.textRuns.flush(this);
+	}
 	// ==================================================
 	/**
 	 * Draws a button.
@@ -563,6 +762,7 @@ public abstract class TGuiGraphics
 	 * @param height The height.
 	 */
 	public @Virtual void renderItem(@NotNull ItemStack item, int x, int y, int width, int height) {
+		flushTextRunsOverlapping(x, y, width, height);
 		final var mat = getNativeMatrices();
 		mat.pushMatrix();
 		mat.translate(x, y);
@@ -615,11 +815,15 @@ public abstract class TGuiGraphics
 	{
 		Objects.requireNonNull(entity);
 		if(width == 0 || height == 0) return;
+		flushTextRunsOverlapping(x, y, width, height);
+		//the game draws entities at on-screen coordinates, without the matrices,
+		//so the content offsets of scrolled panels have to be applied here
+		final int sX = x + this.contentOffsetX, sY = y + this.contentOffsetY;
 		renderEntityInInventoryFollowsMouse(
-				x, y, x + width, y + height,
+				sX, sY, sX + width, sY + height,
 				(int) (computeEntitySize(entity, width, height) * scale),
-				followsCursor ? getMouseX() : (x + width + ((float) width / 7)),
-				followsCursor ? getMouseY() : (y + height + ((float) height / 10)),
+				followsCursor ? getMouseX() : (sX + width + ((float) width / 7)),
+				followsCursor ? getMouseY() : (sY + height + ((float) height / 10)),
 				entity);
 	}
 
@@ -709,13 +913,15 @@ public abstract class TGuiGraphics
 	public final void renderTScreen(@NotNull TScreen screen)
 	{
 		// ---------- SCREEN RENDERING
+		if(TGuiProfiler.isEnabled()) TGuiProfiler.updateWindow();
 		renderTElement(screen, screen);
+		flushTextRuns();
 
 		//do not render tooltip and cursor if the screen isn't open.
 		//this prevents annoyances from 'last/previous screens' when
 		//a screen is rendering its 'last/previous screen'.
-		if(this.client.gui.screen() != screen.getAsScreen())
-			return;
+		if(this.client != null && this.client.gui.screen() != screen.getAsScreen())
+			return; //headless instances have no concept of "the currently open screen"
 
 		// ---------- TOOLTIP RENDERING
 		final @Nullable var focus = screen.focusedElementProperty().get();
@@ -724,7 +930,7 @@ public abstract class TGuiGraphics
 		if(focus != hover) renderTooltip(hover);
 
 		// ---------- CURSOR RENDERING
-		getNative().requestCursor(hover != null ? hover.getCursor().getNative() : CursorType.DEFAULT);
+		requestCursor(hover != null ? hover.getCursor() : CursorType.DEFAULT);
 	}
 
 	/**
@@ -747,7 +953,8 @@ public abstract class TGuiGraphics
 		if(!element.visibleProperty().get())
 			return; //draw child only if *IT* is visible (ignore (grand)parents)
 		final var elBB = element.getBounds(); //element's bounding box
-		if(elBB.isEmpty || elBB.x > this.screenW || elBB.y > this.screenH || elBB.endX < 0 || elBB.endY < 0)
+		final int elX  = elBB.x + this.contentOffsetX, elY = elBB.y + this.contentOffsetY; //on-screen
+		if(elBB.isEmpty || elX > this.screenW || elY > this.screenH || elX + elBB.width < 0 || elY + elBB.height < 0)
 			return; //draw child only if it has a valid size and is on-screen
 
 		//keep track of last current element (important)
@@ -755,7 +962,12 @@ public abstract class TGuiGraphics
 
 		//render the element
 		this.currentElement = element;
-		element.renderCallback(this);
+		if(TGuiProfiler.isEnabled()) {
+			final long start = nanoTime();
+			element.renderCallback(this);
+			TGuiProfiler.record(TGuiProfiler.Metric.RENDER, element, start);
+		}
+		else element.renderCallback(this);
 
 		//draw the element's children
 		{
@@ -763,17 +975,35 @@ public abstract class TGuiGraphics
 			final boolean clips = element.clipsDescendantsProperty().get();
 			if(clips) pushScissors(elBB.x, elBB.y, elBB.width, elBB.height);
 
+			//children are drawn translated by the content offset, which is how panels scroll
+			final var     off       = element.getContentOffset();
+			final boolean translate = (off.x != 0 || off.y != 0);
+			if(translate) {
+				this.matrices.pushMatrix();
+				this.matrices.translate(off.x, off.y);
+				this.contentOffsetX += off.x; this.contentOffsetY += off.y;
+			}
+
 			//iterate children and make draw calls
 			for(final var child : element)
 				renderTElement(child, expectedScreen);
 
-			//pop parent scissors once done
+			//undo the translation, and pop parent scissors once done
+			if(translate) {
+				this.contentOffsetX -= off.x; this.contentOffsetY -= off.y;
+				this.matrices.popMatrix();
+			}
 			if(clips) popScissors();
 		}
 
 		//post-render callback for the element, and then pop the matrix stack
 		this.currentElement = element; //IMPORTANT: Reassign. Keep track of the element being rendered.
-		element.postRenderCallback(this);
+		if(TGuiProfiler.isEnabled()) {
+			final long start = nanoTime();
+			element.postRenderCallback(this);
+			TGuiProfiler.record(TGuiProfiler.Metric.POST_RENDER, element, start);
+		}
+		else element.postRenderCallback(this);
 
 		//revert current-element once all is done
 		this.currentElement = lastCurrentElement;
@@ -795,7 +1025,7 @@ public abstract class TGuiGraphics
 
 		//obtain the tooltip bounding box and transform the matrix
 		final var screenBounds  = root.getBounds();
-		final var elementBounds = element.getBounds();
+		final var elementBounds = element.getScreenBounds();
 		final var tooltipBounds = tooltip.getBounds();
 
 		final var matrices      = getNativeMatrices();
@@ -830,6 +1060,7 @@ public abstract class TGuiGraphics
 
 		//render the tooltip and pop the matrix
 		renderTElement(tooltip, null);
+		flushTextRuns();
 		matrices.popMatrix();
 	}
 	// ==================================================
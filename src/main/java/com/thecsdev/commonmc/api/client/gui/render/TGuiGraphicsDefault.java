@@ -1,11 +1,14 @@
 package com.thecsdev.commonmc.api.client.gui.render;
 
 import com.mojang.blaze3d.pipeline.RenderPipeline;
+import com.thecsdev.commonmc.api.client.gui.util.CursorType;
 import com.thecsdev.commonmc.resource.TSprites;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
+import net.minecraft.client.gui.Font;
 import net.minecraft.client.gui.GuiGraphicsExtractor;
 import net.minecraft.resources.Identifier;
+import net.minecraft.util.FormattedCharSequence;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
@@ -27,7 +30,12 @@ final class TGuiGraphicsDefault extends TGuiGraphics
 		super(drawContext, mouseX, mouseY, deltaTicks);
 	}
 	// ==================================================
+	protected final @Override void enableScissors(int x, int y, int width, int height) { getNative().enableScissor(x, y, x + width, y + height); }
+	protected final @Override void disableScissors() throws IllegalStateException { getNative().disableScissor(); }
+	protected final @Override void requestCursor(@NotNull CursorType cursor) { getNative().requestCursor(cursor.getNative()); }
+	// ==================================================
 	public final @Override void fillColor(int x, int y, int width, int height, int color) {
+		flushTextRunsOverlapping(x, y, width, height);
 		getNative().fill(x, y, x + width, y + height, color);
 	}
 	// --------------------------------------------------
@@ -37,6 +45,7 @@ final class TGuiGraphicsDefault extends TGuiGraphics
 			float uvX, float uvY, int uvWidth, int uvHeight,
 			int textureWidth, int textureHeight, int color)
 	{
+		flushTextRunsOverlapping(x, y, width, height);
 		getNative().blit(renderPipeline, id, x, y, uvX, uvY, width, height, uvWidth, uvHeight, textureWidth, textureHeight, color);
 	}
 
@@ -44,9 +53,17 @@ final class TGuiGraphicsDefault extends TGuiGraphics
 			@NotNull RenderPipeline renderPipeline, @NotNull Identifier id,
 			int x, int y, int width, int height, int color)
 	{
+		flushTextRunsOverlapping(x, y, width, height);
 		getNative().blitSprite(renderPipeline, id, x, y, width, height, color);
 	}
 	// --------------------------------------------------
+	public final @Override void drawText(
+			@NotNull Font font, @NotNull FormattedCharSequence text,
+			int x, int y, int color, boolean dropShadow)
+	{
+		getNative().text(font, text, x, y, color, dropShadow);
+	}
+	// --------------------------------------------------
 	private static final @ApiStatus.Internal Identifier[] SPRITE_BUTTONS = new Identifier[] {
 		withDefaultNamespace("widget/button"),
 		withDefaultNamespace("widget/button_highlighted"),
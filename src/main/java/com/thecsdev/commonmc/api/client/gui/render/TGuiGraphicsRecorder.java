@@ -0,0 +1,274 @@
+package com.thecsdev.commonmc.api.client.gui.render;
+
+import com.mojang.blaze3d.pipeline.RenderPipeline;
+import com.thecsdev.commonmc.api.client.gui.util.CursorType;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.gui.Font;
+import net.minecraft.client.gui.GuiGraphicsExtractor;
+import net.minecraft.resources.Identifier;
+import net.minecraft.util.FormattedCharSequence;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A "headless" {@link TGuiGraphics} implementation that does not draw anything,
+ * and instead records all draw calls into flat arrays of primitives.
+ * <p>
+ * Does not require a window, a GPU, a {@link GuiGraphicsExtractor}, or even a
+ * running game client. Primarily meant for measuring and testing GUI rendering
+ * logic, such as the traversal of large {@link com.thecsdev.commonmc.api.client.gui.TElement}
+ * trees, without the cost and noise of the game's actual renderer.
+ *
+ * @apiNote Coordinates are recorded as they were passed in. Matrix transformations
+ * from {@link #getNativeMatrices()} are not applied to them.
+ */
+@ApiStatus.Experimental
+@Environment(EnvType.CLIENT)
+public final class TGuiGraphicsRecorder extends TGuiGraphics
+{
+	// ==================================================
+	/** @see #fillColor(int, int, int, int, int) */
+	public static final int CMD_FILL_COLOR    = 0;
+	/** @see #drawTexture(RenderPipeline, Identifier, int, int, int, int, float, float, int, int, int, int, int) */
+	public static final int CMD_TEXTURE       = 1;
+	/** @see #drawGuiSprite(RenderPipeline, Identifier, int, int, int, int, int) */
+	public static final int CMD_GUI_SPRITE    = 2;
+	/** @see #drawText(Font, FormattedCharSequence, int, int, int, boolean) */
+	public static final int CMD_TEXT          = 3;
+	/** @see #drawButton(int, int, int, int, int, boolean, boolean) */
+	public static final int CMD_BUTTON        = 4;
+	/** @see #drawCheckbox(int, int, int, int, int, boolean, boolean, boolean) */
+	public static final int CMD_CHECKBOX      = 5;
+	/** @see #drawToggleButton(int, int, int, int, int, boolean, boolean, boolean) */
+	public static final int CMD_TOGGLE_BUTTON = 6;
+	/** @see #pushScissors(int, int, int, int) */
+	public static final int CMD_PUSH_SCISSORS = 7;
+	/** @see #popScissors() */
+	public static final int CMD_POP_SCISSORS  = 8;
+	// --------------------------------------------------
+	/** Flag bit for the "enabled" state of buttons, checkboxes, and toggle buttons. */
+	public static final int FLAG_ENABLED     = 1;
+	/** Flag bit for the "highlighted" state of buttons, checkboxes, and toggle buttons. */
+	public static final int FLAG_HIGHLIGHTED = 1 << 1;
+	/** Flag bit for the "checked" state of checkboxes, and the "toggled" state of toggle buttons. */
+	public static final int FLAG_CHECKED     = 1 << 2;
+	/** Flag bit for text that has a drop shadow. */
+	public static final int FLAG_SHADOW      = 1 << 3;
+	// --------------------------------------------------
+	//the layout of a single recorded command in the 'commands' array
+	private static final int OFF_TYPE = 0, OFF_X = 1, OFF_Y = 2, OFF_W = 3, OFF_H = 4, OFF_COLOR = 5, OFF_FLAGS = 6;
+	private static final int STRIDE   = 7;
+	// ==================================================
+	private int[]      commands = new int[STRIDE * 256];
+	private Object[]   subjects = new Object[256];
+	private int        size, scissorDepth;
+	private CursorType cursor   = CursorType.DEFAULT;
+	// --------------------------------------------------
+	private final Set<Identifier> repeatingTextures = new HashSet<>(); //see #isTextureRepeating(Identifier)
+	// ==================================================
+	/**
+	 * Creates a {@link TGuiGraphicsRecorder} instance.
+	 * @param screenWidth The (gui-scaled) width of the virtual screen.
+	 * @param screenHeight The (gui-scaled) height of the virtual screen.
+	 * @param mouseX The mouse X position. In-game coordinates.
+	 * @param mouseY The mouse Y position. In-game coordinates.
+	 * @param deltaTicks The rendering delta-time in game ticks.
+	 */
+	public TGuiGraphicsRecorder(int screenWidth, int screenHeight, int mouseX, int mouseY, float deltaTicks) {
+		super(screenWidth, screenHeight, mouseX, mouseY, deltaTicks);
+	}
+	// ==================================================
+	/**
+	 * Returns the number of draw commands that were recorded so far.
+	 */
+	public final int size() { return this.size; }
+
+	/**
+	 * Returns the number of draw commands of a given type that were recorded so far.
+	 * @param type The command type. One of the {@code CMD_} constants.
+	 */
+	public final int count(int type)
+	{
+		int count = 0;
+		for(int i = 0; i < this.size; i++)
+			if(this.commands[i * STRIDE] == type) count++;
+		return count;
+	}
+
+	/**
+	 * Sets whether the texture with a given {@link Identifier} is to be treated as if it
+	 * were sampled using repeating addressing. Textures are treated as clamped by default.
+	 * @param id The texture's {@link Identifier}.
+	 * @param repeating Whether the texture repeats.
+	 * @throws NullPointerException If the {@link Identifier} is {@code null}.
+	 * @see #isTextureRepeating(Identifier)
+	 */
+	public final void setTextureRepeating(@NotNull Identifier id, boolean repeating) throws NullPointerException {
+		if(repeating) this.repeatingTextures.add(Objects.requireNonNull(id));
+		else this.repeatingTextures.remove(Objects.requireNonNull(id));
+	}
+
+	/**
+	 * Discards all recorded draw commands, allowing this instance to be reused.
+	 */
+	public final void clear()
+	{
+		Arrays.fill(this.subjects, 0, this.size, null); //do not retain references
+		this.size         = 0;
+		this.scissorDepth = 0;
+		this.cursor       = CursorType.DEFAULT;
+	}
+	// --------------------------------------------------
+	/**
+	 * Returns the type of the draw command at a given index. One of the {@code CMD_} constants.
+	 * @throws IndexOutOfBoundsException If the index is out of bounds.
+	 */
+	public final int getType(int index) throws IndexOutOfBoundsException { return get(index, OFF_TYPE); }
+
+	/**
+	 * Returns the X coordinate of the draw command at a given index.
+	 * @throws IndexOutOfBoundsException If the index is out of bounds.
+	 */
+	public final int getX(int index) throws IndexOutOfBoundsException { return get(index, OFF_X); }
+
+	/**
+	 * Returns the Y coordinate of the draw command at a given index.
+	 * @throws IndexOutOfBoundsException If the index is out of bounds.
+	 */
+	public final int getY(int index) throws IndexOutOfBoundsException { return get(index, OFF_Y); }
+
+	/**
+	 * Returns the width of the draw command at a given index.
+	 * @throws IndexOutOfBoundsException If the index is out of bounds.
+	 * @apiNote Is {@code 0} for text, as measuring it is not the recorder's job.
+	 */
+	public final int getWidth(int index) throws IndexOutOfBoundsException { return get(index, OFF_W); }
+
+	/**
+	 * Returns the height of the draw command at a given index.
+	 * @throws IndexOutOfBoundsException If the index is out of bounds.
+	 * @apiNote Is {@code 0} for text, as measuring it is not the recorder's job.
+	 */
+	public final int getHeight(int index) throws IndexOutOfBoundsException { return get(index, OFF_H); }
+
+	/**
+	 * Returns the ARGB color of the draw command at a given index.
+	 * @throws IndexOutOfBoundsException If the index is out of bounds.
+	 */
+	public final int getColor(int index) throws IndexOutOfBoundsException { return get(index, OFF_COLOR); }
+
+	/**
+	 * Returns the {@code FLAG_} bits of the draw command at a given index.
+	 * @throws IndexOutOfBoundsException If the index is out of bounds.
+	 */
+	public final int getFlags(int index) throws IndexOutOfBoundsException { return get(index, OFF_FLAGS); }
+
+	/**
+	 * Returns the subject of the draw command at a given index. That is the texture
+	 * {@link Identifier} for textures and sprites, and the {@link FormattedCharSequence}
+	 * for text. {@code null} for everything else.
+	 * @throws IndexOutOfBoundsException If the index is out of bounds.
+	 */
+	public final @Nullable Object getSubject(int index) throws IndexOutOfBoundsException {
+		return this.subjects[Objects.checkIndex(index, this.size)];
+	}
+
+	/**
+	 * Returns the last {@link CursorType} that was requested while recording.
+	 */
+	public final @NotNull CursorType getRequestedCursor() { return this.cursor; }
+	// --------------------------------------------------
+	private final int get(int index, int offset) {
+		return this.commands[Objects.checkIndex(index, this.size) * STRIDE + offset];
+	}
+
+	private final void record(int type, int x, int y, int width, int height, int color, int flags, @Nullable Object subject)
+	{
+		//grow the arrays when full
+		if(this.size == this.subjects.length) {
+			this.commands = Arrays.copyOf(this.commands, this.commands.length * 2);
+			this.subjects = Arrays.copyOf(this.subjects, this.subjects.length * 2);
+		}
+		//write the command
+		final int i = this.size * STRIDE;
+		this.commands[i + OFF_TYPE]  = type;
+		this.commands[i + OFF_X]     = x;
+		this.commands[i + OFF_Y]     = y;
+		this.commands[i + OFF_W]     = width;
+		this.commands[i + OFF_H]     = height;
+		this.commands[i + OFF_COLOR] = color;
+		this.commands[i + OFF_FLAGS] = flags;
+		this.subjects[this.size++]   = subject;
+	}
+
+	private static final int flags(boolean enabled, boolean highlighted, boolean checked) {
+		return (enabled ? FLAG_ENABLED : 0) | (highlighted ? FLAG_HIGHLIGHTED : 0) | (checked ? FLAG_CHECKED : 0);
+	}
+	// ==================================================
+	protected final @Override void enableScissors(int x, int y, int width, int height) {
+		this.scissorDepth++;
+		record(CMD_PUSH_SCISSORS, x, y, width, height, 0, 0, null);
+	}
+
+	protected final @Override void disableScissors() throws IllegalStateException {
+		if(this.scissorDepth == 0) throw new IllegalStateException("Scissor stack underflow.");
+		this.scissorDepth--;
+		record(CMD_POP_SCISSORS, 0, 0, 0, 0, 0, 0, null);
+	}
+
+	protected final @Override void requestCursor(@NotNull CursorType cursor) { this.cursor = Objects.requireNonNull(cursor); }
+	protected final @Override boolean isTextureRepeating(@NotNull Identifier id) { return this.repeatingTextures.contains(id); }
+	// --------------------------------------------------
+	public final @Override void fillColor(int x, int y, int width, int height, int color) {
+		flushTextRunsOverlapping(x, y, width, height);
+		record(CMD_FILL_COLOR, x, y, width, height, color, 0, null);
+	}
+
+	public final @Override void drawTexture(
+			@NotNull RenderPipeline renderPipeline, @NotNull Identifier id,
+			int x, int y, int width, int height,
+			float uvX, float uvY, int uvWidth, int uvHeight,
+			int textureWidth, int textureHeight, int color)
+	{
+		flushTextRunsOverlapping(x, y, width, height);
+		record(CMD_TEXTURE, x, y, width, height, color, 0, id);
+	}
+
+	public final @Override void drawGuiSprite(
+			@NotNull RenderPipeline renderPipeline, @NotNull Identifier id,
+			int x, int y, int width, int height, int color)
+	{
+		flushTextRunsOverlapping(x, y, width, height);
+		record(CMD_GUI_SPRITE, x, y, width, height, color, 0, id);
+	}
+
+	public final @Override void drawText(
+			@NotNull Font font, @NotNull FormattedCharSequence text,
+			int x, int y, int color, boolean dropShadow)
+	{
+		record(CMD_TEXT, x, y, 0, 0, color, dropShadow ? FLAG_SHADOW : 0, text);
+	}
+	// --------------------------------------------------
+	public final @Override void drawButton(int x, int y, int width, int height, int color, boolean enabled, boolean highlighted) {
+		flushTextRunsOverlapping(x, y, width, height);
+		record(CMD_BUTTON, x, y, width, height, color, flags(enabled, highlighted, false), null);
+	}
+
+	public final @Override void drawCheckbox(int x, int y, int width, int height, int color, boolean enabled, boolean highlighted, boolean checked) {
+		flushTextRunsOverlapping(x, y, width, height);
+		record(CMD_CHECKBOX, x, y, width, height, color, flags(enabled, highlighted, checked), null);
+	}
+
+	public final @Override void drawToggleButton(int x, int y, int width, int height, int color, boolean enabled, boolean highlighted, boolean toggled) {
+		flushTextRunsOverlapping(x, y, width, height);
+		record(CMD_TOGGLE_BUTTON, x, y, width, height, color, flags(enabled, highlighted, toggled), null);
+	}
+	// ==================================================
+}
@@ -0,0 +1,216 @@
+package com.thecsdev.commonmc.api.client.gui.render;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.gui.Font;
+import net.minecraft.util.FormattedCharSequence;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.joml.Matrix3x2f;
+import org.joml.Matrix3x2fc;
+
+import java.util.Arrays;
+
+/**
+ * Queues up runs of text submitted via {@link TGuiGraphics#drawTextRun}, and later
+ * draws them grouped by {@link Font} and clip rectangle. Runs that fit within their
+ * clip rectangle are drawn without any scissors at all.
+ * <p>
+ * Keeps track of the screen area each queued run covers, so the queue can be flushed
+ * before anything else gets drawn over queued text, preserving the painter's order.
+ * <p>
+ * All queued runs share the matrix they were queued under, which is captured when the
+ * first run is queued. Queuing a run under a different matrix flushes the queue first,
+ * and flushing always draws with the captured matrix, so transformations made between
+ * queuing and flushing have no effect on queued text.
+ * <p>
+ * Buffers are preallocated and reused across flushes, and only ever grow.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+final class TTextRunBatch
+{
+	// ==================================================
+	/**
+	 * The maximum number of queued runs, after which the queue is flushed. Keeps
+	 * the cost of {@link #overlaps(int, int, int, int)} checks bounded.
+	 */
+	private static final int MAX_SIZE = 512;
+	private static final int STRIDE   = 11;
+	// ==================================================
+	private Font[]                  fonts   = new Font[64];
+	private FormattedCharSequence[] texts   = new FormattedCharSequence[64];
+	private float[]                 floats  = new float[64 * 3]; //translateX, translateY, scale
+	private int[]                   ints    = new int[64 * STRIDE]; //x, y, color, clip rect, visible area rect
+	private boolean[]               shadows = new boolean[64];
+	private boolean[]               clipped = new boolean[64];
+	private int                     size    = 0;
+	private int                     minX, minY, maxX, maxY; //union of the visible areas of all queued runs
+	private final Matrix3x2f        pose    = new Matrix3x2f(); //the matrix all queued runs were queued under
+	// ==================================================
+	/**
+	 * Returns {@code true} if there are no queued text runs.
+	 */
+	final boolean isEmpty() { return this.size == 0; }
+
+	/**
+	 * Returns {@code true} if any queued run's visible area overlaps a given rectangle that
+	 * is about to be drawn under a given matrix. Rectangles drawn under a matrix other than the
+	 * one the runs were queued under are in a different coordinate space, and always overlap.
+	 */
+	final boolean overlaps(@NotNull Matrix3x2fc pose, int x, int y, int width, int height)
+	{
+		//fast rejection, using the union of all visible areas
+		final int endX = x + width, endY = y + height;
+		if(this.size == 0) return false;
+		else if(!samePose(this.pose, pose)) return true;
+		else if(x >= this.maxX || y >= this.maxY || endX <= this.minX || endY <= this.minY)
+			return false;
+		//then check the queued runs one by one
+		for(int n = 7, end = this.size * STRIDE; n < end; n += STRIDE)
+			if(x < this.ints[n + 2] && y < this.ints[n + 3] && endX > this.ints[n] && endY > this.ints[n + 1])
+				return true;
+		return false;
+	}
+	// --------------------------------------------------
+	/**
+	 * Queues a run of text. See {@link TGuiGraphics#drawTextRun} for the arguments.
+	 */
+	final void add(
+			@NotNull TGuiGraphics pencil,
+			@NotNull Font font, @NotNull FormattedCharSequence text, int textWidth,
+			float translateX, float translateY, float scale,
+			int x, int y, int color, boolean dropShadow,
+			int clipX, int clipY, int clipWidth, int clipHeight)
+	{
+		//flush when the matrix changed or the queue is too long, and grow the buffers when full
+		final var matrices = pencil.getNativeMatrices();
+		if(this.size != 0 && !samePose(this.pose, matrices)) flush(pencil);
+		if(this.size == 0) this.pose.set(matrices);
+		else if(this.size == MAX_SIZE) flush(pencil);
+		else if(this.size == this.fonts.length) {
+			final int capacity = this.size * 2;
+			this.fonts   = Arrays.copyOf(this.fonts, capacity);
+			this.texts   = Arrays.copyOf(this.texts, capacity);
+			this.floats  = Arrays.copyOf(this.floats, capacity * 3);
+			this.ints    = Arrays.copyOf(this.ints, capacity * STRIDE);
+			this.shadows = Arrays.copyOf(this.shadows, capacity);
+			this.clipped = Arrays.copyOf(this.clipped, capacity);
+		}
+
+		//determine whether the text's on-screen rectangle fits in the clip rectangle
+		final float startX = (translateX + x) * scale, startY = (translateY + y) * scale;
+		final float endX   = startX + (textWidth * scale), endY = startY + (font.lineHeight * scale);
+		final boolean fits = startX >= clipX && startY >= clipY &&
+				endX <= clipX + clipWidth && endY <= clipY + clipHeight;
+
+		//the visible area is where the text and the clip rectangle intersect
+		final int visX    = Math.max(clipX, (int) Math.floor(startX)), visY = Math.max(clipY, (int) Math.floor(startY));
+		final int visEndX = Math.min(clipX + clipWidth, (int) Math.ceil(endX)), visEndY = Math.min(clipY + clipHeight, (int) Math.ceil(endY));
+		if(this.size == 0) {
+			this.minX = visX; this.minY = visY; this.maxX = visEndX; this.maxY = visEndY;
+		} else {
+			this.minX = Math.min(this.minX, visX); this.minY = Math.min(this.minY, visY);
+			this.maxX = Math.max(this.maxX, visEndX); this.maxY = Math.max(this.maxY, visEndY);
+		}
+
+		//write the run
+		final int i = this.size++, f = i * 3, n = i * STRIDE;
+		this.fonts[i]   = font;
+		this.texts[i]   = text;
+		this.shadows[i] = dropShadow;
+		this.clipped[i] = !fits;
+		this.floats[f]     = translateX;
+		this.floats[f + 1] = translateY;
+		this.floats[f + 2] = scale;
+		this.ints[n]     = x;
+		this.ints[n + 1] = y;
+		this.ints[n + 2] = color;
+		this.ints[n + 3] = clipX;
+		this.ints[n + 4] = clipY;
+		this.ints[n + 5] = clipX + clipWidth;
+		this.ints[n + 6] = clipY + clipHeight;
+		this.ints[n + 7]  = visX;
+		this.ints[n + 8]  = visY;
+		this.ints[n + 9]  = visEndX;
+		this.ints[n + 10] = visEndY;
+	}
+	// --------------------------------------------------
+	/**
+	 * Draws all queued text runs onto a {@link TGuiGraphics}, and then clears the queue.
+	 * @param pencil The {@link TGuiGraphics} to draw onto.
+	 */
+	final void flush(@NotNull TGuiGraphics pencil)
+	{
+		//cleared right away, so drawing the runs does not end up checking against them
+		final int size = this.size;
+		this.size = 0;
+
+		//draw with the matrix the runs were queued under, whatever the current one is
+		final var matrices = pencil.getNativeMatrices();
+		matrices.pushMatrix();
+		matrices.set(this.pose);
+
+		//first draw the runs that fit their clip rectangles, grouped by font, without scissors.
+		//drawn runs have their text cleared, which marks them as done for the passes below
+		for(int i = 0; i < size; i++)
+		{
+			if(this.clipped[i] || this.texts[i] == null) continue;
+			final var font = this.fonts[i];
+			for(int j = i; j < size; j++)
+				if(!this.clipped[j] && this.texts[j] != null && this.fonts[j] == font) {
+					draw(pencil, j);
+					this.texts[j] = null;
+				}
+		}
+
+		//then draw the runs that overflow, with one scissor per distinct clip rectangle
+		for(int i = 0; i < size; i++)
+		{
+			if(this.texts[i] == null) continue;
+			final int n = i * STRIDE;
+			pencil.enableScissors(this.ints[n + 3], this.ints[n + 4], this.ints[n + 5] - this.ints[n + 3], this.ints[n + 6] - this.ints[n + 4]);
+			for(int j = i; j < size; j++)
+				if(this.texts[j] != null && sameClip(n, j * STRIDE)) {
+					draw(pencil, j);
+					this.texts[j] = null;
+				}
+			pencil.disableScissors();
+		}
+
+		//restore the matrix, and release references
+		matrices.popMatrix();
+		Arrays.fill(this.fonts, 0, size, null);
+	}
+	// ==================================================
+	private static final boolean samePose(@NotNull Matrix3x2fc a, @NotNull Matrix3x2fc b) {
+		return a.m00() == b.m00() && a.m01() == b.m01() && a.m10() == b.m10() &&
+				a.m11() == b.m11() && a.m20() == b.m20() && a.m21() == b.m21();
+	}
+
+	private final boolean sameClip(int n, int m) {
+		final var ints = this.ints;
+		return ints[n + 3] == ints[m + 3] && ints[n + 4] == ints[m + 4] &&
+				ints[n + 5] == ints[m + 5] && ints[n + 6] == ints[m + 6];
+	}
+
+	private final void draw(@NotNull TGuiGraphics pencil, int i)
+	{
+		final int   f  = i * 3, n = i * STRIDE;
+		final float tx = this.floats[f], ty = this.floats[f + 1], scale = this.floats[f + 2];
+
+		//optimization - unscaled text at whole-pixel positions needs no matrix transformations
+		if(scale == 1f && tx == (int) tx && ty == (int) ty) {
+			pencil.drawText(this.fonts[i], this.texts[i], this.ints[n] + (int) tx, this.ints[n + 1] + (int) ty, this.ints[n + 2], this.shadows[i]);
+			return;
+		}
+
+		final var matrices = pencil.getNativeMatrices();
+		matrices.pushMatrix();
+		matrices.scale(scale, scale);
+		matrices.translate(tx, ty);
+		pencil.drawText(this.fonts[i], this.texts[i], this.ints[n], this.ints[n + 1], this.ints[n + 2], this.shadows[i]);
+		matrices.popMatrix();
+	}
+	// ==================================================
+}
@@ -0,0 +1,109 @@
+package com.thecsdev.commonmc.api.client.gui.screen;
+
+import com.thecsdev.commonmc.api.client.gui.TElement;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+
+/**
+ * Keeps track of the order in which a {@link TScreen}'s {@link TElement}s are focused
+ * during keyboard navigation, such as when pressing the TAB key.
+ * <p>
+ * The {@link TElement}s whose {@link TElement#focusableProperty()} is {@code true} are kept
+ * in the order they appear in the element tree, as they join and leave it. Finding the next
+ * or previous focusable element then only has to look up the current element's place in that
+ * order, and step over to its neighbor.
+ * <p>
+ * {@link TElement#isFocusable()} and {@link TElement#isVisible()} are not indexed, and are
+ * instead checked on each lookup, as they may depend on any state.
+ *
+ * @apiNote Produces the same results as walking the element tree using
+ * {@link TElement#forEachVisible(java.util.function.Consumer, boolean)}.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+final class TFocusOrder
+{
+	// ==================================================
+	private final TScreen         screen;
+	private final TTreeOrderedSet elements = new TTreeOrderedSet();
+	// ==================================================
+	TFocusOrder(@NotNull TScreen screen) { this.screen = screen; }
+	// ==================================================
+	/**
+	 * Starts tracking a {@link TElement} that joined the element tree, or whose
+	 * {@link TElement#focusableProperty()} changed, if it is focusable.
+	 */
+	final void add(@NotNull TElement element) {
+		if(element.focusableProperty().getZ()) this.elements.add(element);
+		else this.elements.remove(element);
+	}
+
+	/**
+	 * Stops tracking a {@link TElement} that is about to leave the element tree.
+	 */
+	final void remove(@NotNull TElement element) { this.elements.remove(element); }
+	// --------------------------------------------------
+	/**
+	 * Finds the focusable {@link TElement} that comes after a given target {@link TElement}.
+	 * @param target The target {@link TElement}.
+	 * @param overflow Whether to wrap around to the first focusable {@link TElement}.
+	 */
+	final @Nullable TElement next(@NotNull TElement target, boolean overflow)
+	{
+		//step forward from the target's place, skipping elements that currently refuse focus.
+		//targets that are not laid out come before everything
+		final var     elements = this.elements.elements();
+		final boolean laidOut  = isLaidOut(target);
+		final var     found    = find((laidOut ? elements.tailSet(target, false) : elements).iterator(), null);
+		if(found != null || !overflow) return found;
+
+		//wrap around, where the target itself is also a candidate if it is laid out
+		final @Nullable var wrapped = find(elements.iterator(), laidOut ? target : null);
+		return (wrapped != null || !laidOut) ? wrapped : target;
+	}
+
+	/**
+	 * Finds the focusable {@link TElement} that comes before a given target {@link TElement}.
+	 * @param target The target {@link TElement}.
+	 * @param underflow Whether to wrap around to the last focusable {@link TElement}.
+	 */
+	final @Nullable TElement previous(@NotNull TElement target, boolean underflow)
+	{
+		//step backward from the target's place, skipping elements that currently refuse focus.
+		//targets that are not laid out come before everything
+		final var     elements = this.elements.elements();
+		final boolean laidOut  = isLaidOut(target);
+		final var     found    = laidOut ? find(elements.headSet(target, false).descendingIterator(), null) : null;
+		if(found != null || !underflow) return found;
+
+		//wrap around, where the target itself is also a candidate if it is laid out
+		final @Nullable var wrapped = find(elements.descendingIterator(), laidOut ? target : null);
+		return (wrapped != null || !laidOut) ? wrapped : target;
+	}
+	// ==================================================
+	/**
+	 * Returns the first {@link TElement} that can currently be focused, or that is the given target.
+	 */
+	private static final @Nullable TElement find(@NotNull Iterator<TElement> elements, @Nullable TElement target)
+	{
+		while(elements.hasNext()) {
+			final var element = elements.next();
+			if(element == target || (element.isFocusable() && element.isVisible())) return element;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns {@code true} if a given {@link TElement} is part of this {@link TScreen}'s
+	 * visible element tree, and therefore has a place in the focus order.
+	 */
+	private final boolean isLaidOut(@NotNull TElement target) {
+		return target != this.screen && target.screenProperty().get() == this.screen && target.isVisible();
+	}
+	// ==================================================
+}
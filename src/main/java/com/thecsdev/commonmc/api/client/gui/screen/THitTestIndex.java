@@ -0,0 +1,314 @@
+package com.thecsdev.commonmc.api.client.gui.screen;
+
+import com.thecsdev.commonmc.api.client.gui.TElement;
+import com.thecsdev.commonmc.api.client.gui.panel.TPanelElement;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * A spatial index over a {@link TScreen}'s {@link TElement}s, used to speed up
+ * finding the {@link TElement} at a given screen-space position.
+ * <p>
+ * The element tree is flattened in rendering order, with each element's area clipped
+ * to its ancestors that {@link TElement#clipsDescendantsProperty()}. The flattened
+ * areas are then bucketed into a uniform grid over the screen. Finding an element
+ * at a position only has to check the elements in that position's grid cell.
+ * <p>
+ * {@link TPanelElement}s that clip their descendants get a grid of their own, over their
+ * descendants' areas as they are before the {@link TElement#getContentOffset()} is applied.
+ * Lookups that land on such a panel continue in its grid, at the position translated by the
+ * panel's current content offset. Scrolling a panel therefore does not outdate the index.
+ * <p>
+ * The index is rebuilt lazily after it is invalidated by changes to the element tree.
+ * {@link TElement#isHoverable()} is not indexed, and is instead checked on each lookup,
+ * as it may be overridden to depend on any state.
+ * <p>
+ * The elements found at the last looked up position are cached, until the index is
+ * invalidated. Lookups at the same position, such as the ones made while the cursor is
+ * stationary, then only re-check those elements' {@link TElement#isHoverable()}.
+ *
+ * @apiNote Produces the same results as {@link TElement#findElementAt(int, int)}.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+final class THitTestIndex
+{
+	// ==================================================
+	private static final int CELL_SIZE      = 32;
+	private static final int MAX_CELLS_AXIS = 256; //larger areas get larger cells
+	// ==================================================
+	private final TScreen screen;
+	private boolean       dirty = true;
+	private final Layer   layer = new Layer(); //the screen's own layer
+	// --------------------------------------------------
+	//the entries whose areas contain the last looked up position, top-most first.
+	//valid only while the index is not dirty, and only for positions within the grid
+	private int   lastX = -1, lastY = -1;
+	private int[] lastCandidates = new int[16];
+	private int   lastCandidateCount = 0;
+	// ==================================================
+	THitTestIndex(@NotNull TScreen screen) { this.screen = screen; }
+	// ==================================================
+	/**
+	 * Marks this index as outdated, so it gets rebuilt the next time it is used.
+	 */
+	final void invalidate() { this.dirty = true; }
+
+	/**
+	 * Finds the {@link TElement} at a given screen-space position.
+	 * @param x Screen-space X position.
+	 * @param y Screen-space Y position.
+	 * @see TElement#findElementAt(int, int)
+	 */
+	final @Nullable TElement findElementAt(int x, int y)
+	{
+		if(this.dirty) rebuild();
+
+		//positions outside the screen are rare, and are not indexed
+		final var layer = this.layer;
+		if(x < 0 || y < 0 || x > layer.gridW || y > layer.gridH)
+			return this.screen.findElementAt(x, y);
+
+		//the cursor often stays in place, in which case only the hoverable check is redone,
+		//as it may depend on any state, and therefore cannot be cached
+		if(x != this.lastX || y != this.lastY) collectCandidates(x, y);
+		for(int i = 0; i < this.lastCandidateCount; i++) {
+			final @Nullable var element = layer.resolve(this.lastCandidates[i], x, y);
+			if(element != null) return element;
+		}
+		return null;
+	}
+	// ==================================================
+	/**
+	 * Collects the entries of the screen's layer whose areas contain a given position
+	 * within the grid, top-most first.
+	 */
+	private final void collectCandidates(int x, int y)
+	{
+		this.lastX = x;
+		this.lastY = y;
+		this.lastCandidateCount = 0;
+
+		//entries are in rendering order, so the last match is the top-most element
+		final var layer = this.layer;
+		final int cell  = layer.cellAt(x, y);
+		for(int i = layer.cellStart[cell + 1] - 1; i >= layer.cellStart[cell]; i--)
+		{
+			final int e = layer.cellEntries[i];
+			if(!layer.contains(e, x, y)) continue;
+			if(this.lastCandidateCount == this.lastCandidates.length)
+				this.lastCandidates = Arrays.copyOf(this.lastCandidates, this.lastCandidateCount * 2);
+			this.lastCandidates[this.lastCandidateCount++] = e;
+		}
+	}
+
+	private final void rebuild()
+	{
+		this.dirty = false;
+		this.lastX = this.lastY = -1; //forget the last position's candidates
+
+		//flatten the element tree. the screen itself is never a candidate
+		this.layer.clear();
+		flatten(this.layer, this.screen, 0, 0, Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+		//the screen's grid spans the screen
+		final var sbb = this.screen.getBounds();
+		this.layer.buildGrid(0, 0, Math.max(sbb.width, 0), Math.max(sbb.height, 0));
+	}
+
+	/**
+	 * Flattens a parent's descendants into a {@link Layer}.
+	 * @param offsetX The translation from the parent's children's space to the layer's space.
+	 * @param offsetY The translation from the parent's children's space to the layer's space.
+	 */
+	private static final void flatten(
+			@NotNull Layer layer, @NotNull TElement parent, int offsetX, int offsetY,
+			int clipX, int clipY, int clipEndX, int clipEndY)
+	{
+		for(final var child : parent)
+		{
+			//invisible elements cut off their entire branch
+			if(!child.visibleProperty().getZ()) continue;
+
+			//the child's area, clipped by its clipping ancestors
+			final var bb   = child.getBounds();
+			final int x    = Math.max(clipX, bb.x + offsetX),       y    = Math.max(clipY, bb.y + offsetY);
+			final int endX = Math.min(clipEndX, bb.endX + offsetX), endY = Math.min(clipEndY, bb.endY + offsetY);
+			final boolean hasArea = (x <= endX && y <= endY);
+			final boolean clips   = child.clipsDescendantsProperty().getZ();
+
+			//panels that clip their descendants get a layer of their own, which their scrolling does not affect
+			if(clips && child instanceof TPanelElement) {
+				if(!hasArea) continue;
+				final var content = new Layer();
+				content.baseX = offsetX;
+				content.baseY = offsetY;
+				flatten(content, child, 0, 0, Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+				content.buildGrid();
+				layer.add(child, x, y, endX, endY, content);
+				continue;
+			}
+			if(hasArea) layer.add(child, x, y, endX, endY, null);
+
+			//descendants are clipped by this child only if it clips them
+			final var off = child.getContentOffset();
+			if(!clips)
+				flatten(layer, child, offsetX + off.x, offsetY + off.y, clipX, clipY, clipEndX, clipEndY);
+			else if(hasArea)
+				flatten(layer, child, offsetX + off.x, offsetY + off.y, x, y, endX, endY);
+		}
+	}
+	// ================================================== ==================================================
+	//                                              Layer IMPLEMENTATION
+	// ================================================== ==================================================
+	/**
+	 * Flattened elements in rendering order, along with their clipped areas, bucketed into a grid.
+	 */
+	private static final class Layer
+	{
+		// ==================================================
+		//the translation from the owning panel's space to the space of the layer it is in
+		private int baseX, baseY;
+		// --------------------------------------------------
+		//flattened elements in rendering order, along with their clipped areas (inclusive),
+		//and the layers of the panels that have one
+		private TElement[]        elements = new TElement[16];
+		private int[]             areas    = new int[16 * 4]; //x, y, endX, endY
+		private @Nullable Layer[] layers   = null;
+		private int               size     = 0;
+		// --------------------------------------------------
+		//the grid, in compressed form. cell 'c' owns entries 'cellStart[c]' to 'cellStart[c + 1]'
+		private int   gridX, gridY, gridW, gridH, cellSize = CELL_SIZE, cellsX;
+		private int[] cellStart   = new int[2];
+		private int[] cellEntries = new int[0];
+		// ==================================================
+		final void clear() {
+			Arrays.fill(this.elements, 0, this.size, null);
+			if(this.layers != null) Arrays.fill(this.layers, 0, this.size, null);
+			this.size = 0;
+		}
+
+		final void add(@NotNull TElement element, int x, int y, int endX, int endY, @Nullable Layer layer)
+		{
+			if(this.size == this.elements.length) {
+				this.elements = Arrays.copyOf(this.elements, this.size * 2);
+				this.areas    = Arrays.copyOf(this.areas, this.size * 8);
+				if(this.layers != null) this.layers = Arrays.copyOf(this.layers, this.size * 2);
+			}
+			if(layer != null && this.layers == null) this.layers = new Layer[this.elements.length];
+			final int a = this.size * 4;
+			this.areas[a]     = x;
+			this.areas[a + 1] = y;
+			this.areas[a + 2] = endX;
+			this.areas[a + 3] = endY;
+			if(this.layers != null) this.layers[this.size] = layer;
+			this.elements[this.size++] = element;
+		}
+		// --------------------------------------------------
+		final boolean contains(int e, int x, int y) {
+			final int a = e * 4;
+			return x >= this.areas[a] && y >= this.areas[a + 1] && x <= this.areas[a + 2] && y <= this.areas[a + 3];
+		}
+
+		final int cellAt(int x, int y) {
+			return ((y - this.gridY) / this.cellSize) * this.cellsX + ((x - this.gridX) / this.cellSize);
+		}
+
+		/**
+		 * Returns the {@link TElement} an entry resolves to at a given position within its area.
+		 * That is the element found in the entry's own layer if it has one, or otherwise the
+		 * entry's element, if it is hoverable.
+		 */
+		final @Nullable TElement resolve(int e, int x, int y)
+		{
+			final var element = this.elements[e];
+			final @Nullable var layer = (this.layers != null) ? this.layers[e] : null;
+			if(layer != null) {
+				final var off = element.getContentOffset();
+				final @Nullable var found = layer.find(x - layer.baseX - off.x, y - layer.baseY - off.y);
+				if(found != null) return found;
+			}
+			return element.isHoverable() ? element : null;
+		}
+
+		/**
+		 * Finds the top-most {@link TElement} at a given position in this layer's space.
+		 */
+		final @Nullable TElement find(int x, int y)
+		{
+			if(x < this.gridX || y < this.gridY || x > this.gridX + this.gridW || y > this.gridY + this.gridH)
+				return null;
+			final int cell = cellAt(x, y);
+			for(int i = this.cellStart[cell + 1] - 1; i >= this.cellStart[cell]; i--) {
+				final int e = this.cellEntries[i];
+				if(!contains(e, x, y)) continue;
+				final @Nullable var found = resolve(e, x, y);
+				if(found != null) return found;
+			}
+			return null;
+		}
+		// --------------------------------------------------
+		/**
+		 * Builds the grid over the area all entries take up.
+		 */
+		final void buildGrid()
+		{
+			if(this.size == 0) { buildGrid(0, 0, 0, 0); return; }
+			int x = Integer.MAX_VALUE, y = Integer.MAX_VALUE, endX = Integer.MIN_VALUE, endY = Integer.MIN_VALUE;
+			for(int a = 0; a < this.size * 4; a += 4) {
+				x    = Math.min(x, this.areas[a]);         y    = Math.min(y, this.areas[a + 1]);
+				endX = Math.max(endX, this.areas[a + 2]);  endY = Math.max(endY, this.areas[a + 3]);
+			}
+			buildGrid(x, y, endX - x, endY - y);
+		}
+
+		/**
+		 * Builds the grid over a given area. Entries outside of it are left out.
+		 */
+		final void buildGrid(int gridX, int gridY, int gridW, int gridH)
+		{
+			//prepare the grid
+			this.gridX    = gridX;
+			this.gridY    = gridY;
+			this.gridW    = gridW;
+			this.gridH    = gridH;
+			this.cellSize = Math.max(CELL_SIZE, (Math.max(gridW, gridH) / MAX_CELLS_AXIS) + 1);
+			this.cellsX   = (gridW / this.cellSize) + 1;
+			final int cellCount = this.cellsX * ((gridH / this.cellSize) + 1);
+			if(this.cellStart.length < cellCount + 1) this.cellStart = new int[cellCount + 1];
+			else Arrays.fill(this.cellStart, 0, cellCount + 1, 0);
+
+			//first pass counts entries per cell, second pass fills them in
+			for(int pass = 0; pass < 2; pass++)
+			{
+				if(pass == 1) {
+					//turn the counts into starting offsets
+					int total = 0;
+					for(int c = 0; c <= cellCount; c++) { final int n = this.cellStart[c]; this.cellStart[c] = total; total += n; }
+					if(this.cellEntries.length < total) this.cellEntries = new int[total];
+				}
+				for(int e = 0; e < this.size; e++)
+				{
+					final int a  = e * 4;
+					final int x1 = Math.max(this.areas[a], gridX) - gridX,     y1 = Math.max(this.areas[a + 1], gridY) - gridY;
+					final int x2 = Math.min(this.areas[a + 2], gridX + gridW) - gridX, y2 = Math.min(this.areas[a + 3], gridY + gridH) - gridY;
+					if(x1 > x2 || y1 > y2) continue; //outside the grid
+					for(int cy = y1 / this.cellSize; cy <= y2 / this.cellSize; cy++)
+						for(int cx = x1 / this.cellSize; cx <= x2 / this.cellSize; cx++) {
+							final int cell = cy * this.cellsX + cx;
+							//counting goes into the next cell's slot, so the offsets come out shifted by one
+							if(pass == 0) this.cellStart[cell + 1]++;
+							else this.cellEntries[this.cellStart[cell + 1]++] = e;
+						}
+				}
+			}
+		}
+		// ==================================================
+	}
+	// ================================================== ==================================================
+}
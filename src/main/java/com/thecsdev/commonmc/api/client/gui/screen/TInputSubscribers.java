@@ -0,0 +1,67 @@
+package com.thecsdev.commonmc.api.client.gui.screen;
+
+import com.thecsdev.commonmc.api.client.gui.TElement;
+import com.thecsdev.commonmc.api.client.gui.util.TInputContext;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import static com.thecsdev.commonmc.api.client.gui.util.TInputContext.InputDiscoveryPhase.BROADCAST;
+import static com.thecsdev.commonmc.api.client.gui.util.TInputContext.InputDiscoveryPhase.PREEMPT;
+
+/**
+ * Keeps track of the {@link TElement}s of a {@link TScreen} that are subscribed to inputs
+ * during the {@link TInputContext.InputDiscoveryPhase#BROADCAST} and
+ * {@link TInputContext.InputDiscoveryPhase#PREEMPT} phases, in the order they appear
+ * in the element tree.
+ * <p>
+ * Those two phases go through every element, so dispatching to subscribers alone
+ * avoids walking the entire element tree on every single input.
+ * <p>
+ * The lists are kept up to date as elements join and leave the element tree.
+ *
+ * @see TElement#subscribesToInput(TInputContext.InputDiscoveryPhase, TInputContext.InputType)
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+final class TInputSubscribers
+{
+	// ==================================================
+	private final TTreeOrderedSet broadcast = new TTreeOrderedSet();
+	private final TTreeOrderedSet preempt   = new TTreeOrderedSet();
+	// ==================================================
+	/**
+	 * Starts tracking a {@link TElement} that joined the element tree, if it is subscribed to inputs.
+	 */
+	final void add(@NotNull TElement element) {
+		if(element.subscribesToInput(BROADCAST)) this.broadcast.add(element);
+		if(element.subscribesToInput(PREEMPT))   this.preempt.add(element);
+	}
+
+	/**
+	 * Stops tracking a {@link TElement} that is about to leave the element tree.
+	 */
+	final void remove(@NotNull TElement element) {
+		if(element.subscribesToInput(BROADCAST)) this.broadcast.remove(element);
+		if(element.subscribesToInput(PREEMPT))   this.preempt.remove(element);
+	}
+	// --------------------------------------------------
+	/**
+	 * Returns the {@link TElement}s that are subscribed to any inputs during a given
+	 * {@link TInputContext.InputDiscoveryPhase}, in the order they appear in the element tree.
+	 * @param phase Either {@link TInputContext.InputDiscoveryPhase#BROADCAST} or
+	 * {@link TInputContext.InputDiscoveryPhase#PREEMPT}.
+	 * @throws IllegalArgumentException If the phase is not tracked.
+	 * @see TTreeOrderedSet#toArray()
+	 */
+	final @NotNull TElement[] get(@NotNull TInputContext.InputDiscoveryPhase phase) throws IllegalArgumentException
+	{
+		return switch(phase) {
+			case BROADCAST -> this.broadcast.toArray();
+			case PREEMPT   -> this.preempt.toArray();
+			default        -> throw new IllegalArgumentException("Untracked input discovery phase " + phase);
+		};
+	}
+	// ==================================================
+}
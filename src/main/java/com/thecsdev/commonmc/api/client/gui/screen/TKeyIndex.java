@@ -0,0 +1,94 @@
+package com.thecsdev.commonmc.api.client.gui.screen;
+
+import com.thecsdev.commonmc.api.client.gui.TElement;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+
+/**
+ * An index of a {@link TScreen}'s {@link TElement}s by their {@link TElement#keyProperty()}.
+ * <p>
+ * Keys are only required to be unique among siblings, so the same key may be used by more
+ * than one {@link TElement} on the same {@link TScreen}. Lookups are therefore always scoped
+ * to the (grand/)children of a given {@link TElement}.
+ * <p>
+ * Keyed {@link TElement}s are kept in the order they appear in the element tree, as per
+ * {@link TElement#compareTreeOrder(TElement, TElement)}, in which the (grand/)children of
+ * any given {@link TElement} come right after it, one after another. A scoped lookup is
+ * therefore a matter of finding where the scope starts, and visiting elements until one
+ * of them is no longer in scope.
+ *
+ * @apiNote Elements must be removed before their place in the element tree changes, and
+ * added after, as the ordering depends on it.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+final class TKeyIndex
+{
+	// ==================================================
+	private final TreeSet<TElement>                  all   = new TreeSet<>(TElement::compareTreeOrder);
+	private final HashMap<Object, TreeSet<TElement>> byKey = new HashMap<>();
+	// ==================================================
+	/**
+	 * Adds a {@link TElement} under a given key.
+	 */
+	final void add(@NotNull Object key, @NotNull TElement element) {
+		this.all.add(element);
+		this.byKey.computeIfAbsent(key, _ -> new TreeSet<>(TElement::compareTreeOrder)).add(element);
+	}
+
+	/**
+	 * Removes a {@link TElement} from under a given key.
+	 */
+	final void remove(@NotNull Object key, @NotNull TElement element)
+	{
+		final @Nullable var elements = this.byKey.get(key);
+		if(elements == null || !elements.remove(element)) return;
+		if(elements.isEmpty()) this.byKey.remove(key);
+		//an element is in one bucket at most, as it only ever has one key
+		this.all.remove(element);
+	}
+
+	/**
+	 * Returns the {@link TElement} with a given key, that is a (grand/)child of a given
+	 * {@link TElement}, or {@code null} if there is no such {@link TElement}, or more than one.
+	 * @param key The key.
+	 * @param within The {@link TElement} whose (grand/)children are searched.
+	 */
+	final @Nullable TElement find(@NotNull Object key, @NotNull TElement within)
+	{
+		final @Nullable var elements = this.byKey.get(key);
+		if(elements == null) return null;
+
+		//keys used more than once are only resolved if just one of them is in scope
+		final @Nullable var found = elements.higher(within);
+		if(found == null || !isWithin(found, within)) return null;
+		final @Nullable var next = elements.higher(found);
+		return (next == null || !isWithin(next, within)) ? found : null;
+	}
+
+	/**
+	 * Calls a {@link BiConsumer} for each keyed {@link TElement} that is a (grand/)child
+	 * of a given {@link TElement}.
+	 */
+	final void forEachWithin(@NotNull TElement within, @NotNull BiConsumer<Object, TElement> action)
+	{
+		for(final var element : this.all.tailSet(within, false)) {
+			if(!isWithin(element, within)) break;
+			action.accept(element.keyProperty().get(), element);
+		}
+	}
+	// --------------------------------------------------
+	private static final boolean isWithin(@NotNull TElement element, @NotNull TElement within) {
+		for(@Nullable var parent = element.getParent(); parent != null; parent = parent.getParent())
+			if(parent == within) return true;
+		return false;
+	}
+	// ==================================================
+}
@@ -0,0 +1,71 @@
+package com.thecsdev.commonmc.api.client.gui.screen;
+
+import com.thecsdev.commonmc.api.client.gui.TElement;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+
+/**
+ * Keeps track of a {@link TScreen}'s overlays, such as context menus and dropdowns, in
+ * the order they were opened.
+ * <p>
+ * Overlays are children of the {@link TScreen} that are kept after all other children,
+ * so they are rendered after, and hit-tested before, the rest of the element tree. Keeping
+ * track of them separately means opening one and closing the others never has to go
+ * through the rest of the element tree.
+ * <p>
+ * Overlays that were removed from the {@link TScreen} by other means are forgotten lazily.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+final class TOverlayLayer
+{
+	// ==================================================
+	private static final TElement[] EMPTY = new TElement[0];
+	// ==================================================
+	private final TScreen             screen;
+	private final ArrayList<TElement> overlays = new ArrayList<>(2);
+	// ==================================================
+	TOverlayLayer(@NotNull TScreen screen) { this.screen = screen; }
+	// ==================================================
+	/**
+	 * Adds an overlay on top of the others.
+	 */
+	final void push(@NotNull TElement overlay) {
+		prune();
+		this.overlays.remove(overlay);
+		this.overlays.add(overlay);
+	}
+
+	/**
+	 * Returns {@code true} if a {@link TElement} is one of the open overlays.
+	 */
+	final boolean contains(@NotNull TElement element) {
+		return element.getParent() == this.screen && this.overlays.contains(element);
+	}
+
+	/**
+	 * Returns the open overlays, from the bottom-most to the top-most one.
+	 */
+	final @NotNull TElement[] get() {
+		prune();
+		return this.overlays.toArray(EMPTY);
+	}
+
+	/**
+	 * Returns {@code true} if there is at least one open overlay.
+	 */
+	final boolean isEmpty() {
+		prune();
+		return this.overlays.isEmpty();
+	}
+	// --------------------------------------------------
+	/**
+	 * Forgets about overlays that are no longer children of the {@link TScreen}.
+	 */
+	private final void prune() { this.overlays.removeIf(el -> el.getParent() != this.screen); }
+	// ==================================================
+}
@@ -1,10 +1,13 @@
 package com.thecsdev.commonmc.api.client.gui.screen;
 
 import com.thecsdev.common.math.Bounds2i;
+import com.thecsdev.common.properties.BooleanProperty;
 import com.thecsdev.common.properties.NotNullProperty;
 import com.thecsdev.common.properties.ObjectProperty;
+import com.thecsdev.common.util.FrameBudgetScheduler;
 import com.thecsdev.common.util.annotations.Virtual;
 import com.thecsdev.commonmc.api.client.gui.TElement;
+import com.thecsdev.commonmc.api.client.gui.util.TAnimator;
 import com.thecsdev.commonmc.api.client.gui.util.TGuiUtils;
 import com.thecsdev.commonmc.api.client.gui.util.TInputContext;
 import com.thecsdev.commonmc.client.mixin.hooks.AccessorTElement;
@@ -20,6 +23,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
+import java.util.function.BiConsumer;
 
 import static com.thecsdev.commonmc.api.client.gui.screen.ILastScreenProvider.getLastScreen;
 
@@ -37,6 +41,19 @@ public abstract class TScreen extends TElement
 	@Internal final ObjectProperty<TElement>   hovered = new ObjectProperty<>(null);
 	@Internal final ObjectProperty<TElement>   focused = new ObjectProperty<>(null);
 	@Internal final ObjectProperty<TElement>   dragged = new ObjectProperty<>(null);
+	@Internal final BooleanProperty            coalesceMouseMotion = new BooleanProperty(false);
+	// --------------------------------------------------
+	@Internal final THitTestIndex              hitTestIndex     = new THitTestIndex(this);
+	@Internal final TInputSubscribers          inputSubscribers = new TInputSubscribers();
+	@Internal final TTickList                  tickList         = new TTickList(this);
+	@Internal final TFocusOrder                focusOrder       = new TFocusOrder(this);
+	@Internal final TKeyIndex                  keyIndex         = new TKeyIndex();
+	@Internal final TOverlayLayer              overlays         = new TOverlayLayer(this);
+	@Internal final FrameBudgetScheduler       scheduler        = new FrameBudgetScheduler();
+	@Internal final TAnimator                  animator         = new TAnimator();
+	@Internal final TTooltipCache              tooltipCache     = new TTooltipCache();
+	@Internal @Nullable Object                 retentionKey     = null;  //see TScreenCache
+	@Internal boolean                          retained         = false; //true while the element tree is kept by TScreenCache
 	// ==================================================
 	public TScreen(@NotNull Component title) {
 		this();
@@ -44,23 +61,27 @@ public abstract class TScreen extends TElement
 	}
 	public TScreen()
 	{
+		//the screen is the first element to tick and to receive broadcast inputs, but it is never focused
+		this.inputSubscribers.add(this);
+		this.tickList.add(this);
+
 		//filter out invalid elements from hover/focus/drag
 		this.hovered.addFilter(el -> (el != null && el.screenProperty().get() != this) ? null : el, TScreen.class);
 		this.focused.addFilter(el -> (el != null && el.screenProperty().get() != this) ? null : el, TScreen.class);
 		this.dragged.addFilter(el -> (el != null && el.screenProperty().get() != this) ? null : el, TScreen.class);
 
-		//invalidate tooltip caches for hovered/focused elements as they change
+		//start building tooltips for hovered/focused elements ahead of them being rendered
 		this.hovered.addChangeListener((p, o, n) -> {
 			if(o != null) ((AccessorTElement)(Object)o)._hoverLostCallback();
 			if(n != null) {
-				n.invalidateTooltipCache();
+				n.prefetchTooltip();
 				((AccessorTElement)(Object)n)._hoverGainedCallback();
 			}
 		});
 		this.focused.addChangeListener((p, o, n) -> {
 			if(o != null) ((AccessorTElement)(Object)o)._focusLostCallback();
 			if(n != null) {
-				n.invalidateTooltipCache();
+				n.prefetchTooltip();
 				((AccessorTElement)(Object)n)._focusGainedCallback();
 				TGuiUtils.scrollToElement(n); //scroll to element AFTER notifying it
 			}
@@ -76,10 +97,16 @@ public abstract class TScreen extends TElement
 				TScreen.class);
 		//handle stuff on resize
 		boundsProperty().addChangeListener((p, o, n) -> {
+			//tooltips size themselves relative to the screen
+			this.tooltipCache.clear();
+			//initialized screens with a layout are only re-arranged, which keeps their elements
+			if(layoutProperty().get() != null && !isEmpty() && !o.isEmpty) return;
 			//clear hovered and focused elements on resize, as they are no longer valid
 			this.hovered.set(null, TScreen.class); //clear and init is what makes it invalid
 			this.focused.set(null, TScreen.class); //clear and init is what makes it invalid
 			this.dragged.set(null, TScreen.class); //clear and init is what makes it invalid
+			//pending work was meant for the elements that are about to be discarded
+			this.scheduler.cancelAll();
 			//reinitialize this screen
 			clearAndInit();
 		});
@@ -96,6 +123,41 @@ public abstract class TScreen extends TElement
 	 */
 	public final @NotNull TScreenWrapper<?> getAsScreen() { return this.screen; }
 
+	/**
+	 * Returns the {@link FrameBudgetScheduler} that runs heavy work on the render thread
+	 * a slice at a time, before each frame of this {@link TScreen} is rendered.
+	 * <p>
+	 * Use this to populate big element trees incrementally, such as from {@link #initCallback()},
+	 * so this {@link TScreen} stays responsive in the meantime.
+	 * @apiNote Scheduled tasks are cancelled when this {@link TScreen} is resized and
+	 * re-initialized, and when it is closed.
+	 */
+	public final @NotNull FrameBudgetScheduler getScheduler() { return this.scheduler; }
+
+	/**
+	 * Returns the {@link TAnimator} that animates property values on this {@link TScreen},
+	 * advanced once before each frame of this {@link TScreen} is rendered.
+	 * <p>
+	 * Prefer this over animating from {@link TElement#tickCallback()}, as animations run
+	 * here are smooth at any frame rate, and cost nothing once they are done.
+	 * @apiNote Animations are cancelled when this {@link TScreen} is closed.
+	 */
+	public final @NotNull TAnimator getAnimator() { return this.animator; }
+
+	/**
+	 * Returns an estimate of how much memory this {@link TScreen} holds on to while it is
+	 * retained by {@link TScreenCache}, relative to other {@link TScreen}s.
+	 * <p>
+	 * Defaults to the number of {@link TElement}s in the element tree. Override this if this
+	 * {@link TScreen} holds on to large data models, such as file listings or entity instances.
+	 * @see TScreenCache#MAX_WEIGHT
+	 */
+	public @Virtual int getRetentionWeight() {
+		final int[] count = { 0 };
+		forEach(__ -> count[0]++, true);
+		return count[0];
+	}
+
 	/**
 	 * Returns the {@link Minecraft} client instance that last opened
 	 * this {@link TScreen}, if any.
@@ -121,6 +183,252 @@ public abstract class TScreen extends TElement
 	 * grandchild of this {@link TScreen}.
 	 */
 	public final ObjectProperty<TElement> focusedElementProperty() { return this.focused; }
+
+	/**
+	 * Returns the {@link BooleanProperty} that controls whether mouse motion inputs are coalesced.
+	 * When {@code true}, consecutive {@link TInputContext.InputType#MOUSE_MOVE} inputs are merged
+	 * into the latest one, and consecutive {@link TInputContext.InputType#MOUSE_DRAG} inputs have
+	 * their deltas summed. The merged inputs are then dispatched once per frame, before rendering.
+	 * <p>
+	 * Useful for mice with high polling rates, which may deliver many motion inputs per frame.
+	 * @apiNote Any other input first dispatches pending motion inputs, so the ordering of
+	 * presses, releases, and key inputs relative to mouse motion is preserved.
+	 */
+	public final BooleanProperty coalesceMouseMotionProperty() { return this.coalesceMouseMotion; }
+	// --------------------------------------------------
+	/**
+	 * Marks the spatial index used for finding the {@link TElement} under the mouse
+	 * cursor as outdated, so it gets rebuilt before it is used next.
+	 * @apiNote Called automatically by {@link TElement}s whenever their bounds, visibility,
+	 * hoverability, clipping, or place in the element tree change.
+	 */
+	@Internal
+	public final void invalidateHitTestIndex() { this.hitTestIndex.invalidate(); }
+
+	/**
+	 * Adds a {@link TElement} to the indexes this {@link TScreen} keeps in element tree order,
+	 * such as its input subscribers, ticking elements, focus order, and keyed elements.
+	 * @param element The {@link TElement}, which just took its place in this {@link TScreen}'s element tree.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 * @apiNote Called automatically by {@link TElement}s for each element of a subtree that joins,
+	 * or moves within, this {@link TScreen}.
+	 * @see TElement#compareTreeOrder(TElement, TElement)
+	 */
+	@Internal
+	public final void trackElement(@NotNull TElement element) throws NullPointerException
+	{
+		Objects.requireNonNull(element);
+		this.inputSubscribers.add(element);
+		this.tickList.add(element);
+		this.focusOrder.add(element);
+		final @Nullable var key = element.keyProperty().get();
+		if(key != null) this.keyIndex.add(key, element);
+	}
+
+	/**
+	 * Removes a {@link TElement} from the indexes this {@link TScreen} keeps in element tree order.
+	 * @param element The {@link TElement}, which is about to leave its place in this {@link TScreen}'s element tree.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 * @apiNote Called automatically by {@link TElement}s for each element of a subtree that leaves,
+	 * or moves within, this {@link TScreen}.
+	 */
+	@Internal
+	public final void untrackElement(@NotNull TElement element) throws NullPointerException
+	{
+		Objects.requireNonNull(element);
+		this.inputSubscribers.remove(element);
+		this.tickList.remove(element);
+		this.focusOrder.remove(element);
+		final @Nullable var key = element.keyProperty().get();
+		if(key != null) this.keyIndex.remove(key, element);
+	}
+
+	/**
+	 * Updates a {@link TElement}'s place in the order in which elements are focused during
+	 * keyboard navigation.
+	 * @param element The {@link TElement}, whose {@link TElement#focusableProperty()} changed.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 * @apiNote Called automatically by {@link TElement}s whenever their focusability changes.
+	 * @see #nextFocusableElement(TElement, boolean)
+	 */
+	@Internal
+	public final void trackFocusability(@NotNull TElement element) throws NullPointerException {
+		this.focusOrder.add(Objects.requireNonNull(element));
+	}
+
+	/**
+	 * Adds a {@link TElement} to this {@link TScreen}'s index of elements by their keys.
+	 * @param key The {@link TElement}'s {@link TElement#keyProperty()} value.
+	 * @param element The {@link TElement}.
+	 * @throws NullPointerException If an argument is {@code null}.
+	 * @apiNote Called automatically by {@link TElement}s whenever their key changes.
+	 * @see #trackElement(TElement)
+	 */
+	@Internal
+	public final void indexKey(@NotNull Object key, @NotNull TElement element) throws NullPointerException {
+		this.keyIndex.add(Objects.requireNonNull(key), Objects.requireNonNull(element));
+	}
+
+	/**
+	 * Removes a {@link TElement} from this {@link TScreen}'s index of elements by their keys.
+	 * @param key The {@link TElement}'s past {@link TElement#keyProperty()} value.
+	 * @param element The {@link TElement}.
+	 * @throws NullPointerException If an argument is {@code null}.
+	 * @apiNote Called automatically by {@link TElement}s whenever their key changes.
+	 * @see #untrackElement(TElement)
+	 */
+	@Internal
+	public final void unindexKey(@NotNull Object key, @NotNull TElement element) throws NullPointerException {
+		this.keyIndex.remove(Objects.requireNonNull(key), Objects.requireNonNull(element));
+	}
+
+	/**
+	 * Calls a {@link BiConsumer} for each {@link TElement} with a {@link TElement#keyProperty()}
+	 * value, that is a (grand/)child of a given {@link TElement}.
+	 * @param within The {@link TElement} whose (grand/)children are to be visited.
+	 * @param action The action to perform, that takes a key, and the {@link TElement} with that key.
+	 * @throws NullPointerException If an argument is {@code null}.
+	 */
+	@Internal
+	public final void forEachKeyedElement(@NotNull TElement within, @NotNull BiConsumer<Object, TElement> action)
+			throws NullPointerException {
+		this.keyIndex.forEachWithin(Objects.requireNonNull(within), Objects.requireNonNull(action));
+	}
+	// --------------------------------------------------
+	/**
+	 * Finds the (grand/)child {@link TElement} of this {@link TScreen} with a given
+	 * {@link TElement#keyProperty()} value.
+	 * @param key The key to look for.
+	 * @return The {@link TElement}, or {@code null} if there is none, or if more than one
+	 * {@link TElement} uses the key.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 * @see #findElementByKey(Object, TElement)
+	 */
+	public final @Nullable TElement findElementByKey(@NotNull Object key) throws NullPointerException {
+		return this.keyIndex.find(Objects.requireNonNull(key), this);
+	}
+
+	/**
+	 * Finds the (grand/)child {@link TElement} of a given {@link TElement} with a given
+	 * {@link TElement#keyProperty()} value.
+	 * @param key The key to look for.
+	 * @param within The {@link TElement} whose (grand/)children are searched.
+	 * @return The {@link TElement}, or {@code null} if there is none, or if more than one
+	 * {@link TElement} in scope uses the key.
+	 * @throws NullPointerException If an argument is {@code null}.
+	 * @apiNote Keys only need to be unique among siblings, which is why the scope matters.
+	 */
+	public final @Nullable TElement findElementByKey(@NotNull Object key, @NotNull TElement within)
+			throws NullPointerException {
+		return this.keyIndex.find(Objects.requireNonNull(key), Objects.requireNonNull(within));
+	}
+
+	/**
+	 * Moves the open overlays after a newly added child, so they stay on top of it.
+	 * @param child The newly added child.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 * @apiNote Called automatically by {@link TElement}s whenever they are added to this {@link TScreen}.
+	 */
+	@Internal
+	public final void keepOverlaysOnTop(@NotNull TElement child) throws NullPointerException
+	{
+		Objects.requireNonNull(child);
+		if(this.overlays.isEmpty() || this.overlays.contains(child)) return;
+		for(final var overlay : this.overlays.get()) moveToEnd(overlay);
+		invalidateChildOrder();
+	}
+	// --------------------------------------------------
+	/**
+	 * Opens an overlay, such as a context menu or a dropdown, by adding it to this
+	 * {@link TScreen}. Overlays are kept after all other children, so they are rendered
+	 * after, and hit-tested before, the rest of the element tree.
+	 * @param overlay The overlay {@link TElement}. Moved on top if it already is an overlay.
+	 * @param exclusive Whether to close all other open overlays.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 * @see #closeOverlays()
+	 */
+	public final void openOverlay(@NotNull TElement overlay, boolean exclusive) throws NullPointerException
+	{
+		Objects.requireNonNull(overlay);
+		if(exclusive) for(final var other : this.overlays.get()) if(other != overlay) other.remove();
+		this.overlays.push(overlay); //pushed first, so it is known to be an overlay once added
+		if(!add(overlay) && moveToEnd(overlay)) invalidateChildOrder();
+	}
+
+	/**
+	 * Closes all open overlays, by removing them from this {@link TScreen}.
+	 * @see #openOverlay(TElement, boolean)
+	 */
+	public final void closeOverlays() { for(final var overlay : this.overlays.get()) overlay.remove(); }
+
+	/**
+	 * Returns {@code true} if a given {@link TElement} is an open overlay on this {@link TScreen}.
+	 * @param element The {@link TElement} in question.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 * @see #openOverlay(TElement, boolean)
+	 */
+	public final boolean isOverlay(@NotNull TElement element) throws NullPointerException {
+		return this.overlays.contains(Objects.requireNonNull(element));
+	}
+
+	/**
+	 * Returns the open overlays on this {@link TScreen}, from the bottom-most to the top-most one.
+	 * @apiNote The returned array is a copy.
+	 * @see #openOverlay(TElement, boolean)
+	 */
+	public final @NotNull TElement[] getOverlays() { return this.overlays.get(); }
+	// --------------------------------------------------
+	/**
+	 * Finds the focusable {@link TElement} on this {@link TScreen} that comes after a given
+	 * target {@link TElement}, in the order keyboard navigation goes through them.
+	 * @param target The target {@link TElement}. May be this {@link TScreen}.
+	 * @param overflow When {@code true}, the search wraps around to the first focusable
+	 * {@link TElement} if no elements are found after the target.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 * @see TGuiUtils#nextFocusableTElement(TElement, boolean)
+	 */
+	public final @Nullable TElement nextFocusableElement(@NotNull TElement target, boolean overflow)
+			throws NullPointerException {
+		return this.focusOrder.next(Objects.requireNonNull(target), overflow);
+	}
+
+	/**
+	 * Finds the focusable {@link TElement} on this {@link TScreen} that comes before a given
+	 * target {@link TElement}, in the order keyboard navigation goes through them.
+	 * @param target The target {@link TElement}. May be this {@link TScreen}.
+	 * @param underflow When {@code true}, the search wraps around to the last focusable
+	 * {@link TElement} if no elements are found before the target.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 * @see TGuiUtils#previousFocusableTElement(TElement, boolean)
+	 */
+	public final @Nullable TElement previousFocusableElement(@NotNull TElement target, boolean underflow)
+			throws NullPointerException {
+		return this.focusOrder.previous(Objects.requireNonNull(target), underflow);
+	}
+
+	/**
+	 * Marks a {@link TElement}'s built tooltip as the most recently used one. Once too many
+	 * {@link TElement}s hold on to built tooltips, the least recently used ones have their
+	 * tooltip caches invalidated.
+	 * @param element The {@link TElement} whose tooltip was used.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 * @apiNote Called automatically by {@link TElement#getTooltip()}.
+	 */
+	@Internal
+	public final void retainTooltip(@NotNull TElement element) throws NullPointerException {
+		this.tooltipCache.retain(Objects.requireNonNull(element));
+	}
+
+	/**
+	 * Stops keeping track of a {@link TElement}'s built tooltip.
+	 * @param element The {@link TElement} whose tooltip is no longer tracked.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 * @apiNote Called automatically by {@link TElement}s whenever they leave this {@link TScreen}.
+	 */
+	@Internal
+	public final void releaseTooltip(@NotNull TElement element) throws NullPointerException {
+		this.tooltipCache.release(Objects.requireNonNull(element));
+	}
 	// ==================================================
 	/**
 	 * Returns {@code true} if this {@link TScreen} is currently opened by
@@ -0,0 +1,173 @@
+package com.thecsdev.commonmc.api.client.gui.screen;
+
+import com.thecsdev.commonmc.api.client.events.ClientEvent;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.player.LocalPlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * An opt-in cache of closed {@link TScreen}s that are kept fully built, so reopening
+ * them is nearly instant.
+ * <p>
+ * {@link TScreen}s obtained via {@link #obtain(Object, Class, Supplier)} are put in this
+ * cache when closed, instead of having their element tree cleared. The element tree, scroll
+ * positions, and any data the {@link TScreen} holds on to are kept as they are. Obtaining
+ * the same key again hands back the same {@link TScreen}, which is only re-initialized
+ * if the window was resized in the meantime.
+ * <p>
+ * The least recently closed {@link TScreen}s are evicted, and cleared, once either more
+ * than {@link #MAX_ENTRIES} are retained, or their combined
+ * {@link TScreen#getRetentionWeight()} exceeds {@link #MAX_WEIGHT}.
+ *
+ * All retained {@link TScreen}s are evicted when the {@link LocalPlayer} joins or leaves
+ * a level, and when resources are reloaded, such as after the language changes.
+ *
+ * @apiNote Meant to be used on the render thread. Retained {@link TScreen}s are not
+ * notified about other changes to the data they display; use {@link #evict(Object)}
+ * when that data becomes outdated.
+ */
+@Environment(EnvType.CLIENT)
+public final class TScreenCache
+{
+	// ==================================================
+	/**
+	 * The maximum number of retained {@link TScreen}s.
+	 */
+	public static final int MAX_ENTRIES = 4;
+
+	/**
+	 * The maximum combined {@link TScreen#getRetentionWeight()} of retained {@link TScreen}s.
+	 */
+	public static final int MAX_WEIGHT = 50_000;
+	// --------------------------------------------------
+	private static final LinkedHashMap<Object, Entry> ENTRIES = new LinkedHashMap<>(); //least recently closed first
+	private static       int                          weight  = 0;
+	// ==================================================
+	private TScreenCache() {}
+	static {
+		//retained screens display world-related data and translated text, so they are
+		//outdated once the world is left or joined, or once resources are reloaded
+		ClientEvent.PLAYER_JOIN.addListener(_ -> clear());
+		ClientEvent.PLAYER_QUIT.addListener(_ -> clear());
+		ClientEvent.RESOURCES_RELOAD.addListener(_ -> clear());
+	}
+	// ==================================================
+	/**
+	 * Returns the retained {@link TScreen} for a given key, or creates a new one if there
+	 * is none. Either way, the returned {@link TScreen} is retained once it is closed.
+	 * @param key The key identifying the {@link TScreen}, such as its {@link Class}.
+	 * @param type The type of the {@link TScreen}. A retained {@link TScreen} of another
+	 * type is evicted.
+	 * @param factory Creates a new {@link TScreen} when there is no retained one.
+	 * @throws NullPointerException If an argument is {@code null}, or if the factory returns {@code null}.
+	 */
+	public static final <S extends TScreen> @NotNull S obtain(
+			@NotNull Object key, @NotNull Class<S> type, @NotNull Supplier<S> factory)
+			throws NullPointerException
+	{
+		Objects.requireNonNull(type);
+		Objects.requireNonNull(factory);
+		final @Nullable var entry = ENTRIES.remove(Objects.requireNonNull(key));
+		if(entry != null) {
+			weight -= entry.weight;
+			if(type.isInstance(entry.screen)) return type.cast(entry.screen);
+			discard(entry.screen);
+		}
+		final var screen = Objects.requireNonNull(factory.get(), "The factory returned a 'null' screen");
+		screen.retentionKey = key;
+		return screen;
+	}
+
+	/**
+	 * Evicts the retained {@link TScreen} for a given key, if any, clearing its element tree.
+	 * @param key The key identifying the {@link TScreen}.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 */
+	public static final void evict(@NotNull Object key) throws NullPointerException {
+		final @Nullable var entry = ENTRIES.remove(Objects.requireNonNull(key));
+		if(entry == null) return;
+		weight -= entry.weight;
+		discard(entry.screen);
+	}
+
+	/**
+	 * Evicts all retained {@link TScreen}s, clearing their element trees.
+	 */
+	public static final void clear() {
+		final var screens = new ArrayList<Entry>(ENTRIES.values());
+		ENTRIES.clear();
+		weight = 0;
+		for(final var entry : screens) discard(entry.screen);
+	}
+	// --------------------------------------------------
+	/**
+	 * Retains a {@link TScreen} that was just closed, if it was obtained via this cache.
+	 * @return {@code false} if the {@link TScreen} is not to be retained, in which case
+	 * its element tree is to be cleared as usual.
+	 */
+	static final boolean retain(@NotNull TScreen screen)
+	{
+		//only screens that opted in, and that are not halfway through building their tree
+		final @Nullable var key = screen.retentionKey;
+		if(key == null || screen.isEmpty() || !screen.scheduler.isIdle()) return false;
+		final int screenWeight = Math.max(screen.getRetentionWeight(), 0);
+		if(screenWeight > MAX_WEIGHT) return false;
+
+		//another instance may have been obtained and closed under the same key in the meantime
+		final @Nullable var old = ENTRIES.remove(key);
+		if(old != null) {
+			weight -= old.weight;
+			if(old.screen != screen) discard(old.screen);
+		}
+
+		//retain the screen as the most recently closed one, and evict the least recently closed ones
+		ENTRIES.put(key, new Entry(screen, screenWeight));
+		weight += screenWeight;
+		screen.retained = true;
+		final Iterator<Entry> iterator = ENTRIES.values().iterator();
+		while((ENTRIES.size() > MAX_ENTRIES || weight > MAX_WEIGHT) && iterator.hasNext())
+		{
+			final var eldest = iterator.next();
+			if(eldest.screen == screen) break;
+			iterator.remove();
+			weight -= eldest.weight;
+			discard(eldest.screen);
+		}
+		return true;
+	}
+
+	/**
+	 * Forgets about a {@link TScreen} that is being reopened without going through
+	 * {@link #obtain(Object, Class, Supplier)}, without clearing it.
+	 */
+	static final void release(@NotNull TScreen screen)
+	{
+		final @Nullable var key = screen.retentionKey;
+		if(key == null) return;
+		final @Nullable var entry = ENTRIES.get(key);
+		if(entry == null || entry.screen != screen) return;
+		ENTRIES.remove(key);
+		weight -= entry.weight;
+	}
+
+	/**
+	 * Clears an evicted {@link TScreen}'s element tree, unless it is currently open.
+	 */
+	private static final void discard(@NotNull TScreen screen) {
+		screen.retained = false;
+		if(screen.isOpen()) return;
+		screen.animator.cancelAll();
+		screen.clear();
+	}
+	// ==================================================
+	private static final record Entry(@NotNull TScreen screen, int weight) {}
+	// ==================================================
+}
@@ -4,6 +4,7 @@ import com.thecsdev.common.util.annotations.Virtual;
 import com.thecsdev.common.util.enumerations.CompassDirection;
 import com.thecsdev.commonmc.api.client.gui.TElement;
 import com.thecsdev.commonmc.api.client.gui.util.TInputContext;
+import com.thecsdev.commonmc.api.client.gui.util.TInputSubscription;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.network.chat.Component;
@@ -29,6 +30,7 @@ public abstract class TScreenPlus extends TScreen
 	public TScreenPlus() {}
 	public TScreenPlus(@NotNull Component title) { super(title); }
 	// ==================================================
+	@TInputSubscription(phases = TInputContext.InputDiscoveryPhase.MAIN)
 	public @Virtual @Override boolean inputCallback(
 			@NotNull TInputContext.InputDiscoveryPhase phase,
 			@NotNull TInputContext context)
@@ -42,12 +44,12 @@ public abstract class TScreenPlus extends TScreen
 		if(context.getInputType() == TInputContext.InputType.KEY_PRESS)
 		{
 			//obtain the direction based on the pressed key-code
-			final CompassDirection direction = switch(context.getKeyCode()) {
+			final CompassDirection direction = switch(context.getKeyCodeI()) {
 				case GLFW_KEY_UP    -> CompassDirection.NORTH;
 				case GLFW_KEY_DOWN  -> CompassDirection.SOUTH;
 				case GLFW_KEY_LEFT  -> CompassDirection.WEST;
 				case GLFW_KEY_RIGHT -> CompassDirection.EAST;
-				case null, default  -> null;
+				default             -> null;
 			};
 			if(direction == null) return false;
 
@@ -107,8 +109,8 @@ public abstract class TScreenPlus extends TScreen
 		if(target == null || direction == null) return null;
 		Objects.requireNonNull(predicate);
 
-		//obtain target's center coordinates
-		final var tbb = target.getBounds();
+		//obtain target's center coordinates, in screen-space, as the candidates may be in other panels
+		final var tbb = target.getScreenBounds();
 		final int x = tbb.x + (tbb.width / 2);
 		final int y = tbb.y + (tbb.height / 2);
 
@@ -122,7 +124,7 @@ public abstract class TScreenPlus extends TScreen
 			//skip the target itself or anything that fails the given criteria
 			if(child == target || !predicate.test(child)) return false;
 
-			final var cbb = child.getBounds();
+			final var cbb = child.getScreenBounds();
 			final int cX = cbb.x + (cbb.width / 2);
 			final int cY = cbb.y + (cbb.height / 2);
 
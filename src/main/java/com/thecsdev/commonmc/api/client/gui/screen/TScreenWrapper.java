@@ -4,6 +4,7 @@ import com.thecsdev.common.math.Bounds2i;
 import com.thecsdev.common.util.annotations.Virtual;
 import com.thecsdev.commonmc.api.client.gui.TElement;
 import com.thecsdev.commonmc.api.client.gui.render.TGuiGraphics;
+import com.thecsdev.commonmc.api.client.gui.util.TGuiProfiler;
 import com.thecsdev.commonmc.api.client.gui.util.TGuiUtils;
 import com.thecsdev.commonmc.api.client.gui.util.TInputContext;
 import com.thecsdev.commonmc.client.mixin.hooks.AccessorTElement;
@@ -21,6 +22,7 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -54,6 +56,15 @@ public @Virtual class TScreenWrapper<T extends TScreen> extends Screen
 {
 	// ==================================================
 	private final @NotNull T target;
+	// --------------------------------------------------
+	//pending coalesced mouse motion. see TScreen#coalesceMouseMotionProperty()
+	private boolean pendingMove, pendingDrag;
+	private double  moveX, moveY, dragX, dragY, dragDeltaX, dragDeltaY;
+	private int     dragButton;
+	// --------------------------------------------------
+	//reused input contexts, one per level of nested dispatch. see #obtainInputContext()
+	private TInputContext[] inputContexts = new TInputContext[] { TInputContext.createReusable(), TInputContext.createReusable() };
+	private int             inputDepth    = 0;
 	// ==================================================
 	protected TScreenWrapper(@NotNull T target) {
 		super(Component.empty());
@@ -86,7 +97,9 @@ public @Virtual class TScreenWrapper<T extends TScreen> extends Screen
 	// ==================================================
 	public final @Override void added() {
 		this.minecraft.schedule(() -> {
-			if(this.minecraft.gui.screen() == this) this.target.openCallback();
+			if(this.minecraft.gui.screen() != this) return;
+			TScreenCache.release(this.target); //in case it was reopened directly, rather than obtained
+			this.target.openCallback();
 		});
 	}
 	// --------------------------------------------------
@@ -95,9 +108,14 @@ public @Virtual class TScreenWrapper<T extends TScreen> extends Screen
 			if(this.minecraft.gui.screen() != this) return;
 			//begin measuring initialization time
 			final var ns = nanoTime();
-			//trigger (re/)initialization by updating the bounds
-			this.target.boundsProperty().getHandle().set(Bounds2i.ZERO); //so next call triggers change listeners
-			this.target.setBounds(0, 0, this.width, this.height);        //<- this now triggers change listeners
+			//trigger (re/)initialization by updating the bounds. initialized screens
+			//with a layout are resized as-is, and get re-arranged instead. screens
+			//retained by TScreenCache are only re-initialized if their size changed
+			final boolean retained = this.target.retained;
+			this.target.retained = false;
+			if((this.target.layoutProperty().get() == null && !retained) || this.target.isEmpty())
+				this.target.boundsProperty().getHandle().set(Bounds2i.ZERO); //so next call triggers change listeners
+			this.target.setBounds(0, 0, this.width, this.height);            //<- this now triggers change listeners
 			//initialize super
 			super.init();
 			//log initialization time
@@ -119,16 +137,28 @@ public @Virtual class TScreenWrapper<T extends TScreen> extends Screen
 			//if this screen is not the "last/previous screen" of another currently opened screen,
 			//clear all children to trigger any cleanup logic they may hold
 			final @Nullable var lsp = ILastScreenProvider.getCurrent(this.minecraft);
-			if(lsp == null || lsp.getLastScreen() != this)
+			if(lsp == null || lsp.getLastScreen() != this) {
+				//screens retained for a fast reopen keep their element tree, and their animations
+				if(TScreenCache.retain(this.target)) return;
+				this.target.scheduler.cancelAll();
+				this.target.animator.cancelAll();
 				this.target.clear(); //trigger any cleanup tasks - has chance to not be called
+			}
 		});
 	}
 	// ==================================================
 	public final @Override void tick() {
-		((AccessorTElement)(Object)this.target)._tick();
+		//only elements that override the tick callback are ticked
+		final var tickList = this.target.tickList;
+		for(final var element : tickList.get())
+			if(tickList.shouldTick(element)) ((AccessorTElement)(Object)element)._tick();
 		super.tick();
 	}
 	public final @Override void extractRenderState(@NotNull GuiGraphicsExtractor context, int mouseX, int mouseY, float deltaTicks) {
+		flushMouseMotion(); //coalesced motion is dispatched once per frame, before rendering
+		this.target.animator.advance(deltaTicks); //animated values go before layout too, for the same reason
+		this.target.scheduler.runFrame(); //incremental work goes before layout, so it is laid out right away
+		this.target.performLayout();
 		final var tgg = TGuiGraphics.createInstance(context, mouseX, mouseY, deltaTicks);
 		tgg.renderTScreen(this.target);
 		super.extractRenderState(context, mouseX, mouseY, deltaTicks);
@@ -136,36 +166,48 @@ public @Virtual class TScreenWrapper<T extends TScreen> extends Screen
 	// ==================================================
 	public final @Override boolean keyPressed(@NotNull KeyEvent e) {
 		if(super.keyPressed(e)) return true;
-		else return sendInput(TInputContext.ofKeyPress(e.key(), e.scancode(), e.modifiers()));
+		else return dispatchInput(obtainInputContext().setKeyPress(e.key(), e.scancode(), e.modifiers()));
 	}
 	public final @Override boolean keyReleased(@NotNull KeyEvent e) {
 		if(super.keyReleased(e)) return true;
-		else return sendInput(TInputContext.ofKeyRelease(e.key(), e.scancode(), e.modifiers()));
+		else return dispatchInput(obtainInputContext().setKeyRelease(e.key(), e.scancode(), e.modifiers()));
 	}
 	public final @Override boolean charTyped(@NotNull CharacterEvent e) {
 		if(super.charTyped(e)) return true;
-		else return sendInput(TInputContext.ofCharType((char) e.codepoint(), 0));
+		else return dispatchInput(obtainInputContext().setCharType((char) e.codepoint(), 0));
 	}
 	// --------------------------------------------------
 	public final @Override boolean mouseClicked(@NotNull MouseButtonEvent e, boolean doubled) {
 		if(super.mouseClicked(e, doubled)) return true;
-		else return sendInput(TInputContext.ofMousePress(e.x(), e.y(), e.button()));
+		else return dispatchInput(obtainInputContext().setMousePress(e.x(), e.y(), e.button()));
 	}
 	public final @Override boolean mouseReleased(@NotNull MouseButtonEvent e) {
 		if(super.mouseReleased(e)) return true;
-		else return sendInput(TInputContext.ofMouseRelease(e.x(), e.y(), e.button()));
+		else return dispatchInput(obtainInputContext().setMouseRelease(e.x(), e.y(), e.button()));
 	}
 	public final @Override void mouseMoved(double mouseX, double mouseY) {
 		super.mouseMoved(mouseX, mouseY);
-		sendInput(TInputContext.ofMouseMove(mouseX, mouseY));
+		//when coalescing, only the latest position matters
+		if(this.target.coalesceMouseMotion.getZ()) {
+			this.pendingMove = true;
+			this.moveX = mouseX; this.moveY = mouseY;
+		}
+		else dispatchInput(obtainInputContext().setMouseMove(mouseX, mouseY));
 	}
 	public final @Override boolean mouseScrolled(double mouseX, double mouseY, double horizontalAmount, double verticalAmount) {
 		if(super.mouseScrolled(mouseX, mouseY, horizontalAmount, verticalAmount)) return true;
-		else return sendInput(TInputContext.ofMouseScroll(mouseX, mouseY, horizontalAmount, verticalAmount));
+		else return dispatchInput(obtainInputContext().setMouseScroll(mouseX, mouseY, horizontalAmount, verticalAmount));
 	}
 	public final @Override boolean mouseDragged(@NotNull MouseButtonEvent e, double deltaX, double deltaY) {
 		if(super.mouseDragged(e, deltaX, deltaY)) return true;
-		else return sendInput(TInputContext.ofMouseDrag(e.x(), e.y(), e.button(), deltaX, deltaY));
+		else if(!this.target.coalesceMouseMotion.getZ())
+			return dispatchInput(obtainInputContext().setMouseDrag(e.x(), e.y(), e.button(), deltaX, deltaY));
+		//when coalescing, deltas are summed up for as long as the same button is dragging
+		if(this.pendingDrag && this.dragButton != e.button()) flushMouseMotion();
+		if(!this.pendingDrag) { this.pendingDrag = true; this.dragButton = e.button(); this.dragDeltaX = this.dragDeltaY = 0; }
+		this.dragX = e.x(); this.dragY = e.y();
+		this.dragDeltaX += deltaX; this.dragDeltaY += deltaY;
+		return true; //the outcome is not known yet, so the input is considered taken
 	}
 	// ==================================================
 	/**
@@ -179,27 +221,31 @@ public @Virtual class TScreenWrapper<T extends TScreen> extends Screen
 	@ApiStatus.Internal
 	final boolean sendInput(TInputContext context)
 	{
+		//pending coalesced motion happened before this input, so it goes first
+		if(context.getInputType() != TInputContext.InputType.MOUSE_MOVE &&
+				context.getInputType() != TInputContext.InputType.MOUSE_DRAG)
+			flushMouseMotion();
+		//inputs are to see elements where they will be rendered
+		this.target.performLayout();
+
 		//calculate hovered element for mouse-related inputs
 		if(context.getInputType().isMouse()) {
-			final @Nullable Double mouseX = context.getMouseX();
-			final @Nullable Double mouseY = context.getMouseY();
-			if(mouseX != null && mouseY != null)
+			if(context.has(TInputContext.HAS_MOUSE_POS))
 				this.target.hovered.set(
-						this.target.findElementAt(
-								(int)mouseX.doubleValue(),
-								(int)mouseY.doubleValue()),
+						this.target.hitTestIndex.findElementAt(
+								(int)context.getMouseXD(),
+								(int)context.getMouseYD()),
 						TScreenWrapper.class);
 		}
 
-		//broadcast phase
-		this.target.inputCallback(TInputContext.InputDiscoveryPhase.BROADCAST, context);
-		this.target.forEach(child -> child.inputCallback(TInputContext.InputDiscoveryPhase.BROADCAST, context), true);
+		//broadcast phase (only subscribed elements, in tree order, starting with the screen itself)
+		for(final var element : this.target.inputSubscribers.get(TInputContext.InputDiscoveryPhase.BROADCAST))
+			inputCallback(element, TInputContext.InputDiscoveryPhase.BROADCAST, context);
 
-		//preempt phase
-		if(this.target.inputCallback(TInputContext.InputDiscoveryPhase.PREEMPT, context))
-			return true;
-		else if(this.target.findChild(child -> child.inputCallback(TInputContext.InputDiscoveryPhase.PREEMPT, context), true).isPresent())
-			return true;
+		//preempt phase (only subscribed elements, in tree order, starting with the screen itself)
+		for(final var element : this.target.inputSubscribers.get(TInputContext.InputDiscoveryPhase.PREEMPT))
+			if(inputCallback(element, TInputContext.InputDiscoveryPhase.PREEMPT, context))
+				return true;
 
 		//main phase
 		switch(context.getInputType())
@@ -222,7 +268,7 @@ public @Virtual class TScreenWrapper<T extends TScreen> extends Screen
 			//mouse-drag goes to the dragged element,
 			case MOUSE_DRAG: {
 				final @Nullable var draggedEl = this.target.dragged.get();
-				if(draggedEl != null && draggedEl.inputCallback(TInputContext.InputDiscoveryPhase.MAIN, context))
+				if(draggedEl != null && inputCallback(draggedEl, TInputContext.InputDiscoveryPhase.MAIN, context))
 					return true;
 				else break;
 			}
@@ -242,7 +288,7 @@ public @Virtual class TScreenWrapper<T extends TScreen> extends Screen
 					//input to it (if focused, it will get that input anyway. here we just make
 					//sure it gets the input in cases where it's not focused)
 					if(dragged != null && this.target.focused.get() != dragged)
-						dragged.inputCallback(TInputContext.InputDiscoveryPhase.MAIN, context);
+						inputCallback(dragged, TInputContext.InputDiscoveryPhase.MAIN, context);
 				}
 				//forward the input to the focused element or the target screen
 				final var focusedEl = Optional.ofNullable(this.target.focused.get()).orElse(this.target);
@@ -270,8 +316,7 @@ public @Virtual class TScreenWrapper<T extends TScreen> extends Screen
 		if(context.getInputType() == TInputContext.InputType.KEY_PRESS)
 		{
 			//handle tab-navigation
-			//noinspection DataFlowIssue
-			if(context.getKeyCode() == GLFW_KEY_TAB)
+			if(context.getKeyCodeI() == GLFW_KEY_TAB)
 			{
 				//prepare for navigation
 				final var          forward = !isShiftDown();
@@ -292,20 +337,20 @@ public @Virtual class TScreenWrapper<T extends TScreen> extends Screen
 				return true;
 			}
 			//handle context menu key
-			else if(context.getKeyCode() == GLFW_KEY_MENU) {
+			else if(context.getKeyCodeI() == GLFW_KEY_MENU) {
 				//attempt to show the context menu of the focused element
 				final @Nullable var focused = this.target.focused.get();
 				if(focused != null && focused.showContextMenu() != null)
 					return true; //return ONLY IF successful, no returning false!
 			}
 			//handle closing on escape
-			else if(context.getKeyCode() == GLFW_KEY_ESCAPE) { onClose(); return true; }
+			else if(context.getKeyCodeI() == GLFW_KEY_ESCAPE) { onClose(); return true; }
 		}
 
 		//additional mouse-press logic
 		else if(context.getInputType() == TInputContext.InputType.MOUSE_PRESS) {
-			//noinspection DataFlowIssue - handle right-clicking for opening context-menus
-			if(context.getMouseButton() == 1) {
+			//handle right-clicking for opening context-menus
+			if(context.getMouseButtonI() == 1) {
 				//attempt to show the context menu of the hovered element
 				final @Nullable var hovered = this.target.hovered.get();
 				if(hovered != null && hovered.showContextMenu() != null)
@@ -317,6 +362,49 @@ public @Virtual class TScreenWrapper<T extends TScreen> extends Screen
 		return false;
 	}
 
+	/**
+	 * Returns a reusable {@link TInputContext} for the next {@link #dispatchInput(TInputContext)}
+	 * call. Each level of nested dispatch gets its own instance, so that inputs dispatched while
+	 * another is still being handled (such as flushed mouse motion) do not overwrite it.
+	 */
+	private final @NotNull TInputContext obtainInputContext()
+	{
+		if(this.inputDepth == this.inputContexts.length) {
+			this.inputContexts = Arrays.copyOf(this.inputContexts, this.inputDepth * 2);
+			for(int i = this.inputDepth; i < this.inputContexts.length; i++)
+				this.inputContexts[i] = TInputContext.createReusable();
+		}
+		return this.inputContexts[this.inputDepth];
+	}
+
+	/**
+	 * {@link #sendInput(TInputContext)}s a context obtained via {@link #obtainInputContext()},
+	 * keeping said context reserved until the dispatch is over.
+	 */
+	private final boolean dispatchInput(@NotNull TInputContext context)
+	{
+		this.inputDepth++;
+		try { return sendInput(context); }
+		finally { this.inputDepth--; }
+	}
+
+	/**
+	 * Dispatches any pending coalesced mouse motion inputs.
+	 * @see TScreen#coalesceMouseMotionProperty()
+	 */
+	private final void flushMouseMotion()
+	{
+		//moves come before drags, the same way the game calls them for each motion
+		if(this.pendingMove) {
+			this.pendingMove = false;
+			dispatchInput(obtainInputContext().setMouseMove(this.moveX, this.moveY));
+		}
+		if(this.pendingDrag) {
+			this.pendingDrag = false;
+			dispatchInput(obtainInputContext().setMouseDrag(this.dragX, this.dragY, this.dragButton, this.dragDeltaX, this.dragDeltaY));
+		}
+	}
+
 	/**
 	 * {@link ApiStatus.Internal} method that sends an input to a {@link TElement}, bubbling
 	 * the input to its parents if said element does not handle the input.
@@ -329,11 +417,29 @@ public @Virtual class TScreenWrapper<T extends TScreen> extends Screen
 		if(element == null) return null;
 
 		//forward input to element, handling bubbling if element doesn't handle it
-		while(element != null && !element.inputCallback(TInputContext.InputDiscoveryPhase.MAIN, context))
+		while(element != null && !inputCallback(element, TInputContext.InputDiscoveryPhase.MAIN, context))
 			element = element.getParent();
 
 		//return element that handled the input, or null if none handled it
 		return element;
 	}
+
+	/**
+	 * {@link ApiStatus.Internal} method that calls {@link TElement#inputCallback(TInputContext.InputDiscoveryPhase, TInputContext)}
+	 * if the element is subscribed to the input, measuring it if the {@link TGuiProfiler} is enabled.
+	 */
+	@ApiStatus.Internal
+	private static final boolean inputCallback(
+			@NotNull TElement element,
+			@NotNull TInputContext.InputDiscoveryPhase phase,
+			@NotNull TInputContext context)
+	{
+		if(!element.subscribesToInput(phase, context.getInputType())) return false;
+		if(!TGuiProfiler.isEnabled()) return element.inputCallback(phase, context);
+		final long start = nanoTime();
+		final boolean handled = element.inputCallback(phase, context);
+		TGuiProfiler.record(TGuiProfiler.Metric.INPUT, element, start);
+		return handled;
+	}
 	// ==================================================
 }
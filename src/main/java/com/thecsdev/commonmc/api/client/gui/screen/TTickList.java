@@ -0,0 +1,54 @@
+package com.thecsdev.commonmc.api.client.gui.screen;
+
+import com.thecsdev.commonmc.api.client.gui.TElement;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Keeps track of the {@link TElement}s of a {@link TScreen} that override
+ * {@code tickCallback()}, in the order they appear in the element tree.
+ * <p>
+ * Hardly any {@link TElement}s tick, so ticking those alone avoids walking
+ * the entire element tree on every single GUI tick.
+ * <p>
+ * The list is kept up to date as elements join and leave the element tree.
+ *
+ * @see TElement#subscribesToTick()
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+final class TTickList
+{
+	// ==================================================
+	private final TScreen         screen;
+	private final TTreeOrderedSet tickers = new TTreeOrderedSet();
+	// ==================================================
+	TTickList(@NotNull TScreen screen) { this.screen = screen; }
+	// ==================================================
+	/**
+	 * Starts tracking a {@link TElement} that joined the element tree, if it ticks.
+	 */
+	final void add(@NotNull TElement element) { if(element.subscribesToTick()) this.tickers.add(element); }
+
+	/**
+	 * Stops tracking a {@link TElement} that is about to leave the element tree.
+	 */
+	final void remove(@NotNull TElement element) { if(element.subscribesToTick()) this.tickers.remove(element); }
+	// --------------------------------------------------
+	/**
+	 * Returns the {@link TElement}s that tick, in the order they appear in the element tree.
+	 * @see TTreeOrderedSet#toArray()
+	 */
+	final @NotNull TElement[] get() { return this.tickers.toArray(); }
+
+	/**
+	 * Returns {@code true} if a {@link TElement} from {@link #get()} is to be ticked right now,
+	 * which is the case unless an earlier element's tick removed it from the {@link TScreen}.
+	 */
+	final boolean shouldTick(@NotNull TElement element) {
+		return element == this.screen || element.screenProperty().get() == this.screen;
+	}
+	// ==================================================
+}
@@ -0,0 +1,54 @@
+package com.thecsdev.commonmc.api.client.gui.screen;
+
+import com.thecsdev.commonmc.api.client.gui.TElement;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps track of which {@link TElement}s on a {@link TScreen} are holding on to a built
+ * tooltip, in the order they were last used.
+ * <p>
+ * Built tooltips are kept by their {@link TElement}s, so hovering the same elements back
+ * and forth does not rebuild them. Once more than {@link #CAPACITY} elements hold a tooltip,
+ * the least recently used one has its tooltip cache invalidated.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+final class TTooltipCache
+{
+	// ==================================================
+	private static final int CAPACITY = 16;
+	// ==================================================
+	private final LinkedHashMap<TElement, Boolean> entries = new LinkedHashMap<>(CAPACITY * 2, 0.75f, true) {
+		protected final @Override boolean removeEldestEntry(Map.Entry<TElement, Boolean> eldest) {
+			if(size() <= CAPACITY) return false;
+			eldest.getKey().invalidateTooltipCache();
+			return true;
+		}
+	};
+	// ==================================================
+	/**
+	 * Marks a {@link TElement}'s tooltip as the most recently used one.
+	 */
+	final void retain(@NotNull TElement element) { this.entries.put(element, Boolean.TRUE); }
+
+	/**
+	 * Forgets about a {@link TElement}'s tooltip, without invalidating it.
+	 */
+	final void release(@NotNull TElement element) { this.entries.remove(element); }
+
+	/**
+	 * Invalidates the tooltip caches of all {@link TElement}s.
+	 */
+	final void clear() {
+		for(final var element : this.entries.keySet())
+			element.invalidateTooltipCache();
+		this.entries.clear();
+	}
+	// ==================================================
+}
@@ -0,0 +1,71 @@
+package com.thecsdev.commonmc.api.client.gui.screen;
+
+import com.thecsdev.commonmc.api.client.gui.TElement;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * A set of a {@link TScreen}'s {@link TElement}s, ordered the way they appear in the
+ * element tree, as per {@link TElement#compareTreeOrder(TElement, TElement)}.
+ * <p>
+ * The {@link TScreen}'s indexes keep such sets up to date as elements join and leave the
+ * element tree, so adding, removing, and finding neighbors in the tree order are
+ * {@code O(log n)}, and never require walking the element tree.
+ *
+ * @apiNote Elements must be removed before their place in the element tree changes, and
+ * added after, as the ordering depends on it.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+final class TTreeOrderedSet
+{
+	// ==================================================
+	private static final TElement[] EMPTY = new TElement[0];
+	// ==================================================
+	private final TreeSet<TElement> elements = new TreeSet<>(TElement::compareTreeOrder);
+	private @Nullable TElement[]    snapshot = EMPTY; //null = outdated
+	// ==================================================
+	/**
+	 * Adds a {@link TElement} to this set.
+	 * @return {@code true} if it was not already in this set.
+	 */
+	final boolean add(@NotNull TElement element) {
+		if(!this.elements.add(element)) return false;
+		this.snapshot = null;
+		return true;
+	}
+
+	/**
+	 * Removes a {@link TElement} from this set.
+	 * @return {@code true} if it was in this set.
+	 */
+	final boolean remove(@NotNull TElement element) {
+		if(!this.elements.remove(element)) return false;
+		this.snapshot = null;
+		return true;
+	}
+
+	/**
+	 * Returns the {@link NavigableSet} view of this set's {@link TElement}s.
+	 * @apiNote Not to be modified directly, and not to be iterated while the element tree changes.
+	 */
+	final @NotNull NavigableSet<TElement> elements() { return this.elements; }
+
+	/**
+	 * Returns this set's {@link TElement}s in an array, in tree order.
+	 * @apiNote The returned array is a snapshot, and is never modified afterwards, so the
+	 * elements can safely be visited while iterating it, even if the element tree changes
+	 * meanwhile. A new snapshot is only taken the first time this is called after a change.
+	 */
+	final @NotNull TElement[] toArray() {
+		final @Nullable var snapshot = this.snapshot;
+		return (snapshot != null) ? snapshot : (this.snapshot = this.elements.toArray(EMPTY));
+	}
+	// ==================================================
+}
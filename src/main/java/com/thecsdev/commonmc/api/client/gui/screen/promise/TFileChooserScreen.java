@@ -11,11 +11,13 @@ import com.thecsdev.commonmc.api.client.gui.ctxmenu.TContextMenu;
 import com.thecsdev.commonmc.api.client.gui.label.TLabelElement;
 import com.thecsdev.commonmc.api.client.gui.misc.TFillColorElement;
 import com.thecsdev.commonmc.api.client.gui.panel.TPanelElement;
+import com.thecsdev.commonmc.api.client.gui.panel.TVirtualListPanel;
 import com.thecsdev.commonmc.api.client.gui.panel.window.TWindowElement;
 import com.thecsdev.commonmc.api.client.gui.render.TGuiGraphics;
 import com.thecsdev.commonmc.api.client.gui.screen.TScreen;
 import com.thecsdev.commonmc.api.client.gui.tooltip.TTooltip;
 import com.thecsdev.commonmc.api.client.gui.util.TInputContext;
+import com.thecsdev.commonmc.api.client.gui.util.TInputSubscription;
 import com.thecsdev.commonmc.api.client.gui.widget.TButtonWidget;
 import com.thecsdev.commonmc.api.client.gui.widget.TDropdownWidget;
 import com.thecsdev.commonmc.api.client.gui.widget.TScrollBarWidget;
@@ -121,6 +123,7 @@ public final class TFileChooserScreen extends TCompletableScreen<List<Path>>
 		else this.window.setBounds(new UDim2(0.05, 0, 0.05, 0), new UDim2(0.9, 0, 0.9, 0));
 	}
 	// --------------------------------------------------
+	@TInputSubscription(phases = TInputContext.InputDiscoveryPhase.PREEMPT, types = { TInputContext.InputType.KEY_RELEASE, TInputContext.InputType.MOUSE_RELEASE })
 	public final @Override boolean inputCallback(
 			@NotNull TInputContext.InputDiscoveryPhase phase,
 			@NotNull TInputContext context) throws NullPointerException
@@ -130,8 +133,8 @@ public final class TFileChooserScreen extends TCompletableScreen<List<Path>>
 
 		//handle refreshing (F5)
 		if(context.getInputType() == TInputContext.InputType.KEY_RELEASE) {
-			assert (context.getKeyCode() != null);
-			if(context.getKeyCode() == GLFW_KEY_F5) {
+			assert context.has(TInputContext.HAS_KEY);
+			if(context.getKeyCodeI() == GLFW_KEY_F5) {
 				refresh();
 				return true;
 			}
@@ -139,11 +142,11 @@ public final class TFileChooserScreen extends TCompletableScreen<List<Path>>
 
 		//handle mouse navigation
 		if(context.getInputType() == TInputContext.InputType.MOUSE_RELEASE) {
-			assert (context.getMouseButton() != null);
-			if(context.getMouseButton() == GLFW_MOUSE_BUTTON_4) {
+			assert context.has(TInputContext.HAS_BUTTON);
+			if(context.getMouseButtonI() == GLFW_MOUSE_BUTTON_4) {
 				this.controller.navigateBack();
 				return true;
-			} else if(context.getMouseButton() == GLFW_MOUSE_BUTTON_5) {
+			} else if(context.getMouseButtonI() == GLFW_MOUSE_BUTTON_5) {
 				this.controller.navigateForward();
 				return true;
 			}
@@ -640,44 +643,52 @@ public final class TFileChooserScreen extends TCompletableScreen<List<Path>>
 	/**
 	 * The main panel where file-system navigation and file entries are displayed.
 	 */
-	private final @ApiStatus.Internal class ExplorerPanel extends TPanelElement.Transparent
+	private final @ApiStatus.Internal class ExplorerPanel extends TVirtualListPanel<FileEntryElement>
 	{
 		// ==================================================
 		private final TFileChooserController controller = TFileChooserScreen.this.controller;
+		// --------------------------------------------------
+		private final List<Map.Entry<Path, BasicFileAttributes>> entries; //the items this panel displays
 		// ==================================================
-		ExplorerPanel() {
+		ExplorerPanel() { this(new ArrayList<>()); }
+		private ExplorerPanel(@NotNull List<Map.Entry<Path, BasicFileAttributes>> entries)
+		{
+			//file entry cells are recycled as the panel scrolls, so only the visible ones exist
+			super(new CellFactory<>() {
+				public final @Override @NotNull FileEntryElement createCell() { return new FileEntryElement(); }
+				public final @Override void bindCell(@NotNull FileEntryElement cell, int index) {
+					final var entry = entries.get(index);
+					cell.bind(entry.getKey(), entry.getValue());
+					if(entry.getValue() instanceof ParentDirectoryAttributes) //the "../" entry has its own label
+						cell.getLabel().setText(gui(TSprites.gui_icon_fsFolderGray()).append(" ../"));
+				}
+			});
+			this.entries = entries;
 			scrollPaddingProperty().set(7, ExplorerPanel.class);
+			cellHeightProperty().set(15, ExplorerPanel.class);
 		}
 		// ==================================================
 		protected final @Override void initCallback()
 		{
 			//obtain current directory
 			final var dir = this.controller.getDirectory();
+			this.entries.clear();
 
 			//initialize the "../" (parent directory) entry if applicable
 			final @Nullable var parent = dir.getParent();
-			if(parent != null) {
-				final var el_up = new FileEntryElement(parent, new BasicFileAttributes() {
-					public final @Override FileTime lastModifiedTime() { return FileTime.fromMillis(0); }
-					public final @Override FileTime lastAccessTime() { return FileTime.fromMillis(0); }
-					public final @Override FileTime creationTime() { return FileTime.fromMillis(0); }
-					public final @Override boolean isRegularFile() { return false; }
-					public final @Override boolean isDirectory() { return true; }
-					public final @Override boolean isSymbolicLink() { return false; }
-					public final @Override boolean isOther() { return false; }
-					public final @Override long size() { return 0; }
-					public final @Override Object fileKey() { return parent; }
-				});
-				el_up.setBounds(computeNextYBounds(15, 0));
-				el_up.getLabel().setText(gui(TSprites.gui_icon_fsFolderGray()).append(" ../"));
-				add(el_up);
-			}
+			if(parent != null) this.entries.add(Map.entry(parent, new ParentDirectoryAttributes(parent)));
 
 			//obtain file list for the current directory
 			@NotNull  List<Map.Entry<Path, BasicFileAttributes>> dir_files    = List.of();
 			@Nullable Exception                                  dir_filesErr = null;
 			try { dir_files = listFiles(); } catch (Exception e) { dir_filesErr = e; }
 
+			//entries for all directories and then files in the current directory.
+			//cells for them are created by the virtual list, as they come into view
+			this.entries.addAll(dir_files);
+			itemCountProperty().set(this.entries.size(), ExplorerPanel.class);
+			super.initCallback();
+
 			//initialize error label if applicable
 			if(dir_filesErr != null)
 			{
@@ -693,14 +704,6 @@ public final class TFileChooserScreen extends TCompletableScreen<List<Path>>
 				lbl.textColorProperty().set(0x55FFFFFF, ExplorerPanel.class);
 				lbl.textScaleProperty().set(0.8, ExplorerPanel.class);
 				addRel(lbl);
-				return;
-			}
-
-			//initialize entries for all directories and then files in the current directory
-			for(final var file : dir_files) {
-				final var el = new FileEntryElement(file.getKey(), file.getValue());
-				el.setBounds(computeNextYBounds(15, 0));
-				add(el);
 			}
 		}
 		// --------------------------------------------------
@@ -711,6 +714,25 @@ public final class TFileChooserScreen extends TCompletableScreen<List<Path>>
 			if(isFocused())
 				pencil.drawOutlineIn(bb.x, bb.y, bb.width, bb.height, 0x22FFFFFF);
 		}
+		public final @Override void postRenderCallback(@NotNull TGuiGraphics pencil) {}
+		// ==================================================
+		/**
+		 * The {@link BasicFileAttributes} of the "../" (parent directory) entry.
+		 */
+		private static final class ParentDirectoryAttributes implements BasicFileAttributes
+		{
+			private final Path parent;
+			ParentDirectoryAttributes(@NotNull Path parent) { this.parent = parent; }
+			public final @Override FileTime lastModifiedTime() { return FileTime.fromMillis(0); }
+			public final @Override FileTime lastAccessTime() { return FileTime.fromMillis(0); }
+			public final @Override FileTime creationTime() { return FileTime.fromMillis(0); }
+			public final @Override boolean isRegularFile() { return false; }
+			public final @Override boolean isDirectory() { return true; }
+			public final @Override boolean isSymbolicLink() { return false; }
+			public final @Override boolean isOther() { return false; }
+			public final @Override long size() { return 0; }
+			public final @Override Object fileKey() { return this.parent; }
+		}
 		// ==================================================
 		/**
 		 * Lists the files in the current directory, applying the necessary filters and sorting.
@@ -971,20 +993,26 @@ public final class TFileChooserScreen extends TCompletableScreen<List<Path>>
 		// ==================================================
 		private final TFileChooserController controller = TFileChooserScreen.this.controller;
 		// --------------------------------------------------
-		private final Path                path;
-		private final BasicFileAttributes attributes;
+		private Path                path;       //not final, as explorer cells get recycled
+		private BasicFileAttributes attributes; //not final, as explorer cells get recycled
 		// --------------------------------------------------
 		private long lastClickMs = 0; //time of the last click
 		// ==================================================
-		public FileEntryElement(@NotNull Path path, @NotNull BasicFileAttributes attributes)
+		public FileEntryElement(@NotNull Path path, @NotNull BasicFileAttributes attributes) {
+			this();
+			bind(path, attributes);
+		}
+
+		/**
+		 * Creates a {@link FileEntryElement} that is to be {@link #bind(Path, BasicFileAttributes)}-ed
+		 * to a file before use.
+		 */
+		private FileEntryElement()
 		{
-			//initialize fields and properties
-			this.path = Objects.requireNonNull(path);
-			this.attributes = Objects.requireNonNull(attributes);
+			//initialize properties
 			super.eClicked.removeListener(ONCLICK_SOUND);
 
 			//configure label
-			getLabel().setText(computeFileLabelText());
 			getLabel().textAlignmentProperty().set(CompassDirection.WEST, FileEntryElement.class);
 			getLabel().textScaleProperty().set(0.8d, FileEntryElement.class);
 
@@ -998,6 +1026,20 @@ public final class TFileChooserScreen extends TCompletableScreen<List<Path>>
 					FileEntryElement.class);
 		}
 		// --------------------------------------------------
+		/**
+		 * Makes this {@link FileEntryElement} represent a given file or directory.
+		 * @param path The file or directory represented by this entry.
+		 * @param attributes {@link Path}'s corresponding file attributes.
+		 * @throws NullPointerException If an argument is {@code null}.
+		 */
+		public final void bind(@NotNull Path path, @NotNull BasicFileAttributes attributes) throws NullPointerException
+		{
+			this.path        = Objects.requireNonNull(path);
+			this.attributes  = Objects.requireNonNull(attributes);
+			this.lastClickMs = 0; //a click on a previous file does not count towards a double click
+			getLabel().setText(computeFileLabelText());
+		}
+		// --------------------------------------------------
 		/**
 		 * Creates a text label for this object, including an appropriate
 		 * icon based on the file type.
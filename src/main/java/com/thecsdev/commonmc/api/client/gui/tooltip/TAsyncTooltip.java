@@ -0,0 +1,85 @@
+package com.thecsdev.commonmc.api.client.gui.tooltip;
+
+import com.thecsdev.common.util.TUtils;
+import com.thecsdev.commonmc.api.client.gui.TElement;
+import com.thecsdev.commonmc.api.client.gui.render.TGuiGraphics;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A {@link TTooltip} whose data model is computed asynchronously, off of the render thread.
+ * <p>
+ * The data model starts being computed as soon as this {@link TAsyncTooltip} is created,
+ * which is typically when the {@link TElement} it belongs to gains hover or focus. Once the
+ * data model is available, the actual tooltip {@link TElement} is built from it on the
+ * render thread, and shown in place of this {@link TAsyncTooltip}.
+ * <p>
+ * Until then, this {@link TAsyncTooltip} has no size, and is therefore not rendered.
+ *
+ * @param <M> The data model type.
+ * @apiNote The data model supplier runs on a different thread, and must therefore only
+ * read state that is safe to read from there. If it fails, it is retried on the render thread.
+ * @see TTooltip#async(Supplier, Function)
+ */
+@Environment(EnvType.CLIENT)
+public final class TAsyncTooltip<M> extends TTooltip
+{
+	// ==================================================
+	private final @NotNull Supplier<M>                              modelSupplier;
+	private final @NotNull Function<? super M, ? extends TElement> builder;
+	private final @NotNull CompletableFuture<M>                     model;
+	// --------------------------------------------------
+	private @Nullable TElement content = null;
+	// ==================================================
+	/**
+	 * Creates a new {@link TAsyncTooltip}, and starts computing its data model.
+	 * @param modelSupplier Computes the data model. Runs asynchronously.
+	 * @param builder Builds the tooltip {@link TElement} from the data model. Runs on the render thread.
+	 * @throws NullPointerException If an argument is {@code null}.
+	 */
+	public TAsyncTooltip(@NotNull Supplier<M> modelSupplier, @NotNull Function<? super M, ? extends TElement> builder)
+			throws NullPointerException
+	{
+		this.modelSupplier = Objects.requireNonNull(modelSupplier);
+		this.builder       = Objects.requireNonNull(builder);
+		this.model         = CompletableFuture.supplyAsync(modelSupplier, TUtils.getVirtualThreadPerTaskExecutor());
+	}
+	// ==================================================
+	/**
+	 * Returns {@code true} if the actual tooltip {@link TElement} was built.
+	 */
+	public final boolean isReady() { return this.content != null; }
+
+	/**
+	 * Builds the actual tooltip {@link TElement}, if its data model became available.
+	 * Does nothing if it was already built, or if the data model is still being computed.
+	 * @return {@code true} if the actual tooltip {@link TElement} is built.
+	 * @apiNote Called automatically by {@link TElement#getTooltip()}. Must be called on the render thread.
+	 */
+	public final boolean poll()
+	{
+		//nothing to do if already built, or if the model is not available yet
+		if(this.content != null) return true;
+		else if(!this.model.isDone()) return false;
+
+		//obtain the model, computing it here if the asynchronous attempt failed
+		final M model = this.model.isCompletedExceptionally() ? this.modelSupplier.get() : this.model.join();
+		final var content = this.content = Objects.requireNonNull(this.builder.apply(model), "Tooltip builder returned null");
+
+		//initialize the built tooltip, and take on its size
+		content.clearAndInit();
+		setBounds(content.getBounds());
+		add(content);
+		return true;
+	}
+	// ==================================================
+	public final @Override void renderCallback(@NotNull TGuiGraphics pencil) {} //the built tooltip renders itself
+	// ==================================================
+}
@@ -11,6 +11,8 @@ import net.minecraft.network.chat.Component;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * A {@link TElement} whose sole purpose is meant to serve as being
@@ -51,7 +53,23 @@ public @Virtual class TTooltip extends TElement
 	 * @throws NullPointerException If the argument is {@code null}.
 	 */
 	public static final TTooltip of(@NotNull SubjectStats<?> stats) throws NullPointerException {
-		return new TTooltipSubjectStats(stats);
+		//the statistics are copied here, on the render thread, and only the copy is formatted asynchronously
+		final var snapshot = TTooltipSubjectStats.Snapshot.of(Objects.requireNonNull(stats));
+		return async(() -> TTooltipSubjectStats.createText(snapshot), text -> new TTooltipSubjectStats(stats, text));
+	}
+	// --------------------------------------------------
+	/**
+	 * Creates and returns a {@link TAsyncTooltip} that computes its data model off of the
+	 * render thread, and then builds the actual tooltip from it on the render thread.
+	 * @param modelSupplier Computes the data model. Runs asynchronously.
+	 * @param builder Builds the tooltip {@link TElement} from the data model.
+	 * @throws NullPointerException If an argument is {@code null}.
+	 * @see TAsyncTooltip
+	 */
+	public static final <M> TTooltip async(
+			@NotNull Supplier<M> modelSupplier,
+			@NotNull Function<? super M, ? extends TElement> builder) throws NullPointerException {
+		return new TAsyncTooltip<>(modelSupplier, builder);
 	}
 	// ==================================================
 }
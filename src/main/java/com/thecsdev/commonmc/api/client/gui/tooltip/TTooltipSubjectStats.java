@@ -4,9 +4,15 @@ import com.thecsdev.commonmc.api.stats.util.SubjectStats;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.Identifier;
+import net.minecraft.stats.Stat;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 
 import static com.thecsdev.commonmc.api.stats.IStatsProvider.getStatTypeName;
@@ -21,39 +27,79 @@ final @ApiStatus.Internal class TTooltipSubjectStats extends TTooltipLabel
 	// ==================================================
 	private final @NotNull SubjectStats<?> stats;
 	// ==================================================
-	public TTooltipSubjectStats(@NotNull SubjectStats<?> stats) throws NullPointerException
-	{
-		//initialize fields
+	public TTooltipSubjectStats(@NotNull SubjectStats<?> stats) throws NullPointerException { this(stats, createText(stats)); }
+	public TTooltipSubjectStats(@NotNull SubjectStats<?> stats, @NotNull Component text) throws NullPointerException {
+		super(Objects.requireNonNull(text));
 		this.stats = Objects.requireNonNull(stats);
+	}
+	// ==================================================
+	/**
+	 * Returns the {@link SubjectStats} related to this {@link TTooltipLabel}.
+	 */
+	public final @NotNull SubjectStats<?> getStats() { return this.stats; }
+	// --------------------------------------------------
+	/**
+	 * Constructs the tooltip text for a given {@link SubjectStats}.
+	 * @param stats The {@link SubjectStats} whose statistics are to be shown.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 */
+	static final @NotNull Component createText(@NotNull SubjectStats<?> stats) throws NullPointerException {
+		return createText(Snapshot.of(stats));
+	}
 
-		//construct the label tooltip text
-		{
-			//start constructing the tooltip text
-			final var tt = literal("");
-			tt.append(literal("").append(stats.getSubjectDisplayName()).withStyle(ChatFormatting.YELLOW)).append("\n");
-			tt.append(literal(stats.getSubjectID().toString()).withStyle(ChatFormatting.GRAY));
-			tt.append("\n\n");
-
-			//add block stats
-			final var entries = stats.getValuesF().entrySet().iterator();
-			while(entries.hasNext()) {
-				final var entry  = entries.next();
-				final var stName = getStatTypeName(entry.getKey().getType());
-				tt.append(literal("- ").withStyle(ChatFormatting.YELLOW));
-				tt.append(stName);
-				tt.append(literal(" - ").withStyle(ChatFormatting.YELLOW));
-				tt.append(literal(entry.getValue()).withStyle(ChatFormatting.GOLD));
-				if(entries.hasNext()) tt.append("\n");
-			}
+	/**
+	 * Constructs the tooltip text from a {@link Snapshot} of a {@link SubjectStats}.
+	 * @param snapshot The {@link Snapshot} whose statistics are to be shown.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 * @apiNote Does not touch any GUI or statistics state, and may be called off of the render thread.
+	 */
+	static final @NotNull Component createText(@NotNull Snapshot snapshot) throws NullPointerException
+	{
+		//start constructing the tooltip text
+		final var tt = literal("");
+		tt.append(literal("").append(snapshot.displayName()).withStyle(ChatFormatting.YELLOW)).append("\n");
+		tt.append(literal(snapshot.subjectID().toString()).withStyle(ChatFormatting.GRAY));
+		tt.append("\n\n");
 
-			//set the tooltip text
-			textProperty().set(tt, TTooltipSubjectStats.class);
+		//add block stats
+		final var entries = snapshot.values().entrySet().iterator();
+		while(entries.hasNext()) {
+			final var entry  = entries.next();
+			final var stName = getStatTypeName(entry.getKey().getType());
+			tt.append(literal("- ").withStyle(ChatFormatting.YELLOW));
+			tt.append(stName);
+			tt.append(literal(" - ").withStyle(ChatFormatting.YELLOW));
+			tt.append(literal(entry.getKey().format(entry.getValue())).withStyle(ChatFormatting.GOLD));
+			if(entries.hasNext()) tt.append("\n");
 		}
+		return tt;
 	}
 	// ==================================================
 	/**
-	 * Returns the {@link SubjectStats} related to this {@link TTooltipLabel}.
+	 * An immutable copy of the parts of a {@link SubjectStats} its tooltip shows.
+	 * <p>
+	 * The statistics behind a {@link SubjectStats} are updated on the render thread as
+	 * statistics packets arrive, so they are copied there, and only this copy is handed
+	 * over to other threads.
+	 * @param displayName The {@link SubjectStats#getSubjectDisplayName()}.
+	 * @param subjectID The {@link SubjectStats#getSubjectID()}.
+	 * @param values The {@link SubjectStats#getValues()}, in their original order.
 	 */
-	public final @NotNull SubjectStats<?> getStats() { return this.stats; }
+	static final record Snapshot(
+			@NotNull Component displayName, @NotNull Identifier subjectID,
+			@NotNull Map<Stat<?>, Integer> values)
+	{
+		/**
+		 * Copies a given {@link SubjectStats}' statistics.
+		 * @param stats The {@link SubjectStats} to copy.
+		 * @throws NullPointerException If the argument is {@code null}.
+		 * @apiNote Must be called on the render thread.
+		 */
+		static final @NotNull Snapshot of(@NotNull SubjectStats<?> stats) throws NullPointerException {
+			return new Snapshot(
+					stats.getSubjectDisplayName(), stats.getSubjectID(),
+					Collections.unmodifiableMap(new LinkedHashMap<Stat<?>, Integer>(stats.getValues())));
+		}
+	}
 	// ==================================================
 }
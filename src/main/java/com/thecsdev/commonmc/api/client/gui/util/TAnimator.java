@@ -0,0 +1,314 @@
+package com.thecsdev.commonmc.api.client.gui.util;
+
+import com.thecsdev.common.event.Event;
+import com.thecsdev.common.event.Events;
+import com.thecsdev.common.math.Point2d;
+import com.thecsdev.common.properties.DoubleProperty;
+import com.thecsdev.common.properties.IntegerProperty;
+import com.thecsdev.common.properties.ObjectProperty;
+import com.thecsdev.commonmc.api.client.gui.render.TGuiGraphics;
+import com.thecsdev.commonmc.api.client.gui.screen.TScreen;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Animates {@link ObjectProperty} values toward target values over time, such as
+ * {@link DoubleProperty}, {@link IntegerProperty}, and {@link Point2d} properties.
+ * <p>
+ * Each {@link TScreen} has its own {@link TAnimator}, which is advanced once per frame by
+ * the time that has passed since the previous frame, as per {@link TGuiGraphics#getDeltaTicks()}.
+ * Animations are therefore as smooth as the frame rate allows, rather than moving in steps
+ * once per tick. Only active animations are visited, so idle elements cost nothing.
+ *
+ * @apiNote Not thread-safe. Meant to be used on the render thread.
+ * @see TScreen#getAnimator()
+ */
+@Environment(EnvType.CLIENT)
+public final class TAnimator
+{
+	// ================================================== ==================================================
+	//                                          TAnimator IMPLEMENTATION
+	// ================================================== ==================================================
+	private final ArrayList<Tween<?>>                          tweens   = new ArrayList<>();
+	private final IdentityHashMap<ObjectProperty<?>, Tween<?>> animated = new IdentityHashMap<>();
+	// ==================================================
+	/**
+	 * Returns {@code true} if there are no active animations.
+	 */
+	public final boolean isIdle() { return this.tweens.isEmpty(); }
+
+	/**
+	 * Returns {@code true} if a given {@link ObjectProperty} is currently being animated.
+	 * @param property The {@link ObjectProperty}.
+	 */
+	public final boolean isAnimating(@NotNull ObjectProperty<?> property) { return this.animated.containsKey(property); }
+	// --------------------------------------------------
+	/**
+	 * Animates a {@link DoubleProperty} toward a target value.
+	 * @param property The {@link DoubleProperty} to animate.
+	 * @param target The value to animate toward.
+	 * @param duration The duration, in game ticks.
+	 * @param easing The {@link Easing} function.
+	 * @param whoIsAsking The {@link Class} the property values are set on behalf of.
+	 * @return The started {@link Tween}.
+	 * @throws NullPointerException If an argument is {@code null}.
+	 * @see #animate(ObjectProperty, Object, double, Easing, Interpolator, Class)
+	 */
+	public final @NotNull Tween<Double> animate(
+			@NotNull DoubleProperty property, double target, double duration,
+			@NotNull Easing easing, @NotNull Class<?> whoIsAsking) throws NullPointerException {
+		return animate(property, target, duration, easing, (a, b, t) -> a + ((b - a) * t), whoIsAsking);
+	}
+
+	/**
+	 * Animates an {@link IntegerProperty} toward a target value. Intermediate values are rounded.
+	 * @param property The {@link IntegerProperty} to animate.
+	 * @param target The value to animate toward.
+	 * @param duration The duration, in game ticks.
+	 * @param easing The {@link Easing} function.
+	 * @param whoIsAsking The {@link Class} the property values are set on behalf of.
+	 * @return The started {@link Tween}.
+	 * @throws NullPointerException If an argument is {@code null}.
+	 * @see #animate(ObjectProperty, Object, double, Easing, Interpolator, Class)
+	 */
+	public final @NotNull Tween<Integer> animate(
+			@NotNull IntegerProperty property, int target, double duration,
+			@NotNull Easing easing, @NotNull Class<?> whoIsAsking) throws NullPointerException {
+		return animate(property, target, duration, easing, (a, b, t) -> (int) Math.round(a + ((b - a) * t)), whoIsAsking);
+	}
+
+	/**
+	 * Animates a {@link Point2d} {@link ObjectProperty} toward a target value.
+	 * @param property The {@link ObjectProperty} to animate.
+	 * @param target The value to animate toward.
+	 * @param duration The duration, in game ticks.
+	 * @param easing The {@link Easing} function.
+	 * @param whoIsAsking The {@link Class} the property values are set on behalf of.
+	 * @return The started {@link Tween}.
+	 * @throws NullPointerException If an argument is {@code null}.
+	 * @see #animate(ObjectProperty, Object, double, Easing, Interpolator, Class)
+	 */
+	public final @NotNull Tween<Point2d> animate(
+			@NotNull ObjectProperty<Point2d> property, @NotNull Point2d target, double duration,
+			@NotNull Easing easing, @NotNull Class<?> whoIsAsking) throws NullPointerException {
+		return animate(property, target, duration, easing,
+				(a, b, t) -> new Point2d(a.x + ((b.x - a.x) * t), a.y + ((b.y - a.y) * t)), whoIsAsking);
+	}
+
+	/**
+	 * Animates an {@link ObjectProperty} from its current value toward a target value.
+	 * <p>
+	 * If the {@link ObjectProperty} is already being animated, that animation is cancelled
+	 * and the new one picks up from wherever the old one left off.
+	 * @param property The {@link ObjectProperty} to animate.
+	 * @param target The value to animate toward.
+	 * @param duration The duration, in game ticks. Values of {@code 0} or less complete
+	 * the animation on the next frame.
+	 * @param easing The {@link Easing} function.
+	 * @param interpolator The {@link Interpolator} that calculates intermediate values.
+	 * @param whoIsAsking The {@link Class} the property values are set on behalf of.
+	 * See {@link ObjectProperty#set(Object, Class)}.
+	 * @return The started {@link Tween}.
+	 * @throws NullPointerException If an argument is {@code null}, or if the property's value is.
+	 */
+	public final <T> @NotNull Tween<T> animate(
+			@NotNull ObjectProperty<T> property, @NotNull T target, double duration,
+			@NotNull Easing easing, @NotNull Interpolator<T> interpolator, @NotNull Class<?> whoIsAsking)
+			throws NullPointerException
+	{
+		final var tween = new Tween<>(
+				property, Objects.requireNonNull(property.get()), target, duration,
+				easing, interpolator, whoIsAsking);
+		final var old = this.animated.put(property, tween);
+		if(old != null) old.cancel();
+		this.tweens.add(tween);
+		return tween;
+	}
+
+	/**
+	 * Cancels the animation of a given {@link ObjectProperty}, if there is one.
+	 * The property keeps its current value.
+	 * @param property The {@link ObjectProperty}.
+	 */
+	public final void cancel(@NotNull ObjectProperty<?> property) {
+		final var tween = this.animated.remove(property);
+		if(tween != null) tween.cancel();
+	}
+
+	/**
+	 * Cancels all active animations. The animated properties keep their current values.
+	 */
+	public final void cancelAll() {
+		for(final var tween : this.tweens.toArray(Tween[]::new)) tween.cancel();
+		this.tweens.clear();
+		this.animated.clear();
+	}
+	// --------------------------------------------------
+	/**
+	 * Advances all active animations by a given amount of time.
+	 * @param deltaTicks The time that has passed since the last call, in game ticks.
+	 * @apiNote If an animated property's filters or listeners throw, the animation is
+	 * no longer active, and the exception is propagated.
+	 */
+	public final void advance(float deltaTicks)
+	{
+		if(this.tweens.isEmpty()) return;
+		final double delta = Math.max(deltaTicks, 0);
+
+		//tweens that get started by listeners while advancing are advanced starting next frame
+		final Tween<?>[] tweens = this.tweens.toArray(Tween[]::new);
+		try {
+			for(final var tween : tweens) {
+				if(tween.cancelled || tween.done) continue;
+				try { tween.advance(delta); }
+				catch(RuntimeException e) { tween.cancel(); throw e; }
+			}
+		}
+		finally {
+			//forget about the tweens that are no longer active
+			this.tweens.removeIf(tween -> {
+				if(!tween.done && !tween.cancelled) return false;
+				this.animated.remove(tween.property, tween);
+				return true;
+			});
+		}
+	}
+	// ================================================== ==================================================
+	//                                             Easing IMPLEMENTATION
+	// ================================================== ==================================================
+	/**
+	 * Maps the linear progress of an animation onto an eased progress.
+	 */
+	@FunctionalInterface
+	public static interface Easing
+	{
+		// ==================================================
+		/** Constant speed. */
+		public static final Easing LINEAR      = t -> t;
+		/** Starts slow, and speeds up. Cubic. */
+		public static final Easing EASE_IN     = t -> t * t * t;
+		/** Starts fast, and slows down. Cubic. */
+		public static final Easing EASE_OUT    = t -> 1 - Math.pow(1 - t, 3);
+		/** Starts and ends slow. Cubic. */
+		public static final Easing EASE_IN_OUT = t -> (t < 0.5) ? 4 * t * t * t : 1 - (Math.pow((-2 * t) + 2, 3) / 2);
+		// ==================================================
+		/**
+		 * Eases a given progress value.
+		 * @param t The linear progress, ranging {@code 0 to 1}.
+		 * @return The eased progress. Usually ranges {@code 0 to 1}, but may overshoot.
+		 */
+		public double apply(double t);
+		// ==================================================
+	}
+	// ================================================== ==================================================
+	//                                       Interpolator IMPLEMENTATION
+	// ================================================== ==================================================
+	/**
+	 * Calculates intermediate values between two values.
+	 * @param <T> The type of the values.
+	 */
+	@FunctionalInterface
+	public static interface Interpolator<T>
+	{
+		/**
+		 * Returns the value at a given progress between two values.
+		 * @param from The start value.
+		 * @param to The end value.
+		 * @param t The eased progress. Usually ranges {@code 0 to 1}, but may overshoot.
+		 */
+		public @NotNull T interpolate(@NotNull T from, @NotNull T to, double t);
+	}
+	// ================================================== ==================================================
+	//                                              Tween IMPLEMENTATION
+	// ================================================== ==================================================
+	/**
+	 * An animation of an {@link ObjectProperty} toward a target value,
+	 * that was started on a {@link TAnimator}.
+	 * @param <T> The type of the animated value.
+	 */
+	public static final class Tween<T>
+	{
+		// ==================================================
+		private final ObjectProperty<T> property;
+		private final T                 from, to;
+		private final double            duration;
+		private final Easing            easing;
+		private final Interpolator<T>   interpolator;
+		private final Class<?>          whoIsAsking;
+		// --------------------------------------------------
+		private double  elapsed   = 0;
+		private boolean done      = false;
+		private boolean cancelled = false;
+		// --------------------------------------------------
+		/**
+		 * An event that is invoked once this {@link Tween} is done, after
+		 * the target value was set. Not invoked for cancelled {@link Tween}s.
+		 * <p>
+		 * The {@link Consumer} provides an instance of {@code this} for convenience.
+		 */
+		public final Event<Consumer<Tween<T>>> eCompleted = Events.createLoop();
+		// ==================================================
+		private Tween(
+				@NotNull ObjectProperty<T> property, @NotNull T from, @NotNull T to, double duration,
+				@NotNull Easing easing, @NotNull Interpolator<T> interpolator, @NotNull Class<?> whoIsAsking)
+		{
+			this.property     = property;
+			this.from         = from;
+			this.to           = Objects.requireNonNull(to);
+			this.duration     = Math.max(duration, 0);
+			this.easing       = Objects.requireNonNull(easing);
+			this.interpolator = Objects.requireNonNull(interpolator);
+			this.whoIsAsking  = Objects.requireNonNull(whoIsAsking);
+		}
+		// ==================================================
+		/**
+		 * Returns the {@link ObjectProperty} this {@link Tween} animates.
+		 */
+		public final @NotNull ObjectProperty<T> getProperty() { return this.property; }
+
+		/**
+		 * Returns the linear progress of this {@link Tween}, ranging {@code 0 to 1}.
+		 */
+		public final double getProgress() { return (this.duration == 0) ? (this.done ? 1 : 0) : Math.min(this.elapsed / this.duration, 1); }
+
+		/**
+		 * Returns {@code true} if this {@link Tween} is done.
+		 */
+		public final boolean isDone() { return this.done; }
+
+		/**
+		 * Returns {@code true} if this {@link Tween} was cancelled.
+		 */
+		public final boolean isCancelled() { return this.cancelled; }
+
+		/**
+		 * Cancels this {@link Tween}, leaving the property at its current value.
+		 * Does nothing if this {@link Tween} is already done.
+		 */
+		public final void cancel() { if(!this.done) this.cancelled = true; }
+		// --------------------------------------------------
+		/**
+		 * Advances this {@link Tween} by a given amount of time, and updates the property.
+		 */
+		private final void advance(double delta)
+		{
+			this.elapsed += delta;
+			final double progress = getProgress();
+			if(progress < 1 && this.duration > 0) {
+				this.property.set(this.interpolator.interpolate(this.from, this.to, this.easing.apply(progress)), this.whoIsAsking);
+				return;
+			}
+			this.property.set(this.to, this.whoIsAsking);
+			this.done = !this.cancelled; //listeners may have cancelled it while the value was set
+			if(this.done) this.eCompleted.invoker().accept(this);
+		}
+		// ==================================================
+	}
+	// ================================================== ==================================================
+}
@@ -0,0 +1,108 @@
+package com.thecsdev.commonmc.api.client.gui.util;
+
+import com.thecsdev.common.util.FrameBudgetScheduler;
+import com.thecsdev.common.util.TUtils;
+import com.thecsdev.commonmc.api.client.gui.TElement;
+import com.thecsdev.commonmc.api.client.gui.screen.TScreen;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static com.thecsdev.commonmc.TCDCommons.LOGGER;
+
+/**
+ * A {@link TElement} subtree that is built off of the render thread, and then attached to
+ * a {@link TScreen}'s element tree on the render thread, in one step.
+ * <p>
+ * Building an element tree is mostly plain Java, and can therefore take place on a worker
+ * thread while the data it displays loads, as long as the subtree is detached, and stays
+ * confined to the thread that builds it. The render thread then only pays for adding the
+ * finished subtree to its parent.
+ * <p>
+ * In development environments, {@link TElement}s assert this confinement, and throw an
+ * {@link IllegalStateException} when an element tree is modified from the wrong thread.
+ *
+ * @param <E> The type of the subtree's root {@link TElement}.
+ * @apiNote The builder may create {@link TElement}s and modify detached element trees,
+ * but must not touch a {@link TScreen}'s element tree, nor anything else that is only
+ * safe to use on the render thread.
+ */
+@Environment(EnvType.CLIENT)
+public final class TAsyncSubtree<E extends TElement>
+{
+	// ==================================================
+	private final CompletableFuture<E> future;
+	// ==================================================
+	private TAsyncSubtree(@NotNull Supplier<E> builder) {
+		this.future = CompletableFuture.supplyAsync(() -> {
+			final var root = Objects.requireNonNull(builder.get(), "The builder returned a 'null' element");
+			if(root.getParent() != null)
+				throw new IllegalStateException("The builder returned an element that is not detached");
+			return root;
+		}, TUtils.getVirtualThreadPerTaskExecutor());
+	}
+	// ==================================================
+	/**
+	 * Starts building a detached {@link TElement} subtree on
+	 * {@link TUtils#getVirtualThreadPerTaskExecutor()}.
+	 * @param builder Builds and returns the subtree's root {@link TElement}. Runs asynchronously.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 */
+	public static final <E extends TElement> @NotNull TAsyncSubtree<E> build(@NotNull Supplier<E> builder)
+			throws NullPointerException {
+		return new TAsyncSubtree<>(Objects.requireNonNull(builder));
+	}
+	// ==================================================
+	/**
+	 * Returns the {@link CompletableFuture} that completes with the subtree's root
+	 * {@link TElement} once it is built, or exceptionally if building it failed.
+	 */
+	public final @NotNull CompletableFuture<E> getFuture() { return this.future; }
+
+	/**
+	 * Returns {@code true} if the subtree is done building, successfully or not.
+	 */
+	public final boolean isDone() { return this.future.isDone(); }
+	// --------------------------------------------------
+	/**
+	 * Attaches the subtree to a given parent {@link TElement} as soon as it is built.
+	 * <p>
+	 * The attachment is carried out by the parent's {@link TScreen#getScheduler()}, before
+	 * the first frame that follows the subtree being built, so it is laid out and rendered
+	 * right away. Nothing is attached if building the subtree failed, in which case the
+	 * failure is logged, or if the parent no longer is on the same {@link TScreen} by then.
+	 * @param parent The parent {@link TElement}. Must be on a {@link TScreen}.
+	 * @return The {@link FrameBudgetScheduler.Task} that attaches the subtree. Cancelling it
+	 * prevents the attachment. Until the subtree is built, it costs the render thread a single
+	 * check per frame.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 * @throws IllegalStateException If the parent is not on a {@link TScreen}.
+	 * @apiNote Must be called on the render thread.
+	 */
+	public final @NotNull FrameBudgetScheduler.Task attachTo(@NotNull TElement parent)
+			throws NullPointerException, IllegalStateException
+	{
+		final @Nullable var screen = (parent instanceof TScreen s) ? s : parent.screenProperty().get();
+		if(screen == null) throw new IllegalStateException("The parent element is not on a screen");
+		return screen.getScheduler().submitWhen(this.future::isDone, () -> {
+			//building the subtree may have failed, in which case the failure is reported here
+			if(this.future.state() != Future.State.SUCCESS) {
+				if(this.future.state() == Future.State.FAILED)
+					LOGGER.error("Failed to build an element subtree for {}", parent.getClass(), this.future.exceptionNow());
+				return 1;
+			}
+			//attach the subtree in one step, if the parent is still there
+			final var root = this.future.resultNow();
+			final boolean onScreen = (parent == screen) || (parent.screenProperty().get() == screen);
+			if(onScreen && root.getParent() == null) parent.add(root);
+			return 1;
+		});
+	}
+	// ==================================================
+}
@@ -0,0 +1,303 @@
+package com.thecsdev.commonmc.api.client.gui.util;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.thecsdev.common.config.JsonConfig;
+import com.thecsdev.commonmc.api.client.gui.TElement;
+import com.thecsdev.commonmc.api.client.gui.render.TGuiGraphics;
+import com.thecsdev.commonmc.api.client.gui.screen.TScreen;
+import com.thecsdev.commonmc.api.client.registry.TClientRegistries;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.Minecraft;
+import net.minecraft.core.Registry;
+import net.minecraft.network.chat.Component;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+import static com.thecsdev.commonmc.TCDCommons.MOD_ID;
+import static java.lang.System.nanoTime;
+import static net.minecraft.resources.Identifier.fromNamespaceAndPath;
+
+/**
+ * An opt-in profiler that measures how much time {@link TElement}s spend in their
+ * {@link TElement#renderCallback(TGuiGraphics)}, {@link TElement#postRenderCallback(TGuiGraphics)},
+ * {@code tickCallback()}, and {@link TElement#inputCallback(TInputContext.InputDiscoveryPhase, TInputContext)}.
+ * <p>
+ * Measurements are aggregated by {@link TElement} {@link Class}, into preallocated buffers,
+ * over one-second windows. The results of the last completed window can be viewed in-game
+ * via an overlay on the HUD, or exported as a JSON report via {@link #writeReport(Path)}.
+ *
+ * @apiNote Not thread-safe. Is only to be used on the game's main client thread.
+ */
+@Environment(EnvType.CLIENT)
+public final class TGuiProfiler
+{
+	// ==================================================
+	/**
+	 * The types of callbacks that are measured by the {@link TGuiProfiler}.
+	 */
+	public enum Metric { RENDER, POST_RENDER, TICK, INPUT }
+	// --------------------------------------------------
+	private static final Metric[] METRICS        = Metric.values();
+	private static final int      METRIC_COUNT   = METRICS.length;
+	private static final long     WINDOW_NANOS   = 1_000_000_000L;
+	private static final int      OVERLAY_LINES  = 10;
+	// --------------------------------------------------
+	private static boolean enabled = false;
+	private static @Nullable Overlay overlay;
+	// --------------------------------------------------
+	//the current window's buffers. element classes are assigned slots that persist across windows
+	private static final Object2IntOpenHashMap<Class<?>> SLOTS = new Object2IntOpenHashMap<>(64);
+	private static Class<?>[] slotClasses = new Class<?>[64];
+	private static long[]     nanos       = new long[64 * METRIC_COUNT];
+	private static long[]     calls       = new long[64 * METRIC_COUNT];
+	private static int        slotCount   = 0;
+	private static long       windowStart = 0;
+	// --------------------------------------------------
+	//the results of the last completed window
+	private static List<Sample>    lastSamples      = List.of();
+	private static List<Component> lastOverlayLines = List.of();
+	private static long            lastWindowNanos  = 0;
+	// ==================================================
+	private TGuiProfiler() {}
+	static { SLOTS.defaultReturnValue(-1); }
+	// ==================================================
+	/**
+	 * Returns {@code true} if the {@link TGuiProfiler} is currently measuring.
+	 */
+	public static final boolean isEnabled() { return enabled; }
+
+	/**
+	 * Enables or disables the {@link TGuiProfiler}. Enabling it also shows
+	 * its overlay on the game's HUD, if a game client is present.
+	 * @param value The new enabled state.
+	 */
+	public static final void setEnabled(boolean value)
+	{
+		if(enabled == value) return;
+		enabled = value;
+		reset();
+
+		//the hud overlay is registered once, the first time the profiler is enabled.
+		//it does not render anything while the profiler is disabled
+		if(value && overlay == null && Minecraft.getInstance() != null) {
+			overlay = new Overlay();
+			Registry.register(TClientRegistries.HUD_SCREEN, fromNamespaceAndPath(MOD_ID, "gui_profiler"), overlay.getAsScreen());
+		}
+	}
+
+	/**
+	 * Discards all measurements, including the ones from the last completed window.
+	 */
+	public static final void reset()
+	{
+		Arrays.fill(nanos, 0, slotCount * METRIC_COUNT, 0L);
+		Arrays.fill(calls, 0, slotCount * METRIC_COUNT, 0L);
+		windowStart      = 0;
+		lastSamples      = List.of();
+		lastOverlayLines = List.of();
+		lastWindowNanos  = 0;
+	}
+	// ==================================================
+	/**
+	 * Records the time a {@link TElement} spent in one of its callbacks.
+	 * @param metric The {@link Metric} being recorded.
+	 * @param element The {@link TElement} whose callback was measured.
+	 * @param startNanos The {@link System#nanoTime()} value from before the callback was called.
+	 */
+	@ApiStatus.Internal
+	public static final void record(@NotNull Metric metric, @NotNull TElement element, long startNanos)
+	{
+		final long elapsed = nanoTime() - startNanos;
+		final int  i       = slotOf(element.getClass()) * METRIC_COUNT + metric.ordinal();
+		nanos[i] += elapsed;
+		calls[i]++;
+	}
+
+	/**
+	 * Completes the current measuring window if it has lasted long enough,
+	 * publishing its results and starting a new window.
+	 * @apiNote Called once per rendered {@link TScreen}.
+	 */
+	@ApiStatus.Internal
+	public static final void updateWindow()
+	{
+		final long now = nanoTime();
+		if(windowStart == 0) { windowStart = now; return; }
+		else if(now - windowStart < WINDOW_NANOS) return;
+
+		//publish the results of the completed window
+		final var samples = new ArrayList<Sample>(slotCount);
+		for(int slot = 0; slot < slotCount; slot++) {
+			final int from = slot * METRIC_COUNT, to = from + METRIC_COUNT;
+			final var sample = new Sample(slotClasses[slot],
+					Arrays.copyOfRange(nanos, from, to),
+					Arrays.copyOfRange(calls, from, to));
+			if(sample.getTotalCalls() > 0) samples.add(sample);
+		}
+		samples.sort(Comparator.comparingLong(Sample::getTotalNanos).reversed());
+		lastSamples      = List.copyOf(samples);
+		lastOverlayLines = createOverlayLines(lastSamples);
+		lastWindowNanos  = now - windowStart;
+
+		//and then start a new window
+		Arrays.fill(nanos, 0, slotCount * METRIC_COUNT, 0L);
+		Arrays.fill(calls, 0, slotCount * METRIC_COUNT, 0L);
+		windowStart = now;
+	}
+	// --------------------------------------------------
+	private static final int slotOf(@NotNull Class<?> elementClass)
+	{
+		//most lookups are for classes that already have a slot
+		final int slot = SLOTS.getInt(elementClass);
+		if(slot != -1) return slot;
+
+		//grow the buffers when full, which rarely happens, as there are only so many element classes
+		if(slotCount == slotClasses.length) {
+			slotClasses = Arrays.copyOf(slotClasses, slotClasses.length * 2);
+			nanos       = Arrays.copyOf(nanos, nanos.length * 2);
+			calls       = Arrays.copyOf(calls, calls.length * 2);
+		}
+		slotClasses[slotCount] = elementClass;
+		SLOTS.put(elementClass, slotCount);
+		return slotCount++;
+	}
+	// ==================================================
+	/**
+	 * Returns the measurements from the last completed window, sorted by
+	 * the total time spent, in descending order.
+	 */
+	public static final @NotNull List<Sample> getLastSamples() { return lastSamples; }
+
+	/**
+	 * Returns a {@link JsonObject} report of the measurements from the last completed window.
+	 */
+	public static final @NotNull JsonObject createReport()
+	{
+		final var report   = new JsonObject();
+		final var elements = new JsonArray();
+		report.addProperty("windowNanos", lastWindowNanos);
+		for(final var sample : lastSamples)
+		{
+			final var element = new JsonObject();
+			element.addProperty("class", sample.getElementClass().getName());
+			element.addProperty("totalNanos", sample.getTotalNanos());
+			for(final var metric : METRICS) {
+				final var m = new JsonObject();
+				m.addProperty("nanos", sample.getNanos(metric));
+				m.addProperty("calls", sample.getCalls(metric));
+				element.add(metric.name().toLowerCase(Locale.ROOT), m);
+			}
+			elements.add(element);
+		}
+		report.add("elements", elements);
+		return report;
+	}
+
+	/**
+	 * Writes the {@link #createReport()} JSON report to a file.
+	 * @param file The file to write to.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	public static final void writeReport(@NotNull Path file) throws NullPointerException, IOException {
+		Files.writeString(Objects.requireNonNull(file), JsonConfig.GSON.toJson(createReport()));
+	}
+	// --------------------------------------------------
+	private static final List<Component> createOverlayLines(@NotNull List<Sample> samples)
+	{
+		final var lines = new ArrayList<Component>(OVERLAY_LINES + 1);
+		lines.add(Component.literal("GUI profiler - ms/s (calls/s)"));
+		for(int i = 0; i < Math.min(OVERLAY_LINES, samples.size()); i++) {
+			final var s = samples.get(i);
+			lines.add(Component.literal(String.format(Locale.ROOT, "%.2f (%d) %s - R %.2f, P %.2f, T %.2f, I %.2f",
+					s.getTotalNanos() / 1e6, s.getTotalCalls(), s.getElementClass().getSimpleName(),
+					s.getNanos(Metric.RENDER) / 1e6, s.getNanos(Metric.POST_RENDER) / 1e6,
+					s.getNanos(Metric.TICK) / 1e6, s.getNanos(Metric.INPUT) / 1e6)));
+		}
+		return List.copyOf(lines);
+	}
+	// ==================================================
+	/**
+	 * The measurements of a single {@link TElement} {@link Class}, over one window.
+	 */
+	public static final class Sample
+	{
+		// ==================================================
+		private final Class<?> elementClass;
+		private final long[]   nanos, calls;
+		private final long     totalNanos, totalCalls;
+		// ==================================================
+		private Sample(@NotNull Class<?> elementClass, long[] nanos, long[] calls)
+		{
+			this.elementClass = elementClass;
+			this.nanos        = nanos;
+			this.calls        = calls;
+			long tn = 0, tc = 0;
+			for(int i = 0; i < METRIC_COUNT; i++) { tn += nanos[i]; tc += calls[i]; }
+			this.totalNanos = tn;
+			this.totalCalls = tc;
+		}
+		// ==================================================
+		/**
+		 * Returns the {@link TElement} {@link Class} that was measured.
+		 */
+		public final @NotNull Class<?> getElementClass() { return this.elementClass; }
+
+		/**
+		 * Returns the total time spent in a given {@link Metric}'s callback, in nanoseconds.
+		 */
+		public final long getNanos(@NotNull Metric metric) { return this.nanos[metric.ordinal()]; }
+
+		/**
+		 * Returns the number of times a given {@link Metric}'s callback was called.
+		 */
+		public final long getCalls(@NotNull Metric metric) { return this.calls[metric.ordinal()]; }
+
+		/**
+		 * Returns the total time spent in all measured callbacks, in nanoseconds.
+		 */
+		public final long getTotalNanos() { return this.totalNanos; }
+
+		/**
+		 * Returns the total number of calls to all measured callbacks.
+		 */
+		public final long getTotalCalls() { return this.totalCalls; }
+		// ==================================================
+	}
+	// ==================================================
+	/**
+	 * The HUD overlay that shows the top offenders from the last completed window.
+	 */
+	@ApiStatus.Internal
+	private static final class Overlay extends TScreen
+	{
+		protected final @Override void initCallback() {}
+		public final @Override void renderCallback(@NotNull TGuiGraphics pencil)
+		{
+			if(!enabled) return;
+			final var font  = Minecraft.getInstance().font;
+			final var lines = lastOverlayLines;
+			int y = 2;
+			pencil.fillColor(0, 0, getBounds().width, (lines.size() * (font.lineHeight + 1)) + 3, 0x90000000);
+			for(final var line : lines) {
+				pencil.drawText(font, line, 2, y, 0xFFFFFFFF, false);
+				y += font.lineHeight + 1;
+			}
+		}
+	}
+	// ==================================================
+}
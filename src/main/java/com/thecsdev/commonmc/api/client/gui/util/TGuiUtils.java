@@ -5,6 +5,7 @@ import com.thecsdev.common.math.Bounds2i;
 import com.thecsdev.commonmc.TCDCommons;
 import com.thecsdev.commonmc.api.client.gui.TElement;
 import com.thecsdev.commonmc.api.client.gui.panel.TPanelElement;
+import com.thecsdev.commonmc.api.client.gui.screen.TScreen;
 import com.thecsdev.commonmc.api.client.gui.widget.TClickableWidget;
 import com.thecsdev.commonmc.api.client.gui.widget.text.TSimpleTextFieldWidget;
 import com.thecsdev.commonmc.client.mixin.hooks.AccessorGameRenderer;
@@ -106,17 +107,11 @@ public final class TGuiUtils
 	 * @param text The {@link Component} whose text is measured.
 	 * @param font The {@link Font} used to measure the text.
 	 * @throws NullPointerException If an argument is {@code null}.
+	 * @see TTextLayoutCache
 	 */
 	public static final int calcMaxLineWidth(@NotNull Component text, @NotNull Font font)
-			throws NullPointerException
-	{
-		//prepare for iteration
-		final var lines = text.getString().replace("\r\n", "\n").split("\n");
-		//iterate, keep track of longest line, and return its width
-		int maxWidth = 0;
-		for(final var line : lines)
-			maxWidth = Math.max(font.width(line), maxWidth);
-		return maxWidth;
+			throws NullPointerException {
+		return TTextLayoutCache.get(text, font, Integer.MAX_VALUE).getMaxLineWidth();
 	}
 
 	/**
@@ -165,6 +160,11 @@ public final class TGuiUtils
 	public static final @Nullable TElement previousFocusableTElement(
 			TElement target, boolean underflow) throws NullPointerException
 	{
+		//elements on a screen use the screen's focus order, which is kept up to date
+		final @Nullable var screen = (target instanceof TScreen s) ? s : Objects.requireNonNull(target).screenProperty().get();
+		if(screen != null && screen.getParent() == null)
+			return screen.previousFocusableElement(target, underflow);
+
 		//we start from the root element
 		TElement root = Objects.requireNonNull(target).findParent(el -> el.getParent() == null).orElse(null);
 		if(root == null) root = target; //we need a root
@@ -206,6 +206,11 @@ public final class TGuiUtils
 	public static final @Nullable TElement nextFocusableTElement(
 			TElement target, boolean overflow) throws NullPointerException
 	{
+		//elements on a screen use the screen's focus order, which is kept up to date
+		final @Nullable var screen = (target instanceof TScreen s) ? s : Objects.requireNonNull(target).screenProperty().get();
+		if(screen != null && screen.getParent() == null)
+			return screen.nextFocusableElement(target, overflow);
+
 		//we start from the root element
 		TElement root = Objects.requireNonNull(target).findParent(el -> el.getParent() == null).orElse(null);
 		if(root == null) root = target; //we need a root
@@ -247,11 +252,11 @@ public final class TGuiUtils
 		//obtain the element's parent panel. we can't proceed without it
 		final var panel = (TPanelElement) target.findParent(p -> p instanceof TPanelElement).orElse(null);
 		if(panel == null) //if there's no panel, can't scroll
-			return screen.getBounds().contains(target.getBounds());
+			return screen.getBounds().contains(target.getScreenBounds());
 
-		//obtain bounding boxes. this will be used for maths
-		final var pbb = panel.getBounds();  //panel
-		final var tbb = target.getBounds(); //target
+		//obtain screen-space bounding boxes. this will be used for maths
+		final var pbb = panel.getScreenBounds();  //panel
+		final var tbb = target.getScreenBounds(); //target
 		//calculate deltaX and deltaY for how much the panel needs be scrolled
 		//for the element to show up in panel's view
 		int dX = 0, dY = 0;
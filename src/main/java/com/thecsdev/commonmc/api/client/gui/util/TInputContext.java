@@ -2,12 +2,19 @@ package com.thecsdev.commonmc.api.client.gui.util;
 
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Objects;
-
 /**
  * Holds information about a user's input.
+ * <p>
+ * Values are stored as primitives, alongside a bitmask of {@code HAS_} bits that tells
+ * which of them are present for the given {@link InputType}.
+ *
+ * @apiNote Instances passed to input callbacks are reused for subsequent inputs, and
+ * must not outlive the callback. Handlers that hold on to one beyond the callback, such
+ * as in deferred lambdas, must hold on to a {@link #copy()} instead. Instances created via
+ * the {@code of} factory methods and {@link #copy()} are immutable.
  */
 @Environment(EnvType.CLIENT)
 public final class TInputContext
@@ -64,58 +71,75 @@ public final class TInputContext
 		}
 	}
 	// ==================================================
-	private final InputType inputType;
-	private final @Nullable Integer keyCode, scanCode, keyModifiers;
-	private final @Nullable Character character;
-	private final @Nullable Double mouseX, mouseY;
-	private final @Nullable Integer mouseButton;
-	private final @Nullable Double scrollX, scrollY;
-	private final @Nullable Double mouseDeltaX, mouseDeltaY;
+	/** Presence bit for {@link #getKeyCodeI()}, {@link #getScanCodeI()}. */
+	public static final int HAS_KEY       = 1;
+	/** Presence bit for {@link #getKeyModifiersI()}. */
+	public static final int HAS_MODIFIERS = 1 << 1;
+	/** Presence bit for {@link #getCharacterC()}. */
+	public static final int HAS_CHARACTER = 1 << 2;
+	/** Presence bit for {@link #getMouseXD()}, {@link #getMouseYD()}. */
+	public static final int HAS_MOUSE_POS = 1 << 3;
+	/** Presence bit for {@link #getMouseButtonI()}. */
+	public static final int HAS_BUTTON    = 1 << 4;
+	/** Presence bit for {@link #getScrollXD()}, {@link #getScrollYD()}. */
+	public static final int HAS_SCROLL    = 1 << 5;
+	/** Presence bit for {@link #getMouseDeltaXD()}, {@link #getMouseDeltaYD()}. */
+	public static final int HAS_DELTA     = 1 << 6;
 	// ==================================================
-	private TInputContext(
-			InputType inputType,
-			@Nullable Integer keyCode, @Nullable Integer scanCode, @Nullable Integer keyModifiers,
-			@Nullable Character character,
-			@Nullable Double mouseX, @Nullable Double mouseY, @Nullable Integer mouseButton,
-			@Nullable Double scrollX, @Nullable Double scrollY,
-			@Nullable Double mouseDeltaX, @Nullable Double mouseDeltaY)
-	{
-		this.inputType    = Objects.requireNonNull(inputType);
-		this.keyCode      = keyCode;
-		this.scanCode     = scanCode;
-		this.keyModifiers = keyModifiers;
-		this.character    = character;
-		this.mouseX       = mouseX;
-		this.mouseY       = mouseY;
-		this.mouseButton  = mouseButton;
-		this.scrollX      = scrollX;
-		this.scrollY      = scrollY;
-		this.mouseDeltaX  = mouseDeltaX;
-		this.mouseDeltaY  = mouseDeltaY;
-	}
+	//primitives, so creating and reading contexts does not box anything.
+	//the presence mask tells which of them carry meaningful values
+	private InputType inputType;
+	private int       present;
+	private int       keyCode, scanCode, keyModifiers, mouseButton;
+	private char      character;
+	private double    mouseX, mouseY, scrollX, scrollY, mouseDeltaX, mouseDeltaY;
+	// --------------------------------------------------
+	private final boolean reusable; //only reusable instances may be modified after creation
+	// ==================================================
+	private TInputContext(boolean reusable) { this.inputType = InputType.KEY_PRESS; this.reusable = reusable; }
+
+	/**
+	 * Creates an empty, reusable {@link TInputContext} of type {@link InputType#KEY_PRESS},
+	 * that is meant to be filled in using one of the {@code set} methods, once per input.
+	 * @apiNote {@link ApiStatus.Internal}. Use the {@code of} factory methods instead.
+	 */
+	@ApiStatus.Internal
+	public static final TInputContext createReusable() { return new TInputContext(true); }
 	// ==================================================
 	public final @Override int hashCode()
 	{
-		return Objects.hash(this.inputType, this.keyCode, this.scanCode, this.keyModifiers,
-				this.character, this.mouseX, this.mouseY, this.mouseButton, this.scrollX,
-				this.scrollY, this.mouseDeltaX, this.mouseDeltaY);
+		int hash = 31 * this.inputType.hashCode() + this.present;
+		hash = 31 * hash + this.keyCode;
+		hash = 31 * hash + this.scanCode;
+		hash = 31 * hash + this.keyModifiers;
+		hash = 31 * hash + this.character;
+		hash = 31 * hash + Double.hashCode(this.mouseX);
+		hash = 31 * hash + Double.hashCode(this.mouseY);
+		hash = 31 * hash + this.mouseButton;
+		hash = 31 * hash + Double.hashCode(this.scrollX);
+		hash = 31 * hash + Double.hashCode(this.scrollY);
+		hash = 31 * hash + Double.hashCode(this.mouseDeltaX);
+		hash = 31 * hash + Double.hashCode(this.mouseDeltaY);
+		return hash;
 	}
 	public final @Override boolean equals(Object obj)
 	{
 		if (this == obj) return true;
+		//absent values are always zero, so they can be compared just like present ones
 		if (obj instanceof TInputContext other)
-			return Objects.equals(this.inputType, other.inputType) &&
-				Objects.equals(this.keyCode, other.keyCode) &&
-				Objects.equals(this.scanCode, other.scanCode) &&
-				Objects.equals(this.keyModifiers, other.keyModifiers) &&
-				Objects.equals(this.character, other.character) &&
-				Objects.equals(this.mouseX, other.mouseX) &&
-				Objects.equals(this.mouseY, other.mouseY) &&
-				Objects.equals(this.mouseButton, other.mouseButton) &&
-				Objects.equals(this.scrollX, other.scrollX) &&
-				Objects.equals(this.scrollY, other.scrollY) &&
-				Objects.equals(this.mouseDeltaX, other.mouseDeltaX) &&
-				Objects.equals(this.mouseDeltaY, other.mouseDeltaY);
+			return this.inputType == other.inputType &&
+				this.present == other.present &&
+				this.keyCode == other.keyCode &&
+				this.scanCode == other.scanCode &&
+				this.keyModifiers == other.keyModifiers &&
+				this.character == other.character &&
+				Double.compare(this.mouseX, other.mouseX) == 0 &&
+				Double.compare(this.mouseY, other.mouseY) == 0 &&
+				this.mouseButton == other.mouseButton &&
+				Double.compare(this.scrollX, other.scrollX) == 0 &&
+				Double.compare(this.scrollY, other.scrollY) == 0 &&
+				Double.compare(this.mouseDeltaX, other.mouseDeltaX) == 0 &&
+				Double.compare(this.mouseDeltaY, other.mouseDeltaY) == 0;
 		else return false;
 	}
 	// --------------------------------------------------
@@ -126,7 +150,7 @@ public final class TInputContext
 	 * @param modifiers The key modifiers.
 	 */
 	public static final TInputContext ofKeyPress(int keyCode, int scanCode, int modifiers) {
-		return new TInputContext(InputType.KEY_PRESS, keyCode, scanCode, modifiers, null, null, null, null, null, null, null, null);
+		return new TInputContext(false).fillKeyPress(keyCode, scanCode, modifiers);
 	}
 
 	/**
@@ -136,7 +160,7 @@ public final class TInputContext
 	 * @param modifiers The key modifiers.
 	 */
 	public static final TInputContext ofKeyRelease(int keyCode, int scanCode, int modifiers) {
-		return new TInputContext(InputType.KEY_RELEASE, keyCode, scanCode, modifiers, null, null, null, null, null, null, null, null);
+		return new TInputContext(false).fillKeyRelease(keyCode, scanCode, modifiers);
 	}
 
 	/**
@@ -145,7 +169,7 @@ public final class TInputContext
 	 * @param modifiers The key modifiers.
 	 */
 	public static final TInputContext ofCharType(char character, int modifiers) {
-		return new TInputContext(InputType.CHAR_TYPE, null, null, modifiers, character, null, null, null, null, null, null, null);
+		return new TInputContext(false).fillCharType(character, modifiers);
 	}
 
 	/**
@@ -155,7 +179,7 @@ public final class TInputContext
 	 * @param button The pressed mouse button.
 	 */
 	public static final TInputContext ofMousePress(double mouseX, double mouseY, int button) {
-		return new TInputContext(InputType.MOUSE_PRESS, null, null, null, null, mouseX, mouseY, button, null, null, null, null);
+		return new TInputContext(false).fillMousePress(mouseX, mouseY, button);
 	}
 
 	/**
@@ -165,7 +189,7 @@ public final class TInputContext
 	 * @param button The pressed mouse button.
 	 */
 	public static final TInputContext ofMouseRelease(double mouseX, double mouseY, int button) {
-		return new TInputContext(InputType.MOUSE_RELEASE, null, null, null, null, mouseX, mouseY, button, null, null, null, null);
+		return new TInputContext(false).fillMouseRelease(mouseX, mouseY, button);
 	}
 
 	/**
@@ -174,7 +198,7 @@ public final class TInputContext
 	 * @param mouseY Mouse Y position.
 	 */
 	public static final TInputContext ofMouseMove(double mouseX, double mouseY) {
-		return new TInputContext(InputType.MOUSE_MOVE, null, null, null, null, mouseX, mouseY, null, null, null, null, null);
+		return new TInputContext(false).fillMouseMove(mouseX, mouseY);
 	}
 
 	/**
@@ -185,7 +209,7 @@ public final class TInputContext
 	 * @param scrollY Vertical scroll amount.
 	 */
 	public static final TInputContext ofMouseScroll(double mouseX, double mouseY, double scrollX, double scrollY) {
-		return new TInputContext(InputType.MOUSE_SCROLL, null, null, null, null, mouseX, mouseY, null, scrollX, scrollY, null, null);
+		return new TInputContext(false).fillMouseScroll(mouseX, mouseY, scrollX, scrollY);
 	}
 
 	/**
@@ -197,7 +221,199 @@ public final class TInputContext
 	 * @param deltaY The mouse movement's delta Y.
 	 */
 	public static final TInputContext ofMouseDrag(double mouseX, double mouseY, int button, double deltaX, double deltaY) {
-		return new TInputContext(InputType.MOUSE_DRAG, null, null, null, null, mouseX, mouseY, button, null, null, deltaX, deltaY);
+		return new TInputContext(false).fillMouseDrag(mouseX, mouseY, button, deltaX, deltaY);
+	}
+
+	/**
+	 * Creates and returns a copy of this {@link TInputContext}.
+	 * @apiNote Contexts passed to input callbacks may be reused for other inputs once the
+	 * callback returns. Callbacks that need to hold on to a context must hold on to a copy.
+	 */
+	public final TInputContext copy()
+	{
+		final var copy = new TInputContext(false);
+		copy.inputType    = this.inputType;
+		copy.present      = this.present;
+		copy.keyCode      = this.keyCode;
+		copy.scanCode     = this.scanCode;
+		copy.keyModifiers = this.keyModifiers;
+		copy.character    = this.character;
+		copy.mouseX       = this.mouseX;
+		copy.mouseY       = this.mouseY;
+		copy.mouseButton  = this.mouseButton;
+		copy.scrollX      = this.scrollX;
+		copy.scrollY      = this.scrollY;
+		copy.mouseDeltaX  = this.mouseDeltaX;
+		copy.mouseDeltaY  = this.mouseDeltaY;
+		return copy;
+	}
+	// --------------------------------------------------
+	/**
+	 * Turns this {@link TInputContext} into one for {@link InputType#KEY_PRESS}.
+	 * @see #ofKeyPress(int, int, int)
+	 * @throws IllegalStateException If this {@link TInputContext} is not reusable.
+	 * @apiNote {@link ApiStatus.Internal}. Used for reusing instances during input dispatch.
+	 */
+	@ApiStatus.Internal
+	public final TInputContext setKeyPress(int keyCode, int scanCode, int modifiers) throws IllegalStateException {
+		return requireReusable().fillKeyPress(keyCode, scanCode, modifiers);
+	}
+	private final TInputContext fillKeyPress(int keyCode, int scanCode, int modifiers) {
+		return reset(InputType.KEY_PRESS).setKey(keyCode, scanCode, modifiers);
+	}
+
+	/**
+	 * Turns this {@link TInputContext} into one for {@link InputType#KEY_RELEASE}.
+	 * @see #ofKeyRelease(int, int, int)
+	 * @throws IllegalStateException If this {@link TInputContext} is not reusable.
+	 * @apiNote {@link ApiStatus.Internal}. Used for reusing instances during input dispatch.
+	 */
+	@ApiStatus.Internal
+	public final TInputContext setKeyRelease(int keyCode, int scanCode, int modifiers) throws IllegalStateException {
+		return requireReusable().fillKeyRelease(keyCode, scanCode, modifiers);
+	}
+	private final TInputContext fillKeyRelease(int keyCode, int scanCode, int modifiers) {
+		return reset(InputType.KEY_RELEASE).setKey(keyCode, scanCode, modifiers);
+	}
+
+	/**
+	 * Turns this {@link TInputContext} into one for {@link InputType#CHAR_TYPE}.
+	 * @see #ofCharType(char, int)
+	 * @throws IllegalStateException If this {@link TInputContext} is not reusable.
+	 * @apiNote {@link ApiStatus.Internal}. Used for reusing instances during input dispatch.
+	 */
+	@ApiStatus.Internal
+	public final TInputContext setCharType(char character, int modifiers) throws IllegalStateException {
+		return requireReusable().fillCharType(character, modifiers);
+	}
+	private final TInputContext fillCharType(char character, int modifiers)
+	{
+		reset(InputType.CHAR_TYPE);
+		this.present      = HAS_CHARACTER | HAS_MODIFIERS;
+		this.character    = character;
+		this.keyModifiers = modifiers;
+		return this;
+	}
+
+	/**
+	 * Turns this {@link TInputContext} into one for {@link InputType#MOUSE_PRESS}.
+	 * @see #ofMousePress(double, double, int)
+	 * @throws IllegalStateException If this {@link TInputContext} is not reusable.
+	 * @apiNote {@link ApiStatus.Internal}. Used for reusing instances during input dispatch.
+	 */
+	@ApiStatus.Internal
+	public final TInputContext setMousePress(double mouseX, double mouseY, int button) throws IllegalStateException {
+		return requireReusable().fillMousePress(mouseX, mouseY, button);
+	}
+	private final TInputContext fillMousePress(double mouseX, double mouseY, int button) {
+		return reset(InputType.MOUSE_PRESS).setMousePos(mouseX, mouseY).setButton(button);
+	}
+
+	/**
+	 * Turns this {@link TInputContext} into one for {@link InputType#MOUSE_RELEASE}.
+	 * @see #ofMouseRelease(double, double, int)
+	 * @throws IllegalStateException If this {@link TInputContext} is not reusable.
+	 * @apiNote {@link ApiStatus.Internal}. Used for reusing instances during input dispatch.
+	 */
+	@ApiStatus.Internal
+	public final TInputContext setMouseRelease(double mouseX, double mouseY, int button) throws IllegalStateException {
+		return requireReusable().fillMouseRelease(mouseX, mouseY, button);
+	}
+	private final TInputContext fillMouseRelease(double mouseX, double mouseY, int button) {
+		return reset(InputType.MOUSE_RELEASE).setMousePos(mouseX, mouseY).setButton(button);
+	}
+
+	/**
+	 * Turns this {@link TInputContext} into one for {@link InputType#MOUSE_MOVE}.
+	 * @see #ofMouseMove(double, double)
+	 * @throws IllegalStateException If this {@link TInputContext} is not reusable.
+	 * @apiNote {@link ApiStatus.Internal}. Used for reusing instances during input dispatch.
+	 */
+	@ApiStatus.Internal
+	public final TInputContext setMouseMove(double mouseX, double mouseY) throws IllegalStateException {
+		return requireReusable().fillMouseMove(mouseX, mouseY);
+	}
+	private final TInputContext fillMouseMove(double mouseX, double mouseY) {
+		return reset(InputType.MOUSE_MOVE).setMousePos(mouseX, mouseY);
+	}
+
+	/**
+	 * Turns this {@link TInputContext} into one for {@link InputType#MOUSE_SCROLL}.
+	 * @see #ofMouseScroll(double, double, double, double)
+	 * @throws IllegalStateException If this {@link TInputContext} is not reusable.
+	 * @apiNote {@link ApiStatus.Internal}. Used for reusing instances during input dispatch.
+	 */
+	@ApiStatus.Internal
+	public final TInputContext setMouseScroll(double mouseX, double mouseY, double scrollX, double scrollY) throws IllegalStateException {
+		return requireReusable().fillMouseScroll(mouseX, mouseY, scrollX, scrollY);
+	}
+	private final TInputContext fillMouseScroll(double mouseX, double mouseY, double scrollX, double scrollY)
+	{
+		reset(InputType.MOUSE_SCROLL).setMousePos(mouseX, mouseY);
+		this.present |= HAS_SCROLL;
+		this.scrollX  = scrollX;
+		this.scrollY  = scrollY;
+		return this;
+	}
+
+	/**
+	 * Turns this {@link TInputContext} into one for {@link InputType#MOUSE_DRAG}.
+	 * @see #ofMouseDrag(double, double, int, double, double)
+	 * @throws IllegalStateException If this {@link TInputContext} is not reusable.
+	 * @apiNote {@link ApiStatus.Internal}. Used for reusing instances during input dispatch.
+	 */
+	@ApiStatus.Internal
+	public final TInputContext setMouseDrag(double mouseX, double mouseY, int button, double deltaX, double deltaY) throws IllegalStateException {
+		return requireReusable().fillMouseDrag(mouseX, mouseY, button, deltaX, deltaY);
+	}
+	private final TInputContext fillMouseDrag(double mouseX, double mouseY, int button, double deltaX, double deltaY)
+	{
+		reset(InputType.MOUSE_DRAG).setMousePos(mouseX, mouseY).setButton(button);
+		this.present    |= HAS_DELTA;
+		this.mouseDeltaX = deltaX;
+		this.mouseDeltaY = deltaY;
+		return this;
+	}
+	// --------------------------------------------------
+	private final TInputContext requireReusable() throws IllegalStateException {
+		if(!this.reusable) throw new IllegalStateException("Attempt to modify an immutable " + getClass().getSimpleName());
+		return this;
+	}
+
+	private final TInputContext reset(InputType inputType)
+	{
+		//absent values are zeroed, which keeps equals and hashCode simple
+		this.inputType    = inputType;
+		this.present      = 0;
+		this.keyCode      = this.scanCode = this.keyModifiers = this.mouseButton = 0;
+		this.character    = 0;
+		this.mouseX       = this.mouseY = this.scrollX = this.scrollY = 0;
+		this.mouseDeltaX  = this.mouseDeltaY = 0;
+		return this;
+	}
+
+	private final TInputContext setKey(int keyCode, int scanCode, int modifiers)
+	{
+		this.present     |= HAS_KEY | HAS_MODIFIERS;
+		this.keyCode      = keyCode;
+		this.scanCode     = scanCode;
+		this.keyModifiers = modifiers;
+		return this;
+	}
+
+	private final TInputContext setMousePos(double mouseX, double mouseY)
+	{
+		this.present |= HAS_MOUSE_POS;
+		this.mouseX   = mouseX;
+		this.mouseY   = mouseY;
+		return this;
+	}
+
+	private final TInputContext setButton(int button)
+	{
+		this.present    |= HAS_BUTTON;
+		this.mouseButton = button;
+		return this;
 	}
 	// ==================================================
 	/**
@@ -205,70 +421,156 @@ public final class TInputContext
 	 */
 	public final InputType getInputType() { return this.inputType; }
 
+	/**
+	 * Returns {@code true} if this {@link TInputContext} carries all of the values
+	 * indicated by a given combination of {@code HAS_} presence bits.
+	 * @param mask The {@code HAS_} presence bits.
+	 */
+	public final boolean has(int mask) { return (this.present & mask) == mask; }
+	// --------------------------------------------------
+	/**
+	 * Returns the key code, or {@code 0} if not present.
+	 * @see #HAS_KEY
+	 */
+	public final int getKeyCodeI() { return this.keyCode; }
+
+	/**
+	 * Returns the scan code, or {@code 0} if not present.
+	 * @see #HAS_KEY
+	 */
+	public final int getScanCodeI() { return this.scanCode; }
+
+	/**
+	 * Returns the key modifiers, or {@code 0} if not present.
+	 * @see #HAS_MODIFIERS
+	 */
+	public final int getKeyModifiersI() { return this.keyModifiers; }
+
+	/**
+	 * Returns the typed character, or {@code 0} if not present.
+	 * @see #HAS_CHARACTER
+	 */
+	public final char getCharacterC() { return this.character; }
+
+	/**
+	 * Returns the mouse X position, or {@code 0} if not present.
+	 * @see #HAS_MOUSE_POS
+	 */
+	public final double getMouseXD() { return this.mouseX; }
+
+	/**
+	 * Returns the mouse Y position, or {@code 0} if not present.
+	 * @see #HAS_MOUSE_POS
+	 */
+	public final double getMouseYD() { return this.mouseY; }
+
+	/**
+	 * Returns the mouse button, or {@code 0} if not present.
+	 * @apiNote {@code 0} is also the left mouse button, so check {@link #HAS_BUTTON} if that matters.
+	 * @see #HAS_BUTTON
+	 */
+	public final int getMouseButtonI() { return this.mouseButton; }
+
+	/**
+	 * Returns the horizontal scroll amount, or {@code 0} if not present.
+	 * @see #HAS_SCROLL
+	 */
+	public final double getScrollXD() { return this.scrollX; }
+
+	/**
+	 * Returns the vertical scroll amount, or {@code 0} if not present.
+	 * @see #HAS_SCROLL
+	 */
+	public final double getScrollYD() { return this.scrollY; }
+
+	/**
+	 * Returns the mouse movement's delta X, or {@code 0} if not present.
+	 * @see #HAS_DELTA
+	 */
+	public final double getMouseDeltaXD() { return this.mouseDeltaX; }
+
+	/**
+	 * Returns the mouse movement's delta Y, or {@code 0} if not present.
+	 * @see #HAS_DELTA
+	 */
+	public final double getMouseDeltaYD() { return this.mouseDeltaY; }
+	// --------------------------------------------------
+	//the nullable getters below box on every call. prefer the primitive ones above
 	/**
 	 * @see InputType#KEY_PRESS
 	 * @see InputType#KEY_RELEASE
+	 * @see #getKeyCodeI()
 	 */
-	public final @Nullable Integer getKeyCode() { return this.keyCode; }
+	public final @Nullable Integer getKeyCode() { return has(HAS_KEY) ? this.keyCode : null; }
 
 	/**
 	 * @see InputType#KEY_PRESS
 	 * @see InputType#KEY_RELEASE
+	 * @see #getScanCodeI()
 	 */
-	public final @Nullable Integer getScanCode() { return this.scanCode; }
+	public final @Nullable Integer getScanCode() { return has(HAS_KEY) ? this.scanCode : null; }
 
 	/**
 	 * @see InputType#KEY_PRESS
 	 * @see InputType#KEY_RELEASE
 	 * @see InputType#CHAR_TYPE
+	 * @see #getKeyModifiersI()
 	 */
-	public final @Nullable Integer getKeyModifiers() { return this.keyModifiers; }
+	public final @Nullable Integer getKeyModifiers() { return has(HAS_MODIFIERS) ? this.keyModifiers : null; }
 
 	/**
 	 * @see InputType#CHAR_TYPE
+	 * @see #getCharacterC()
 	 */
-	public final @Nullable Character getCharacter() { return this.character; }
+	public final @Nullable Character getCharacter() { return has(HAS_CHARACTER) ? this.character : null; }
 
 	/**
 	 * @see InputType#MOUSE_PRESS
 	 * @see InputType#MOUSE_RELEASE
 	 * @see InputType#MOUSE_MOVE
 	 * @see InputType#MOUSE_SCROLL
+	 * @see #getMouseXD()
 	 */
-	public final @Nullable Double getMouseX() { return this.mouseX; }
+	public final @Nullable Double getMouseX() { return has(HAS_MOUSE_POS) ? this.mouseX : null; }
 
 	/**
 	 * @see InputType#MOUSE_PRESS
 	 * @see InputType#MOUSE_RELEASE
 	 * @see InputType#MOUSE_MOVE
 	 * @see InputType#MOUSE_SCROLL
+	 * @see #getMouseYD()
 	 */
-	public final @Nullable Double getMouseY() { return this.mouseY; }
+	public final @Nullable Double getMouseY() { return has(HAS_MOUSE_POS) ? this.mouseY : null; }
 
 	/**
 	 * @see InputType#MOUSE_PRESS
 	 * @see InputType#MOUSE_RELEASE
+	 * @see #getMouseButtonI()
 	 */
-	public final @Nullable Integer getMouseButton() { return this.mouseButton; }
+	public final @Nullable Integer getMouseButton() { return has(HAS_BUTTON) ? this.mouseButton : null; }
 
 	/**
 	 * @see InputType#MOUSE_SCROLL
+	 * @see #getScrollXD()
 	 */
-	public final @Nullable Double getScrollX() { return this.scrollX; }
+	public final @Nullable Double getScrollX() { return has(HAS_SCROLL) ? this.scrollX : null; }
 
 	/**
 	 * @see InputType#MOUSE_SCROLL
+	 * @see #getScrollYD()
 	 */
-	public final @Nullable Double getScrollY() { return this.scrollY; }
+	public final @Nullable Double getScrollY() { return has(HAS_SCROLL) ? this.scrollY : null; }
 
 	/**
 	 * @see InputType#MOUSE_DRAG
+	 * @see #getMouseDeltaXD()
 	 */
-	public final @Nullable Double getMouseDeltaX() { return this.mouseDeltaX; }
+	public final @Nullable Double getMouseDeltaX() { return has(HAS_DELTA) ? this.mouseDeltaX : null; }
 
 	/**
 	 * @see InputType#MOUSE_DRAG
+	 * @see #getMouseDeltaYD()
 	 */
-	public final @Nullable Double getMouseDeltaY() { return this.mouseDeltaY; }
+	public final @Nullable Double getMouseDeltaY() { return has(HAS_DELTA) ? this.mouseDeltaY : null; }
 	// ==================================================
 }
\ No newline at end of file
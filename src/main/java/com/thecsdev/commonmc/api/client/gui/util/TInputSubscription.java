@@ -0,0 +1,40 @@
+package com.thecsdev.commonmc.api.client.gui.util;
+
+import com.thecsdev.commonmc.api.client.gui.TElement;
+import com.thecsdev.commonmc.api.client.gui.screen.TScreen;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+
+import java.lang.annotation.*;
+
+/**
+ * Declares which {@link TInputContext.InputDiscoveryPhase}s and {@link TInputContext.InputType}s
+ * an override of {@link TElement#inputCallback(TInputContext.InputDiscoveryPhase, TInputContext)}
+ * handles. {@link TScreen}s only dispatch inputs to elements that are subscribed to them.
+ * <p>
+ * Elements that do not override said method are never subscribed to any inputs. Overrides that
+ * are not annotated are subscribed to all inputs, in all phases.
+ *
+ * @apiNote An annotation applies to the method it is placed on, and is not inherited by further
+ * overrides. Overrides that call {@code super} are to declare the inputs {@code super} handles too.
+ */
+@Documented
+@Environment(EnvType.CLIENT)
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface TInputSubscription
+{
+	/**
+	 * The {@link TInputContext.InputDiscoveryPhase}s during which inputs are handled.
+	 */
+	TInputContext.InputDiscoveryPhase[] phases() default {
+			TInputContext.InputDiscoveryPhase.BROADCAST,
+			TInputContext.InputDiscoveryPhase.PREEMPT,
+			TInputContext.InputDiscoveryPhase.MAIN
+	};
+
+	/**
+	 * The {@link TInputContext.InputType}s that are handled. An empty array stands for all of them.
+	 */
+	TInputContext.InputType[] types() default {};
+}
@@ -0,0 +1,127 @@
+package com.thecsdev.commonmc.api.client.gui.util;
+
+import com.thecsdev.commonmc.api.client.gui.label.TLabelElement;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.gui.Font;
+import net.minecraft.locale.Language;
+import net.minecraft.network.chat.Component;
+import net.minecraft.util.FormattedCharSequence;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A process-wide, size-bounded cache of text layouts. That is, {@link Component}s
+ * that were split into lines via {@link Font#split(net.minecraft.network.chat.FormattedText, int)},
+ * along with the precomputed widths of said lines.
+ * <p>
+ * Used by {@link TLabelElement}s and {@link TGuiUtils}, so the same text is not split
+ * and measured over and over again, and so rendering does not have to measure text at all.
+ * <p>
+ * The cache invalidates itself whenever the game's {@link Language} instance changes, which
+ * happens on every resource reload, including language changes and resource pack changes.
+ *
+ * @apiNote Thread-safe.
+ */
+@Environment(EnvType.CLIENT)
+public final class TTextLayoutCache
+{
+	// ==================================================
+	/**
+	 * The maximum number of {@link Layout}s this cache holds, after which
+	 * the least recently used ones are evicted.
+	 */
+	public static final int MAX_SIZE = 2048;
+	// --------------------------------------------------
+	private static final Map<Key, Layout> CACHE = new LinkedHashMap<>(256, 0.75f, true) {
+		protected final @Override boolean removeEldestEntry(Map.Entry<Key, Layout> eldest) { return size() > MAX_SIZE; }
+	};
+	private static Language language = null;
+	// ==================================================
+	private TTextLayoutCache() {}
+	// ==================================================
+	/**
+	 * Returns the {@link Layout} of a given text, computing and caching it if necessary.
+	 * @param text The text to lay out.
+	 * @param font The {@link Font} used to split and measure the text.
+	 * @param wrapWidth The maximum width of a line, or {@link Integer#MAX_VALUE} for no wrapping.
+	 * Any text scaling is to be applied to this value beforehand (as in {@code width / scale}).
+	 * @throws NullPointerException If an argument is {@code null}.
+	 */
+	public static final @NotNull Layout get(@NotNull Component text, @NotNull Font font, int wrapWidth)
+			throws NullPointerException
+	{
+		final var key = new Key(Objects.requireNonNull(text), Objects.requireNonNull(font), wrapWidth);
+		synchronized(CACHE)
+		{
+			//resource reloads replace the language instance, and also the font glyphs along with it
+			final var currentLanguage = Language.getInstance();
+			if(language != currentLanguage) { CACHE.clear(); language = currentLanguage; }
+			//look up the layout, and compute it if missing
+			final var cached = CACHE.get(key);
+			if(cached != null) return cached;
+			final var layout = new Layout(font.split(text, wrapWidth), font);
+			CACHE.put(key, layout);
+			return layout;
+		}
+	}
+
+	/**
+	 * Discards all cached {@link Layout}s.
+	 */
+	public static final void invalidate() { synchronized(CACHE) { CACHE.clear(); } }
+	// ==================================================
+	/**
+	 * The cache key. {@link Font}s are compared by reference.
+	 */
+	private static record Key(@NotNull Component text, @NotNull Font font, int wrapWidth) {}
+	// --------------------------------------------------
+	/**
+	 * A piece of text that was split into lines, along with each line's width.
+	 * @apiNote Immutable.
+	 */
+	public static final class Layout
+	{
+		// ==================================================
+		private final List<FormattedCharSequence> lines;
+		private final int[]                       lineWidths;
+		private final int                         maxLineWidth;
+		// ==================================================
+		private Layout(@NotNull List<FormattedCharSequence> lines, @NotNull Font font)
+		{
+			this.lines      = List.copyOf(lines);
+			this.lineWidths = new int[this.lines.size()];
+			int max = 0;
+			for(int i = 0; i < this.lineWidths.length; i++)
+				max = Math.max(max, this.lineWidths[i] = font.width(this.lines.get(i)));
+			this.maxLineWidth = max;
+		}
+		// ==================================================
+		/**
+		 * Returns the lines of text.
+		 */
+		public final @NotNull List<FormattedCharSequence> getLines() { return this.lines; }
+
+		/**
+		 * Returns the number of lines of text.
+		 */
+		public final int getLineCount() { return this.lineWidths.length; }
+
+		/**
+		 * Returns the (unscaled) width of the line at a given index.
+		 * @throws IndexOutOfBoundsException If the index is out of bounds.
+		 */
+		public final int getLineWidth(int index) throws IndexOutOfBoundsException { return this.lineWidths[index]; }
+
+		/**
+		 * Returns the (unscaled) width of the widest line.
+		 */
+		public final int getMaxLineWidth() { return this.maxLineWidth; }
+		// ==================================================
+	}
+	// ==================================================
+}
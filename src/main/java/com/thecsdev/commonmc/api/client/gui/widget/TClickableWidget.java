@@ -10,6 +10,7 @@ import com.thecsdev.commonmc.api.client.gui.util.CursorType;
 import com.thecsdev.commonmc.api.client.gui.util.TGuiUtils;
 import com.thecsdev.commonmc.api.client.gui.util.TInputContext;
 import com.thecsdev.commonmc.api.client.gui.util.TInputContext.InputDiscoveryPhase;
+import com.thecsdev.commonmc.api.client.gui.util.TInputSubscription;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import org.jetbrains.annotations.NotNull;
@@ -89,6 +90,7 @@ public @Virtual class TClickableWidget extends TElement
 	protected @Virtual @Override void dragEndCallback() { this.pressed.set(false, TClickableWidget.class); }
 	protected @Virtual @Override void focusLostCallback() { this.pressed.set(false, TClickableWidget.class); }
 	// --------------------------------------------------
+	@TInputSubscription(phases = InputDiscoveryPhase.MAIN)
 	@SuppressWarnings("DataFlowIssue")
 	public @Virtual @Override boolean inputCallback(@NotNull InputDiscoveryPhase phase, @NotNull TInputContext context)
 	{
@@ -102,23 +104,23 @@ public @Virtual class TClickableWidget extends TElement
 		{
 			//mouse-based inputs
 			case MOUSE_PRESS:
-				if(context.getMouseButton() != 0) break; //only accept LMB
+				if(context.getMouseButtonI() != 0) break; //only accept LMB
 				return true;
 			case MOUSE_RELEASE:
-				if(context.getMouseButton() != 0) break; //only accept LMB
+				if(context.getMouseButtonI() != 0) break; //only accept LMB
 				if(isHovered()) click(); //just like in standardized GUI frameworks
 				return true;
 
 			//key-based inputs
 			case KEY_PRESS: {
-				final int kc = context.getKeyCode();
+				final int kc = context.getKeyCodeI();
 				if(!(kc == KEY_RETURN || kc == KEY_NUMPADENTER)) break;
 				this.pressed.set(true, TClickableWidget.class);
 				click();
 				return true;
 			}
 			case KEY_RELEASE: {
-				final int kc = context.getKeyCode();
+				final int kc = context.getKeyCodeI();
 				if(!(kc == KEY_RETURN || kc == KEY_NUMPADENTER)) break;
 				this.pressed.set(false, TClickableWidget.class);
 				return true;
@@ -1,6 +1,8 @@
 package com.thecsdev.commonmc.api.client.gui.widget;
 
 import com.thecsdev.common.math.Bounds2i;
+import com.thecsdev.common.math.Point2d;
+import com.thecsdev.common.properties.BooleanProperty;
 import com.thecsdev.common.properties.IChangeListener;
 import com.thecsdev.common.properties.ObjectProperty;
 import com.thecsdev.common.util.annotations.Virtual;
@@ -9,7 +11,10 @@ import com.thecsdev.commonmc.api.client.gui.TElement;
 import com.thecsdev.commonmc.api.client.gui.ctxmenu.TContextMenu;
 import com.thecsdev.commonmc.api.client.gui.misc.TTextureElement;
 import com.thecsdev.commonmc.api.client.gui.panel.TPanelElement;
+import com.thecsdev.commonmc.api.client.gui.panel.TVirtualGridPanel;
+import com.thecsdev.commonmc.api.client.gui.panel.TVirtualListPanel;
 import com.thecsdev.commonmc.api.client.gui.render.TGuiGraphics;
+import com.thecsdev.commonmc.api.client.gui.widget.text.TSimpleTextFieldWidget;
 import com.thecsdev.commonmc.resource.TLanguage;
 import com.thecsdev.commonmc.resource.TSprites;
 import net.fabricmc.api.EnvType;
@@ -19,8 +24,12 @@ import net.minecraft.resources.Identifier;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.Locale;
 import java.util.Objects;
 
 import static java.lang.Math.clamp;
@@ -29,6 +38,8 @@ import static java.lang.Math.min;
 /**
  * A {@link TButtonWidget} that shows a dropdown menu featuring clickable items
  * when clicked.
+ * <p>
+ * For large sets of {@link Entry}s, see {@link #searchableProperty()}.
  */
 @Environment(EnvType.CLIENT)
 public @Virtual class TDropdownWidget<E extends TDropdownWidget.Entry> extends TButtonWidget
@@ -43,6 +54,7 @@ public @Virtual class TDropdownWidget<E extends TDropdownWidget.Entry> extends T
 	// ==================================================
 	private final ObjectProperty<E> selectedEntry = new ObjectProperty<>();
 	private final Collection<E>     entries       = new LinkedHashSet<>();
+	private final BooleanProperty   searchable    = new BooleanProperty(false);
 	// --------------------------------------------------
 	private final TTextureElement   icon          = new TTextureElement();
 	// ==================================================
@@ -79,6 +91,16 @@ public @Virtual class TDropdownWidget<E extends TDropdownWidget.Entry> extends T
 	 * @apiNote Do <b>NOT</b> add {@code null} entries to the {@link Collection}!
 	 */
 	public final Collection<E> getEntries() { return this.entries; }
+	// --------------------------------------------------
+	/**
+	 * The {@link BooleanProperty} that determines whether the dropdown menu features
+	 * a search field that filters {@link Entry}s by their display names as the user types.
+	 * <p>
+	 * In this mode, only the {@link Entry}s that are currently scrolled into view have
+	 * elements created for them, making it suitable for hundreds of {@link Entry}s.
+	 * @apiNote Only takes effect the next time the dropdown menu is opened.
+	 */
+	public final BooleanProperty searchableProperty() { return this.searchable; }
 	// ==================================================
 	protected @Virtual @Override void initCallback()
 	{
@@ -98,7 +120,7 @@ public @Virtual class TDropdownWidget<E extends TDropdownWidget.Entry> extends T
 		//ensure a screen is present, as it is required
 		final @Nullable var screen = screenProperty().get();
 		if(screen == null) return;
-		//create a dropdown element instance and add it to the screen
+		//create a dropdown element instance and open it as an overlay on the screen
 		final var dd = new TDropdownElement();
 		dd.boundsProperty().addFilter((n)-> {
 			//move element back on-screen if it goes off-screen
@@ -107,7 +129,7 @@ public @Virtual class TDropdownWidget<E extends TDropdownWidget.Entry> extends T
 			final var dY  = n.endY > sbb.endY ? sbb.endY - n.endY : 0;
 			return (dX == 0 && dY == 0) ? n : new Bounds2i(n.x + dX, n.y + dY, n.width, n.height);
 		}, TDropdownWidget.class);
-		screen.add(dd);
+		screen.openOverlay(dd, true);
 		dd.clearAndInit();
 	}
 	// ================================================== ==================================================
@@ -139,7 +161,25 @@ public @Virtual class TDropdownWidget<E extends TDropdownWidget.Entry> extends T
 			));
 		}
 		// ==================================================
-		protected final @Override void initCallback()
+		protected final @Override void initCallback() {
+			if(TDropdownWidget.this.searchable.getZ()) initSearchable();
+			else initList();
+		}
+		// --------------------------------------------------
+		/**
+		 * Closes this dropdown, and selects a given {@link Entry}.
+		 */
+		private final void select(@NotNull E entry) {
+			//first close this dropdown by removing it
+			TDropdownElement.this.remove();
+			//then set new selected entry value
+			TDropdownWidget.this.selectedEntry.set(entry, TDropdownElement.class);
+		}
+		// --------------------------------------------------
+		/**
+		 * Initializes the dropdown as a list featuring one button per entry.
+		 */
+		private final void initList()
 		{
 			//first create the panel element which will be used for entry scrolling
 			final var panel = new TPanelElement.Transparent();
@@ -153,26 +193,13 @@ public @Virtual class TDropdownWidget<E extends TDropdownWidget.Entry> extends T
 				Objects.requireNonNull(entry, "Found a 'null' entry in a dropdown widget");
 
 				//create and configure the entry button
-				final var btn = new TButtonWidget.Transparent() {
-					public final @Override void postRenderCallback(@NotNull TGuiGraphics pencil) {}
-					public final @Override void renderCallback(@NotNull TGuiGraphics pencil) {
-						if(!isHoveredOrFocused()) return;
-						final var bb = getBounds();
-						pencil.fillColor(bb.x, bb.y, bb.width, bb.height, 0xFF363635);
-					}
-				};
+				final var btn = new EntryButton();
 				final var lbl = btn.getLabel();
-				lbl.textAlignmentProperty().set(CompassDirection.WEST, TDropdownElement.class);
 				lbl.setText(entry.getDisplayName());
 				entryMaxW = Math.max(lbl.fontProperty().get().width(lbl.textProperty().get()), entryMaxW);
 
 				//set entry button on-click logic
-				btn.eClicked.addListener(__ -> {
-					//first close this dropdown by removing it
-					TDropdownElement.this.remove();
-					//then set new selected entry value
-					TDropdownWidget.this.selectedEntry.set(entry, TDropdownElement.class);
-				});
+				btn.eClicked.addListener(__ -> select(entry));
 
 				//add the entry button
 				panel.add(btn);
@@ -196,7 +223,7 @@ public @Virtual class TDropdownWidget<E extends TDropdownWidget.Entry> extends T
 			}
 
 			/*make this dropdown fit the panel, and add the panel to it*/ {
-				final var dbb = TDropdownWidget.this.getBounds(); //dropdown-widget bounding box
+				final var dbb = TDropdownWidget.this.getScreenBounds(); //dropdown-widget bounding box, as overlays are in screen-space
 				final var pbb = panel.getBounds();                //panel bounding box
 				setBounds(dbb.x, dbb.endY, pbb.width + SCROLL_W, pbb.height + SCROLL_W);
 				addRel(panel);
@@ -222,6 +249,225 @@ public @Virtual class TDropdownWidget<E extends TDropdownWidget.Entry> extends T
 				for(final var btn : panel) btn.setBounds(btn.getBounds().add(0, 0, diff, 0));
 			} while(false);
 		}
+
+		/**
+		 * Initializes the dropdown as a search field, followed by a virtualized list of the
+		 * entries that match the search query.
+		 */
+		@SuppressWarnings("unchecked")
+		private final void initSearchable()
+		{
+			//snapshot the entries and index them. the index is reused for every keystroke
+			final var entries = TDropdownWidget.this.entries.toArray((E[]) new Entry[0]);
+			final var index   = new SearchIndex(entries);
+			final int[][] results = { index.search("") };
+
+			//the virtualized list only ever creates buttons for the entries that are in view
+			final var list = new TVirtualListPanel<>(new TVirtualGridPanel.CellFactory<EntryButton>() {
+				public final @Override @NotNull EntryButton createCell() {
+					final var cell = new EntryButton();
+					cell.eClicked.addListener(__ -> {
+						final int[] r = results[0];
+						if(cell.index < r.length) select(entries[r[cell.index]]);
+					});
+					return cell;
+				}
+				public final @Override void bindCell(@NotNull EntryButton cell, int i) {
+					cell.index = i;
+					cell.getLabel().setText(entries[results[0][i]].getDisplayName());
+				}
+			});
+			list.scrollPaddingProperty().set(0, TDropdownElement.class);
+			list.cellHeightProperty().set(15, TDropdownElement.class);
+
+			//the search field filters the list as the user types
+			final var field = new TSimpleTextFieldWidget();
+			field.placeholderProperty().set(TLanguage.gui_dropdown_searchPlaceholder(), TDropdownElement.class);
+			field.textProperty().addChangeListener((p, o, n) -> {
+				results[0] = index.search(n);
+				list.scrollAmountProperty().set(Point2d.ZERO, TDropdownElement.class);
+				list.itemCountProperty().set(results[0].length, TDropdownElement.class);
+				list.rebindCells(); //cells that stayed in view now represent other entries
+			});
+
+			//lay out the search field, the list, and its scroll-bar
+			final int SCROLL_W = 8, entryH = 15;
+			final var dbb      = TDropdownWidget.this.getScreenBounds(); //dropdown-widget bounding box, as overlays are in screen-space
+			final int width    = clamp(dbb.width - SCROLL_W, 100, 250);
+			final int height   = clamp((long) entries.length * entryH, entryH, 100);
+			setBounds(dbb.x, dbb.endY, width + SCROLL_W, entryH + height + 2);
+			final var bb = getBounds();
+			field.setBounds(bb.x + 1, bb.y + 1, bb.width - 2, entryH);
+			add(field);
+			list.setBounds(bb.x, bb.y + entryH + 2, width, height);
+			add(list);
+			list.itemCountProperty().set(results[0].length, TDropdownElement.class);
+			final var scroll_v = new TScrollBarWidget.Flat(list, TScrollBarWidget.ScrollDirection.VERTICAL);
+			scroll_v.setBounds(bb.endX - SCROLL_W, list.getBounds().y, SCROLL_W - 1, height - 1);
+			add(scroll_v);
+
+			//start typing right away
+			final @Nullable var screen = screenProperty().get();
+			if(screen != null) screen.focusedElementProperty().set(field, TDropdownElement.class);
+		}
+		// ==================================================
+	}
+	// ================================================== ==================================================
+	//                                        EntryButton IMPLEMENTATION
+	// ================================================== ==================================================
+	/**
+	 * The button representing an {@link Entry} in the dropdown menu.
+	 */
+	private static final class EntryButton extends TButtonWidget.Transparent
+	{
+		// ==================================================
+		private int index; //the search result this button is bound to, when used as a virtualized list cell
+		// ==================================================
+		public EntryButton() {
+			getLabel().textAlignmentProperty().set(CompassDirection.WEST, EntryButton.class);
+		}
+		// ==================================================
+		public final @Override void postRenderCallback(@NotNull TGuiGraphics pencil) {}
+		public final @Override void renderCallback(@NotNull TGuiGraphics pencil) {
+			if(!isHoveredOrFocused()) return;
+			final var bb = getBounds();
+			pencil.fillColor(bb.x, bb.y, bb.width, bb.height, 0xFF363635);
+		}
+		// ==================================================
+	}
+	// ================================================== ==================================================
+	//                                        SearchIndex IMPLEMENTATION
+	// ================================================== ==================================================
+	/**
+	 * A prefix index over the words that make up {@link Entry} display names.
+	 * <p>
+	 * A query matches an {@link Entry} if each of the query's words is the beginning of
+	 * any of the {@link Entry}'s words. The words of all {@link Entry}s are kept sorted,
+	 * so the {@link Entry}s matching the first query word are found via binary search,
+	 * after which the remaining query words only have to be checked against those.
+	 * <p>
+	 * As the user usually types one character at a time, a query that extends the
+	 * previous one is only checked against the previous query's results.
+	 */
+	private static final class SearchIndex
+	{
+		// ==================================================
+		private final String[][] words;       //each entry's words
+		private final String[]   sortedWords; //all words of all entries, sorted
+		private final int[]      wordOwners;  //for each sorted word, the index of its entry
+		// --------------------------------------------------
+		private String lastQuery     = "";
+		private int    lastWordCount = 0;
+		private int[]  lastResults;
+		// ==================================================
+		public SearchIndex(@NotNull Entry[] entries)
+		{
+			//split each entry's display name into words
+			this.words = new String[entries.length][];
+			int total  = 0;
+			for(int i = 0; i < entries.length; i++) {
+				Objects.requireNonNull(entries[i], "Found a 'null' entry in a dropdown widget");
+				this.words[i] = tokenize(entries[i].getDisplayName().getString());
+				total += this.words[i].length;
+			}
+
+			//sort all words, while keeping track of which entry each one belongs to
+			final var order = new Integer[total];
+			final var flat  = new String[total];
+			final var owner = new int[total];
+			for(int i = 0, n = 0; i < this.words.length; i++)
+				for(final var word : this.words[i]) { order[n] = n; flat[n] = word; owner[n++] = i; }
+			Arrays.sort(order, (a, b) -> flat[a].compareTo(flat[b]));
+			this.sortedWords = new String[total];
+			this.wordOwners  = new int[total];
+			for(int i = 0; i < total; i++) {
+				this.sortedWords[i] = flat[order[i]];
+				this.wordOwners[i]  = owner[order[i]];
+			}
+
+			//an empty query matches everything
+			this.lastResults = all();
+		}
+		// ==================================================
+		/**
+		 * Returns the indices of the {@link Entry}s matching a given query, in the
+		 * order the {@link Entry}s were given in.
+		 */
+		public final int[] search(@NotNull String query)
+		{
+			//queries that extend the previous one can only ever narrow its results down
+			final var queryWords = tokenize(query);
+			final var narrowing  = this.lastWordCount > 0 && query.startsWith(this.lastQuery);
+			this.lastQuery     = query;
+			this.lastWordCount = queryWords.length;
+			if(queryWords.length == 0) return (this.lastResults = all());
+
+			//find the candidates, either from the previous results, or from the prefix index
+			final int[] candidates;
+			if(narrowing) candidates = this.lastResults;
+			else
+			{
+				final var matched = new BitSet(this.words.length);
+				final var prefix  = queryWords[0];
+				for(int i = lowerBound(prefix); i < this.sortedWords.length && this.sortedWords[i].startsWith(prefix); i++)
+					matched.set(this.wordOwners[i]);
+				candidates = matched.stream().toArray();
+			}
+
+			//keep the candidates that match every query word
+			final var results = new int[candidates.length];
+			int count = 0;
+			for(final int candidate : candidates)
+				if(matches(this.words[candidate], queryWords)) results[count++] = candidate;
+			return (this.lastResults = Arrays.copyOf(results, count));
+		}
+		// --------------------------------------------------
+		private final int[] all() {
+			final var all = new int[this.words.length];
+			for(int i = 0; i < all.length; i++) all[i] = i;
+			return all;
+		}
+
+		/**
+		 * Returns the index of the first sorted word that is not less than a given prefix.
+		 */
+		private final int lowerBound(@NotNull String prefix)
+		{
+			int low = 0, high = this.sortedWords.length;
+			while(low < high) {
+				final int mid = (low + high) >>> 1;
+				if(this.sortedWords[mid].compareTo(prefix) < 0) low = mid + 1;
+				else high = mid;
+			}
+			return low;
+		}
+
+		private static final boolean matches(@NotNull String[] words, @NotNull String[] queryWords)
+		{
+			outer: for(final var queryWord : queryWords) {
+				for(final var word : words) if(word.startsWith(queryWord)) continue outer;
+				return false;
+			}
+			return true;
+		}
+
+		/**
+		 * Splits a {@link String} into lower-case words, separated by
+		 * anything that is neither a letter nor a digit.
+		 */
+		private static final @NotNull String[] tokenize(@NotNull String text)
+		{
+			final var words = new ArrayList<String>();
+			final var lower = text.toLowerCase(Locale.ROOT);
+			int start = -1;
+			for(int i = 0; i <= lower.length(); i++)
+			{
+				final boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+				if(wordChar && start == -1) start = i;
+				else if(!wordChar && start != -1) { words.add(lower.substring(start, i)); start = -1; }
+			}
+			return words.toArray(String[]::new);
+		}
 		// ==================================================
 	}
 	// ================================================== ==================================================
@@ -10,6 +10,7 @@ import com.thecsdev.commonmc.api.client.gui.TElement;
 import com.thecsdev.commonmc.api.client.gui.panel.TPanelElement;
 import com.thecsdev.commonmc.api.client.gui.render.TGuiGraphics;
 import com.thecsdev.commonmc.api.client.gui.util.TInputContext;
+import com.thecsdev.commonmc.api.client.gui.util.TInputSubscription;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import org.jetbrains.annotations.ApiStatus;
@@ -66,14 +67,17 @@ public @Virtual class TScrollBarWidget extends TSliderWidget
 
 		//handle automatic refreshing
 		final Consumer<TElement>       onPanelInit              = __        -> refresh();
+		final Consumer<TElement>       onPanelContentChange     = __        -> _refreshKnobSize();
 		final IChangeListener<Point2d> onPanelScrollValueChange = (p, o, n) -> _refreshValue();
 		this.panel.addChangeListener((p, o, n) -> {
 			if(o != null) {
 				o.eInitialized.removeListener(onPanelInit);
+				o.eContentBoundsChanged.removeListener(onPanelContentChange);
 				o.scrollAmountProperty().removeChangeListener(onPanelScrollValueChange);
 			}
 			if(n != null) {
 				n.eInitialized.addListener(onPanelInit);
+				n.eContentBoundsChanged.addListener(onPanelContentChange);
 				n.scrollAmountProperty().addChangeListener(onPanelScrollValueChange);
 			}
 		});
@@ -123,7 +127,7 @@ public @Virtual class TScrollBarWidget extends TSliderWidget
 		if(panel == null) return;
 		//obtain the bounding boxes of the panel and its contents
 		final var pbb  = panel.getBounds();
-		final var pcbb = panel.getContentBounds();
+		final var pcbb = panel.getScrollContentBounds();
 		knobSizeProperty().set(switch(this.direction.get()) {
 			case HORIZONTAL -> fromScale((double) pbb.width / pcbb.width, 1);
 			case VERTICAL   -> fromScale(1, (double) pbb.height / pcbb.height);
@@ -144,6 +148,7 @@ public @Virtual class TScrollBarWidget extends TSliderWidget
 	 */
 	public final NotNullProperty<ScrollDirection> scrollDirectionProperty() { return this.direction; }
 	// ==================================================
+	@TInputSubscription(phases = MAIN)
 	public final @Override boolean inputCallback(TInputContext.@NotNull InputDiscoveryPhase phase, @NotNull TInputContext context)
 	{
 		//some inputs should be forwarded to the panel
@@ -8,6 +8,7 @@ import com.thecsdev.common.properties.NotNullProperty;
 import com.thecsdev.common.util.annotations.Virtual;
 import com.thecsdev.commonmc.api.client.gui.render.TGuiGraphics;
 import com.thecsdev.commonmc.api.client.gui.util.TInputContext;
+import com.thecsdev.commonmc.api.client.gui.util.TInputSubscription;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import org.jetbrains.annotations.ApiStatus;
@@ -172,6 +173,7 @@ public @Virtual class TSliderWidget extends TButtonWidget
 	 * {@inheritDoc}
 	 * @apiNote <b>Do not override</b>, as this implementation uses internal variables.
 	 */
+	@TInputSubscription(phases = TInputContext.InputDiscoveryPhase.MAIN)
 	@ApiStatus.NonExtendable
 	@SuppressWarnings("DataFlowIssue")
 	public @Override boolean inputCallback(@NotNull TInputContext.InputDiscoveryPhase phase, @NotNull TInputContext context)
@@ -184,12 +186,13 @@ public @Virtual class TSliderWidget extends TButtonWidget
 
 		//handle click and dragging
 		//(must return true for both drag and mouse press)
-		if(context.getInputType() == MOUSE_DRAG && pressedProperty().getZ() && context.getMouseButton() == 0) {
-			//move knob to cursor position
+		if(context.getInputType() == MOUSE_DRAG && pressedProperty().getZ() && context.getMouseButtonI() == 0) {
+			//move knob to cursor position (the cursor is in screen-space, the knob is not)
 			final var kbb = this.knobBounds.get();
+			final var off = getScreenOffset();
 			final int w2  = kbb.width / 2, h2 = kbb.height / 2;
 			this.knobBounds.set(new Bounds2i(
-					(int) (context.getMouseX() - w2), (int) (context.getMouseY() - h2),
+					(int) (context.getMouseXD() - w2) - off.x, (int) (context.getMouseYD() - h2) - off.y,
 					kbb.width, kbb.height),
 				TSliderWidget.class);
 			//return true to indicate handled input
@@ -200,7 +203,7 @@ public @Virtual class TSliderWidget extends TButtonWidget
 		{
 			final double sensitivity = 0.05;
 			double dX = 0, dY = 0;
-			switch(context.getKeyCode()) {
+			switch(context.getKeyCodeI()) {
 				case GLFW_KEY_LEFT:  dX -= sensitivity; break;
 				case GLFW_KEY_RIGHT: dX += sensitivity; break;
 				case GLFW_KEY_UP:    dY -= sensitivity; break;
@@ -216,7 +219,7 @@ public @Virtual class TSliderWidget extends TButtonWidget
 		else if(context.getInputType() == MOUSE_SCROLL) {
 			//NOTE - Scrolling a slider widget needs further testing and refining
 			final double sensitivity = 0.05;
-			double dX = sensitivity * context.getScrollX(), dY = -sensitivity * context.getScrollY();
+			double dX = sensitivity * context.getScrollXD(), dY = -sensitivity * context.getScrollYD();
 			if(dX != 0 || dY != 0) {
 				this.value.set(this.value.get().add(dX, dY), TSliderWidget.class);
 				return true;
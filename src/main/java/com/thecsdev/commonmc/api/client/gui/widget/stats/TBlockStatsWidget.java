@@ -109,7 +109,7 @@ public final class TBlockStatsWidget extends TStatsWidget
 		//draw the background and the item
 		if(!this.renderSprite || this.sprite == null)
 			pencil.renderItem(this.itemStack, idb.x, idb.y, idb.width, idb.height);
-		else pencil.getNative().blitSprite(RenderPipelines.GUI_TEXTURED, this.sprite, idb.x, idb.y, idb.width, idb.height);
+		else pencil.drawGuiSprite(RenderPipelines.GUI_TEXTURED, this.sprite, idb.x, idb.y, idb.width, idb.height, -1);
 	}
 	// ==================================================
 }
@@ -9,6 +9,7 @@ import com.thecsdev.commonmc.api.client.gui.render.TGuiGraphics;
 import com.thecsdev.commonmc.api.client.gui.util.CursorType;
 import com.thecsdev.commonmc.api.client.gui.util.TGuiUtils;
 import com.thecsdev.commonmc.api.client.gui.util.TInputContext;
+import com.thecsdev.commonmc.api.client.gui.util.TInputSubscription;
 import com.thecsdev.commonmc.api.client.gui.widget.TClickableWidget;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
@@ -149,6 +150,7 @@ public final class TSimpleTextFieldWidget extends TClickableWidget
 		else pencil.drawOutlineIn(bb.x, bb.y, bb.width, bb.height, COLOR_OUTLINE);
 	}
 	// --------------------------------------------------
+	@TInputSubscription(phases = TInputContext.InputDiscoveryPhase.MAIN)
 	@SuppressWarnings("DataFlowIssue")
 	public final @Override boolean inputCallback(TInputContext.@NotNull InputDiscoveryPhase phase, @NotNull TInputContext context)
 	{
@@ -161,8 +163,8 @@ public final class TSimpleTextFieldWidget extends TClickableWidget
 		//handle based on input type
 		final boolean typed = switch(context.getInputType()) {
 			//on click, handle to cath focus
-			case CHAR_TYPE -> inputText(context.getCharacter().toString());
-			case KEY_PRESS -> context.getKeyCode() == GLFW_KEY_BACKSPACE && inputBackspace(1);
+			case CHAR_TYPE -> inputText(String.valueOf(context.getCharacterC()));
+			case KEY_PRESS -> context.getKeyCodeI() == GLFW_KEY_BACKSPACE && inputBackspace(1);
 			default -> false;
 		};
 		if(typed) TGuiUtils.playGuiTypingSound();
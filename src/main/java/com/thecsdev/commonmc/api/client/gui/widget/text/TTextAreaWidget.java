@@ -0,0 +1,443 @@
+package com.thecsdev.commonmc.api.client.gui.widget.text;
+
+import com.thecsdev.common.event.Event;
+import com.thecsdev.common.event.Events;
+import com.thecsdev.common.properties.IntegerProperty;
+import com.thecsdev.common.properties.NotNullProperty;
+import com.thecsdev.common.util.annotations.Virtual;
+import com.thecsdev.common.util.collections.GapBuffer;
+import com.thecsdev.commonmc.api.client.gui.render.TGuiGraphics;
+import com.thecsdev.commonmc.api.client.gui.util.CursorType;
+import com.thecsdev.commonmc.api.client.gui.util.TGuiUtils;
+import com.thecsdev.commonmc.api.client.gui.util.TInputContext;
+import com.thecsdev.commonmc.api.client.gui.util.TInputSubscription;
+import com.thecsdev.commonmc.api.client.gui.widget.TClickableWidget;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.Font;
+import net.minecraft.network.chat.Style;
+import net.minecraft.util.FormattedCharSequence;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import static com.thecsdev.commonmc.api.client.gui.panel.TPanelElement.COLOR_OUTLINE;
+import static com.thecsdev.commonmc.api.client.gui.panel.TPanelElement.COLOR_OUTLINE_FOCUSED;
+import static org.lwjgl.glfw.GLFW.*;
+
+/**
+ * Multi-line text input widget where the user may type in and edit text,
+ * such as configuration files or scripts.
+ * <p>
+ * The text is kept in a {@link GapBuffer}, alongside the index each line starts at.
+ * Edits only re-split the lines they touch, and only those lines have their cached
+ * widths and render-ready text discarded. Only the lines that are scrolled into view
+ * are measured and rendered, making the cost of typing independent of the text's length.
+ *
+ * @see TSimpleTextFieldWidget
+ */
+@Environment(EnvType.CLIENT)
+public @Virtual class TTextAreaWidget extends TClickableWidget
+{
+	// ================================================== ==================================================
+	//                                     TTextAreaWidget IMPLEMENTATION
+	// ================================================== ==================================================
+	private static final int PADDING = 4;
+	// ==================================================
+	private final NotNullProperty<Font> font      = new NotNullProperty<>(Minecraft.getInstance().font);
+	private final IntegerProperty       textColor = new IntegerProperty(0xFFFFFFFF);
+	// --------------------------------------------------
+	private final GapBuffer       text       = new GapBuffer();
+	private final IntArrayList    lineStarts = IntArrayList.of(0); //the index each line starts at
+	private final ArrayList<Line> lines      = new ArrayList<>();   //cached layout information per line
+	// --------------------------------------------------
+	private int  caret, caretLine;  //the caret's index in the text, and the line it is on
+	private int  scrollX, scrollY;  //how far the text is scrolled, in pixels
+	private long caretMovedAt;      //keeps the caret from blinking while it is being moved
+	// --------------------------------------------------
+	/**
+	 * An event that is invoked whenever the text changes.
+	 * <p>
+	 * The {@link Consumer} provides an instance of {@code this} for convenience.
+	 */
+	public final Event<Consumer<TTextAreaWidget>> eTextChanged = Events.createLoop();
+	// ==================================================
+	public TTextAreaWidget()
+	{
+		//click sounds are not appropriate here
+		super.eClicked.removeListener(ONCLICK_SOUND);
+		this.lines.add(new Line());
+
+		//change listeners
+		this.font.addChangeListener((p, o, n) -> {
+			for(final var line : this.lines) line.width = -1;
+			ensureCaretVisible();
+		});
+		boundsProperty().addChangeListener((p, o, n) -> { if(!o.hasSameSize(n)) ensureCaretVisible(); });
+	}
+	// ==================================================
+	/**
+	 * The {@link NotNullProperty} for this {@link TTextAreaWidget}'s {@link Font}
+	 * used for text rendering.
+	 */
+	public final NotNullProperty<Font> fontProperty() { return this.font; }
+
+	/**
+	 * The {@link IntegerProperty} for this {@link TTextAreaWidget}'s ARGB text color.
+	 */
+	public final IntegerProperty textColorProperty() { return this.textColor; }
+	// --------------------------------------------------
+	/**
+	 * Returns the text the user typed in.
+	 * @apiNote Copies the whole text. Avoid calling this on every keystroke.
+	 */
+	public final @NotNull String getText() { return this.text.toString(); }
+
+	/**
+	 * Replaces the whole text.
+	 * @param text The new text.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 */
+	public final void setText(@NotNull String text) throws NullPointerException {
+		replace(0, this.text.length(), text);
+	}
+
+	/**
+	 * Returns the number of characters in the text.
+	 */
+	public final int getTextLength() { return this.text.length(); }
+
+	/**
+	 * Returns the number of lines in the text. Always at least {@code 1}.
+	 */
+	public final int getLineCount() { return this.lines.size(); }
+
+	/**
+	 * Returns the text of a given line, without its line break.
+	 * @param line The line's index.
+	 * @throws IndexOutOfBoundsException If there is no such line.
+	 */
+	public final @NotNull String getLine(int line) throws IndexOutOfBoundsException {
+		Objects.checkIndex(line, this.lines.size());
+		return this.text.substring(this.lineStarts.getInt(line), lineEnd(line));
+	}
+	// --------------------------------------------------
+	/**
+	 * Returns the caret's index in the text.
+	 */
+	public final int getCaret() { return this.caret; }
+
+	/**
+	 * Moves the caret to a given index in the text, and scrolls it into view.
+	 * @param caret The new caret index. Clamped to the text's bounds.
+	 */
+	public final void setCaret(int caret)
+	{
+		this.caret        = Math.clamp(caret, 0, this.text.length());
+		this.caretLine    = lineOf(this.caret);
+		this.caretMovedAt = System.currentTimeMillis();
+		ensureCaretVisible();
+	}
+	// ==================================================
+	/**
+	 * Replaces the characters in a given range with a given text, and moves
+	 * the caret to the end of the inserted text.
+	 * @param start The start index, inclusive.
+	 * @param end The end index, exclusive.
+	 * @param text The text to insert. Carriage returns ({@code \r}) are omitted.
+	 * @return {@code true} if the text changed as a result of this operation.
+	 * @throws NullPointerException If the text is {@code null}.
+	 * @throws IndexOutOfBoundsException If the range is out of bounds.
+	 */
+	public final boolean replace(int start, int end, @NotNull String text)
+			throws NullPointerException, IndexOutOfBoundsException
+	{
+		Objects.checkFromToIndex(start, end, this.text.length());
+		text = text.replace("\r", "");
+		if(start == end && text.isEmpty()) return false;
+
+		//the lines the replaced range spans are the only lines affected
+		final int first = lineOf(start), last = lineOf(end);
+		this.text.delete(start, end);
+		this.text.insert(start, text);
+		final int delta = text.length() - (end - start);
+
+		//the inserted text is the only place new line breaks could have come from
+		final var starts = new IntArrayList();
+		starts.add(this.lineStarts.getInt(first));
+		for(int i = text.indexOf('\n'); i != -1; i = text.indexOf('\n', i + 1))
+			starts.add(start + i + 1);
+
+		//replace the affected lines, and shift the ones after them
+		this.lineStarts.removeElements(first, last + 1);
+		this.lineStarts.addElements(first, starts.elements(), 0, starts.size());
+		for(int i = first + starts.size(); i < this.lineStarts.size(); i++)
+			this.lineStarts.set(i, this.lineStarts.getInt(i) + delta);
+		this.lines.subList(first, last + 1).clear();
+		final var added = new ArrayList<Line>(starts.size());
+		for(int i = 0; i < starts.size(); i++) added.add(new Line());
+		this.lines.addAll(first, added);
+
+		//the caret ends up at the end of the inserted text
+		this.caret        = start + text.length();
+		this.caretLine    = first + starts.size() - 1;
+		this.caretMovedAt = System.currentTimeMillis();
+		ensureCaretVisible();
+		this.eTextChanged.invoker().accept(this);
+		return true;
+	}
+
+	/**
+	 * Inserts text at the caret's position.
+	 * @param text The text to insert.
+	 * @return {@code true} if the text changed as a result of this operation.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 */
+	public final boolean inputText(@NotNull String text) throws NullPointerException {
+		return replace(this.caret, this.caret, text);
+	}
+
+	/**
+	 * Inputs backspace.
+	 * @param amount The amount of times to input backspace.
+	 * @return {@code true} if the text changed as a result of this operation.
+	 */
+	public final boolean inputBackspace(int amount) {
+		amount = Math.clamp(amount, 0, this.caret);
+		return replace(this.caret - amount, this.caret, "");
+	}
+
+	/**
+	 * Inputs delete, removing characters after the caret.
+	 * @param amount The amount of times to input delete.
+	 * @return {@code true} if the text changed as a result of this operation.
+	 */
+	public final boolean inputDelete(int amount) {
+		amount = Math.clamp(amount, 0, this.text.length() - this.caret);
+		return replace(this.caret, this.caret + amount, "");
+	}
+	// ==================================================
+	/**
+	 * Returns the index of the line a given text index is on.
+	 */
+	private final int lineOf(int index)
+	{
+		int low = 0, high = this.lineStarts.size() - 1;
+		while(low < high) {
+			final int mid = (low + high + 1) >>> 1;
+			if(this.lineStarts.getInt(mid) <= index) low = mid;
+			else high = mid - 1;
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the index a given line ends at, excluding its line break.
+	 */
+	private final int lineEnd(int line) {
+		return (line + 1 < this.lineStarts.size()) ? this.lineStarts.getInt(line + 1) - 1 : this.text.length();
+	}
+
+	/**
+	 * Returns the cached {@link Line} of a given line index, with its layout information computed.
+	 */
+	private final @NotNull Line layout(int index)
+	{
+		final var line = this.lines.get(index);
+		if(line.visual == null) {
+			final var text = getLine(index);
+			line.visual = FormattedCharSequence.forward(text, Style.EMPTY);
+			line.width  = this.font.get().width(text);
+		}
+		else if(line.width < 0) line.width = this.font.get().width(line.visual);
+		return line;
+	}
+
+	/**
+	 * Returns the horizontal position of the caret, relative to the start of its line.
+	 */
+	private final int caretX() {
+		final int lineStart = this.lineStarts.getInt(this.caretLine);
+		return (this.caret == lineStart) ? 0 : this.font.get().width(this.text.substring(lineStart, this.caret));
+	}
+
+	private final int lineHeight() { return this.font.get().lineHeight; }
+	// --------------------------------------------------
+	/**
+	 * Scrolls the text just enough for the caret to be in view.
+	 */
+	private final void ensureCaretVisible()
+	{
+		final var bb    = getBounds();
+		final int viewW = Math.max(bb.width - (PADDING * 2), 1), viewH = Math.max(bb.height - (PADDING * 2), 1);
+		final int lineH = lineHeight();
+
+		//vertical scroll
+		final int caretY = this.caretLine * lineH;
+		if(caretY < this.scrollY) this.scrollY = caretY;
+		else if(caretY + lineH > this.scrollY + viewH) this.scrollY = caretY + lineH - viewH;
+		this.scrollY = Math.clamp(this.scrollY, 0, Math.max((this.lines.size() * lineH) - viewH, 0));
+
+		//horizontal scroll. only the caret's line is measured
+		final int caretX = caretX();
+		if(caretX < this.scrollX) this.scrollX = caretX;
+		else if(caretX + 1 > this.scrollX + viewW) this.scrollX = caretX + 1 - viewW;
+		this.scrollX = Math.max(this.scrollX, 0);
+	}
+
+	/**
+	 * Moves the caret to the line above or below it, keeping its horizontal position.
+	 */
+	private final void moveCaretVertically(int lines)
+	{
+		final int target = Math.clamp(this.caretLine + lines, 0, this.lines.size() - 1);
+		if(target == this.caretLine) { setCaret((lines < 0) ? 0 : this.text.length()); return; }
+		final int column = this.font.get().plainSubstrByWidth(getLine(target), caretX()).length();
+		setCaret(this.lineStarts.getInt(target) + column);
+	}
+
+	/**
+	 * Moves the caret to a given point on the screen.
+	 */
+	private final void moveCaretTo(double x, double y)
+	{
+		final var bb   = getBounds();
+		final int line = Math.clamp((int) ((y - bb.y - PADDING + this.scrollY) / lineHeight()), 0, this.lines.size() - 1);
+		final int relX = Math.max((int) Math.round(x - bb.x - PADDING + this.scrollX), 0);
+		setCaret(this.lineStarts.getInt(line) + this.font.get().plainSubstrByWidth(getLine(line), relX).length());
+	}
+	// ==================================================
+	public @Virtual @Override @NotNull CursorType getCursor() {
+		return isFocusable() ? CursorType.IBEAM : CursorType.NOT_ALLOWED;
+	}
+	// --------------------------------------------------
+	public @Virtual @Override void renderCallback(@NotNull TGuiGraphics pencil)
+	{
+		//background
+		final var bb = getBounds();
+		pencil.fillColor(bb.x, bb.y, bb.width, bb.height, 0xFF000000);
+
+		//only the lines that are scrolled into view are laid out and drawn
+		final var font  = this.font.get();
+		final int lineH = lineHeight(), color = this.textColor.getI();
+		final int clipX = bb.x + PADDING, clipY = bb.y + PADDING;
+		final int clipW = bb.width - (PADDING * 2), clipH = bb.height - (PADDING * 2);
+		final int first = this.scrollY / lineH;
+		final int last  = Math.min((this.scrollY + clipH) / lineH, this.lines.size() - 1);
+		for(int i = first; i <= last; i++)
+		{
+			final var line = layout(i);
+			if(line.width == 0) continue;
+			pencil.drawTextRun(
+					font, line.visual, line.width,
+					0, 0, 1,
+					clipX - this.scrollX, clipY + (i * lineH) - this.scrollY, color, false,
+					clipX, clipY, clipW, clipH);
+		}
+	}
+
+	public @Virtual @Override void postRenderCallback(@NotNull TGuiGraphics pencil)
+	{
+		//the caret blinks, except while it is being moved
+		final var bb = getBounds();
+		final long sinceMoved = System.currentTimeMillis() - this.caretMovedAt;
+		if(isFocused() && (sinceMoved < 500 || (sinceMoved / 500) % 2 == 0))
+		{
+			final int x = bb.x + PADDING + caretX() - this.scrollX;
+			final int y = bb.y + PADDING + (this.caretLine * lineHeight()) - this.scrollY;
+			if(x >= bb.x && x < bb.endX && y >= bb.y && y + lineHeight() <= bb.endY)
+				pencil.fillColor(x, y - 1, 1, lineHeight(), this.textColor.getI());
+		}
+
+		//outline
+		if(isHoveredOrFocused())
+			pencil.drawOutlineIn(bb.x, bb.y, bb.width, bb.height, COLOR_OUTLINE_FOCUSED);
+		else pencil.drawOutlineIn(bb.x, bb.y, bb.width, bb.height, COLOR_OUTLINE);
+	}
+	// --------------------------------------------------
+	@TInputSubscription(phases = TInputContext.InputDiscoveryPhase.MAIN)
+	@SuppressWarnings("DataFlowIssue")
+	public @Virtual @Override boolean inputCallback(TInputContext.@NotNull InputDiscoveryPhase phase, @NotNull TInputContext context)
+	{
+		//handle only the main phase
+		if(phase != TInputContext.InputDiscoveryPhase.MAIN) return false;
+
+		//handle based on input type
+		switch(context.getInputType())
+		{
+			//clicking places the caret, and the super handler takes care of focusing
+			case MOUSE_PRESS:
+				if(context.getMouseButtonI() == 0 && isFocusable()) {
+					//the cursor is in screen-space, and the lines are laid out in element space
+					final var off = getScreenOffset();
+					moveCaretTo(context.getMouseXD() - off.x, context.getMouseYD() - off.y);
+				}
+				break;
+			//mouse scroll scrolls the lines
+			case MOUSE_SCROLL: {
+				final var bb   = getBounds();
+				final int max  = Math.max((this.lines.size() * lineHeight()) - (bb.height - (PADDING * 2)), 0);
+				final int old  = this.scrollY;
+				this.scrollY = Math.clamp(this.scrollY - (int) (context.getScrollYD() * lineHeight() * 3), 0, max);
+				return old != this.scrollY;
+			}
+			case CHAR_TYPE: {
+				if(!isFocused()) return false;
+				final boolean typed = inputText(String.valueOf(context.getCharacterC()));
+				if(typed) TGuiUtils.playGuiTypingSound();
+				return typed;
+			}
+			case KEY_PRESS: {
+				if(!isFocused()) break;
+				final @Nullable Boolean typed = keyPressed(context.getKeyCodeI(), context.getKeyModifiersI());
+				if(typed == null) break; //not a text editing key
+				if(typed) TGuiUtils.playGuiTypingSound();
+				return true;
+			}
+			default: break;
+		}
+		return super.inputCallback(phase, context);
+	}
+
+	/**
+	 * Handles text editing and caret movement keys.
+	 * @return Whether the text changed, or {@code null} if the key is not handled here.
+	 */
+	private final @Nullable Boolean keyPressed(int keyCode, int modifiers)
+	{
+		switch(keyCode)
+		{
+			case GLFW_KEY_BACKSPACE: return inputBackspace(1);
+			case GLFW_KEY_DELETE:    return inputDelete(1);
+			case GLFW_KEY_ENTER:
+			case GLFW_KEY_KP_ENTER:  return inputText("\n");
+			case GLFW_KEY_V:
+				if((modifiers & GLFW_MOD_CONTROL) == 0) return null;
+				return inputText(Minecraft.getInstance().keyboardHandler.getClipboard());
+			case GLFW_KEY_LEFT:      setCaret(this.caret - 1); return false;
+			case GLFW_KEY_RIGHT:     setCaret(this.caret + 1); return false;
+			case GLFW_KEY_UP:        moveCaretVertically(-1); return false;
+			case GLFW_KEY_DOWN:      moveCaretVertically(1); return false;
+			case GLFW_KEY_HOME:      setCaret(this.lineStarts.getInt(this.caretLine)); return false;
+			case GLFW_KEY_END:       setCaret(lineEnd(this.caretLine)); return false;
+			default: return null;
+		}
+	}
+	// ================================================== ==================================================
+	//                                               Line IMPLEMENTATION
+	// ================================================== ==================================================
+	/**
+	 * Cached layout information of a single line. Discarded whenever the line is edited.
+	 */
+	private static final class Line
+	{
+		private @Nullable FormattedCharSequence visual = null; //the render-ready text, or null if not laid out yet
+		private           int                   width  = -1;   //the width, in pixels, or -1 if not measured yet
+	}
+	// ================================================== ==================================================
+}
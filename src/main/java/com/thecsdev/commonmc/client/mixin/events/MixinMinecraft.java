@@ -10,8 +10,10 @@ import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 @Mixin(Minecraft.class)
 public abstract class MixinMinecraft
@@ -24,5 +26,11 @@ public abstract class MixinMinecraft
 		final var lp = Objects.requireNonNull(player, "Missing 'LocalPlayer' instance");
 		((Minecraft)(Object)this).execute(() -> ClientEvent.PLAYER_QUIT.invoker().invoke(lp));
 	}
+
+	@Inject(method = "reloadResourcePacks()Ljava/util/concurrent/CompletableFuture;", at = @At("RETURN"))
+	private final void onReloadResourcePacks(CallbackInfoReturnable<CompletableFuture<Void>> cir) {
+		final var client = (Minecraft)(Object)this;
+		cir.getReturnValue().thenRun(() -> client.execute(() -> ClientEvent.RESOURCES_RELOAD.invoker().invoke(client)));
+	}
 	// ==================================================
 }
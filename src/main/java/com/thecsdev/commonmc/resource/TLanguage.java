@@ -27,6 +27,7 @@ public final class TLanguage
 	public static final @Reflected MutableComponent gui_screen_textDialog_errorTitle() { return translatable("tcdcommons.gui.screen.text_dialog.error_title"); }
 	// --------------------------------------------------
 	public static final MutableComponent gui_dropdown_defaultLabel() { return translatable("tcdcommons.gui.dropdown.default_label"); }
+	public static final MutableComponent gui_dropdown_searchPlaceholder() { return translatable("tcdcommons.gui.dropdown.search_placeholder"); }
 	// --------------------------------------------------
 	public static final MutableComponent gui_fileChooser_mode_explore() { return translatable("tcdcommons.gui.filechooser.mode.explore"); }
 	public static final MutableComponent gui_fileChooser_mode_chooseFile() { return translatable("tcdcommons.gui.filechooser.mode.choose_file"); }
@@ -0,0 +1,45 @@
+package com.thecsdev.commonmc.api.client.gui.render;
+
+import net.minecraft.resources.Identifier;
+import org.junit.jupiter.api.Test;
+
+import static com.thecsdev.commonmc.api.client.gui.render.TGuiGraphicsRecorder.CMD_TEXTURE;
+import static net.minecraft.client.renderer.RenderPipelines.GUI_TEXTURED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Headless tests for {@link TGuiGraphics}, recorded via a {@link TGuiGraphicsRecorder}.
+ */
+public class TGuiGraphicsTest
+{
+	// ==================================================
+	private static final Identifier TEXTURE = Identifier.withDefaultNamespace("textures/test/tile.png");
+	// ==================================================
+	@Test
+	public void repeatingTextureDrawsOneQuad()
+	{
+		final var pencil = new TGuiGraphicsRecorder(480, 270, 0, 0, 0);
+		pencil.setTextureRepeating(TEXTURE, true);
+		pencil.drawRepeatingTexture(GUI_TEXTURED, TEXTURE, 0, 0, 64, 48, 0, 0, 16, 16, 16, 16, -1);
+		assertEquals(1, pencil.count(CMD_TEXTURE));
+	}
+
+	@Test
+	public void clampedTextureDrawsOneQuadPerTile()
+	{
+		final var pencil = new TGuiGraphicsRecorder(480, 270, 0, 0, 0);
+		pencil.drawRepeatingTexture(GUI_TEXTURED, TEXTURE, 0, 0, 64, 48, 0, 0, 16, 16, 16, 16, -1);
+		assertEquals(4 * 3, pencil.count(CMD_TEXTURE));
+	}
+
+	@Test
+	public void partialTileDrawsOneQuadPerTile()
+	{
+		//tiles that are only a part of the texture cannot be repeated by wrapping UVs
+		final var pencil = new TGuiGraphicsRecorder(480, 270, 0, 0, 0);
+		pencil.setTextureRepeating(TEXTURE, true);
+		pencil.drawRepeatingTexture(GUI_TEXTURED, TEXTURE, 0, 0, 40, 20, 0, 0, 16, 16, 32, 32, -1);
+		assertEquals(3 * 2, pencil.count(CMD_TEXTURE));
+	}
+	// ==================================================
+}
@@ -0,0 +1,41 @@
+package com.thecsdev.commonmc.api.client.gui.screen;
+
+import com.thecsdev.commonmc.api.client.gui.util.TInputContext;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.lwjgl.glfw.GLFW.*;
+
+/**
+ * Headless tests for {@link TScreenPlus}'s arrow-key navigation.
+ *
+ * @apiNote Mixins are not applied when running outside the game, so these tests
+ * avoid inputs that would end up changing the focused element.
+ */
+public class TScreenPlusTest
+{
+	// ==================================================
+	@Test
+	public void arrowKeysWithoutFocusAreNotHandled()
+	{
+		final var screen = new EmptyScreen();
+		screen.setBounds(0, 0, 480, 270);
+		for(final int key : new int[] { GLFW_KEY_UP, GLFW_KEY_DOWN, GLFW_KEY_LEFT, GLFW_KEY_RIGHT })
+			assertFalse(screen.inputCallback(TInputContext.InputDiscoveryPhase.MAIN, TInputContext.ofKeyPress(key, 0, 0)));
+	}
+
+	@Test
+	public void otherKeysAreNotHandled() {
+		final var screen = new EmptyScreen();
+		screen.setBounds(0, 0, 480, 270);
+		assertFalse(screen.inputCallback(TInputContext.InputDiscoveryPhase.MAIN, TInputContext.ofKeyPress(GLFW_KEY_F13, 0, 0)));
+	}
+	// ==================================================
+	/**
+	 * A {@link TScreenPlus} without any elements.
+	 */
+	static final class EmptyScreen extends TScreenPlus {
+		protected final @Override void initCallback() {}
+	}
+	// ==================================================
+}